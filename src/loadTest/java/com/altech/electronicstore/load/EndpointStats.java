@@ -0,0 +1,59 @@
+package com.altech.electronicstore.load;
+
+import java.util.Arrays;
+
+/**
+ * Latencies and errors of one endpoint, owned by one virtual user and merged at the end,
+ * so recording needs no synchronization and does not box.
+ */
+final class EndpointStats {
+
+    private long[] latencies = new long[256];
+    private int size;
+    private long errors;
+
+    void success(long nanos) {
+        if (size == latencies.length) {
+            latencies = Arrays.copyOf(latencies, size * 2);
+        }
+        latencies[size++] = nanos;
+    }
+
+    void error() {
+        errors++;
+    }
+
+    void merge(EndpointStats other) {
+        for (int i = 0; i < other.size; i++) {
+            success(other.latencies[i]);
+        }
+        errors += other.errors;
+    }
+
+    long successes() {
+        return size;
+    }
+
+    long errors() {
+        return errors;
+    }
+
+    long requests() {
+        return size + errors;
+    }
+
+    /** Latencies in ascending order. */
+    long[] sorted() {
+        long[] sorted = Arrays.copyOf(latencies, size);
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    static double percentileMillis(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(0, index)] / 1_000_000.0;
+    }
+}
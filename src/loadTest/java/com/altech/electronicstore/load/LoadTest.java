@@ -0,0 +1,161 @@
+package com.altech.electronicstore.load;
+
+import com.altech.electronicstore.ElectronicStoreApplication;
+import com.altech.electronicstore.load.ShopperSeeder.Catalogue;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Replays shopper sessions against the application on an embedded random port, with its own
+ * in-memory database seeded with {@code load.products} products and {@code load.users}
+ * customers, and reports throughput, error rate and latency percentiles per endpoint. Needs
+ * no network access beyond the loopback interface.
+ *
+ * <p>Run with {@code ./gradlew loadTest}; settings are described in {@link LoadTestSettings}.
+ * Program arguments of the form {@code --property=value} are passed to the application, e.g.
+ * {@code ./gradlew loadTest --args='--spring.threads.virtual.enabled=true'}.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        try (ConfigurableApplicationContext context = start(args)) {
+            long seedStart = System.nanoTime();
+            Catalogue catalogue = new ShopperSeeder(context, settings).seed();
+            System.out.printf("Seeded %,d products and %,d users in %,d ms%n", catalogue.productIds().size(),
+                    catalogue.usernames().size(), Duration.ofNanos(System.nanoTime() - seedStart).toMillis());
+
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            Report report = run(settings, baseUrl, catalogue);
+            print(report);
+            if (settings.report() != null) {
+                write(report, Path.of(settings.report()));
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(String[] args) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("server.port", "0");
+        properties.put("spring.datasource.url", "jdbc:h2:mem:loadtest");
+        properties.put("server.tomcat.max-connections", "20000");
+        properties.put("server.tomcat.accept-count", "10000");
+        // Per-request INFO lines would cost more than some of the requests they describe
+        properties.put("logging.level.com.altech.electronicstore", "WARN");
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Expected --property=value, got " + arg);
+            }
+            properties.put(arg.substring(2, equals), arg.substring(equals + 1));
+        }
+
+        // Command-line arguments, so they win over application.properties
+        String[] commandLine = properties.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(ElectronicStoreApplication.class).run(commandLine);
+    }
+
+    private static Report run(LoadTestSettings settings, String baseUrl, Catalogue catalogue) throws Exception {
+        System.out.printf("Running %,d virtual users: %ds warm-up, %ds measured%n", settings.concurrency(),
+                settings.warmup().toSeconds(), settings.duration().toSeconds());
+        try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(30))
+                    .executor(threads)
+                    .build();
+
+            long measureFrom = System.nanoTime() + settings.warmup().toNanos();
+            long measureUntil = measureFrom + settings.duration().toNanos();
+            LongAdder sessions = new LongAdder();
+            List<Future<Map<String, EndpointStats>>> users = new ArrayList<>(settings.concurrency());
+            for (int i = 0; i < settings.concurrency(); i++) {
+                users.add(threads.submit(new ShopperSession(client, baseUrl, settings, catalogue, i,
+                        measureFrom, measureUntil, sessions)));
+            }
+
+            Map<String, EndpointStats> merged = new LinkedHashMap<>();
+            ShopperSession.ENDPOINTS.forEach(endpoint -> merged.put(endpoint, new EndpointStats()));
+            for (Future<Map<String, EndpointStats>> user : users) {
+                user.get().forEach((endpoint, stats) -> merged.get(endpoint).merge(stats));
+            }
+            return Report.of(settings, merged, sessions.sum());
+        }
+    }
+
+    private static void print(Report report) {
+        System.out.printf("%n%-34s %10s %9s %8s %7s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "req/s", "errors", "error%", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        for (EndpointReport endpoint : report.endpoints()) {
+            System.out.printf("%-34s %,10d %,9.1f %,8d %6.2f%% %9.1f %9.1f %9.1f %9.1f%n",
+                    endpoint.endpoint(), endpoint.requests(), endpoint.throughput(), endpoint.errors(),
+                    endpoint.errorRate() * 100, endpoint.p50Ms(), endpoint.p90Ms(), endpoint.p99Ms(), endpoint.maxMs());
+        }
+        System.out.printf("%-34s %,10d %,9.1f %,8d %6.2f%%%n", "total", report.requests(), report.throughput(),
+                report.errors(), report.errorRate() * 100);
+        System.out.printf("%,d sessions completed (%,.2f/s)%n", report.sessions(), report.sessionsPerSecond());
+    }
+
+    private static void write(Report report, Path file) throws Exception {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        new ObjectMapper().findAndRegisterModules()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .writeValue(file.toFile(), report);
+        System.out.println("Report written to " + file.toAbsolutePath());
+    }
+
+    record Report(Instant finishedAt, LoadTestSettings settings, long sessions, double sessionsPerSecond,
+                  long requests, double throughput, long errors, double errorRate, List<EndpointReport> endpoints) {
+
+        static Report of(LoadTestSettings settings, Map<String, EndpointStats> stats, long sessions) {
+            double seconds = settings.duration().toNanos() / 1e9;
+            List<EndpointReport> endpoints = new ArrayList<>();
+            long requests = 0;
+            long errors = 0;
+            for (Map.Entry<String, EndpointStats> entry : stats.entrySet()) {
+                EndpointStats endpoint = entry.getValue();
+                long[] sorted = endpoint.sorted();
+                endpoints.add(new EndpointReport(entry.getKey(), endpoint.requests(), endpoint.requests() / seconds,
+                        endpoint.errors(), rate(endpoint.errors(), endpoint.requests()),
+                        EndpointStats.percentileMillis(sorted, 0.50), EndpointStats.percentileMillis(sorted, 0.90),
+                        EndpointStats.percentileMillis(sorted, 0.99), EndpointStats.percentileMillis(sorted, 1.0)));
+                requests += endpoint.requests();
+                errors += endpoint.errors();
+            }
+            return new Report(Instant.now(), settings, sessions, sessions / seconds,
+                    requests, requests / seconds, errors, rate(errors, requests), endpoints);
+        }
+
+        private static double rate(long errors, long requests) {
+            return requests == 0 ? 0 : (double) errors / requests;
+        }
+    }
+
+    record EndpointReport(String endpoint, long requests, double throughput, long errors, double errorRate,
+                          double p50Ms, double p90Ms, double p99Ms, double maxMs) {
+    }
+}
@@ -0,0 +1,71 @@
+package com.altech.electronicstore.load;
+
+import java.time.Duration;
+
+/**
+ * Load test parameters, read from {@code load.*} system properties. {@code ./gradlew loadTest}
+ * forwards {@code -Pload.*} project properties, e.g. {@code -Pload.concurrency=500}.
+ *
+ * @param products          products seeded into the catalogue
+ * @param users             customer accounts seeded; each virtual user shops as one of them
+ * @param concurrency       virtual users running sessions back to back
+ * @param warmup            time before measurement starts
+ * @param duration          measured time
+ * @param thinkTimeMin      shortest pause between two steps of a session
+ * @param thinkTimeMax      longest pause between two steps of a session
+ * @param browsePages       listing pages viewed per session
+ * @param productViews      product detail pages viewed per session
+ * @param basketItems       products added to the basket per session
+ * @param checkoutRatio     fraction of sessions that check out; the others abandon the basket
+ * @param seed              random seed for catalogue data and session choices
+ * @param report            JSON summary file, or {@code null} for console output only
+ */
+record LoadTestSettings(
+        int products,
+        int users,
+        int concurrency,
+        Duration warmup,
+        Duration duration,
+        Duration thinkTimeMin,
+        Duration thinkTimeMax,
+        int browsePages,
+        int productViews,
+        int basketItems,
+        double checkoutRatio,
+        long seed,
+        String report) {
+
+    static LoadTestSettings fromSystemProperties() {
+        LoadTestSettings settings = new LoadTestSettings(
+                Integer.getInteger("load.products", 10_000),
+                Integer.getInteger("load.users", 1_000),
+                Integer.getInteger("load.concurrency", 200),
+                Duration.ofSeconds(Long.getLong("load.warmup-seconds", 15)),
+                Duration.ofSeconds(Long.getLong("load.duration-seconds", 60)),
+                Duration.ofMillis(Long.getLong("load.think-time-min-ms", 200)),
+                Duration.ofMillis(Long.getLong("load.think-time-max-ms", 1_500)),
+                Integer.getInteger("load.browse-pages", 3),
+                Integer.getInteger("load.product-views", 2),
+                Integer.getInteger("load.basket-items", 2),
+                Double.parseDouble(System.getProperty("load.checkout-ratio", "0.5")),
+                Long.getLong("load.seed", 42),
+                System.getProperty("load.report"));
+        settings.validate();
+        return settings;
+    }
+
+    private void validate() {
+        if (products < 1 || users < 1 || concurrency < 1) {
+            throw new IllegalArgumentException("load.products, load.users and load.concurrency must be positive");
+        }
+        if (duration.isZero() || duration.isNegative() || warmup.isNegative()) {
+            throw new IllegalArgumentException("load.duration-seconds must be positive and load.warmup-seconds not negative");
+        }
+        if (thinkTimeMin.isNegative() || thinkTimeMax.compareTo(thinkTimeMin) < 0) {
+            throw new IllegalArgumentException("Think time must satisfy 0 <= load.think-time-min-ms <= load.think-time-max-ms");
+        }
+        if (checkoutRatio < 0 || checkoutRatio > 1) {
+            throw new IllegalArgumentException("load.checkout-ratio must be between 0 and 1");
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.altech.electronicstore.load;
+
+import com.altech.electronicstore.dto.product.ProductImportResultDto;
+import com.altech.electronicstore.service.ProductImportService;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Seeds the catalogue and the shopper accounts a load test runs against. Products go
+ * through {@link ProductImportService}, so the search, price and category indexes pick
+ * them up exactly as after an admin import; users are batch-inserted with one BCrypt hash
+ * shared by all of them, since hashing a password per user would dominate seeding.
+ */
+final class ShopperSeeder {
+
+    static final String PASSWORD = "password";
+    static final List<String> CATEGORIES = List.of(
+            "Laptops", "Smartphones", "Tablets", "Audio", "Gaming", "Cameras", "Wearables", "Accessories");
+
+    private static final String[] BRANDS = {"Acme", "Northwind", "Contoso", "Fabrikam", "Globex", "Initech", "Umbrella", "Vandelay"};
+    private static final int USER_BATCH_SIZE = 1_000;
+    // Deep enough that checkout never runs out of stock during a run
+    private static final int STOCK = 1_000_000;
+
+    private final ApplicationContext context;
+    private final JdbcTemplate jdbcTemplate;
+    private final LoadTestSettings settings;
+
+    ShopperSeeder(ApplicationContext context, LoadTestSettings settings) {
+        this.context = context;
+        this.jdbcTemplate = context.getBean(JdbcTemplate.class);
+        this.settings = settings;
+    }
+
+    /** Seeds products and users and returns what sessions may pick from. */
+    Catalogue seed() throws IOException {
+        long firstProductId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) + 1 FROM product", Long.class);
+        seedProducts();
+        List<Long> productIds = jdbcTemplate.queryForList(
+                "SELECT id FROM product WHERE id >= ? ORDER BY id", Long.class, firstProductId);
+        List<String> usernames = seedUsers();
+        return new Catalogue(productIds, CATEGORIES, usernames);
+    }
+
+    private void seedProducts() throws IOException {
+        SplittableRandom random = new SplittableRandom(settings.seed());
+        StringBuilder csv = new StringBuilder(settings.products() * 80);
+        csv.append("name,description,price,stock,category\n");
+        for (int i = 0; i < settings.products(); i++) {
+            String category = CATEGORIES.get(i % CATEGORIES.size());
+            String brand = BRANDS[random.nextInt(BRANDS.length)];
+            BigDecimal price = BigDecimal.valueOf(5 + random.nextDouble() * 2_995).setScale(2, RoundingMode.HALF_UP);
+            csv.append(brand).append(' ').append(category).append(" Model ").append(i).append(',')
+                    .append(brand).append(' ').append(category.toLowerCase(Locale.ROOT)).append(" for load testing").append(',')
+                    .append(price).append(',')
+                    .append(STOCK).append(',')
+                    .append(category).append('\n');
+        }
+
+        ProductImportResultDto result = context.getBean(ProductImportService.class).importCsv(
+                new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)), null);
+        if (result.getFailed() > 0) {
+            throw new IllegalStateException("Seeding products failed for " + result.getFailed() + " rows: " + result.getErrors());
+        }
+    }
+
+    private List<String> seedUsers() {
+        String hash = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<String> usernames = new ArrayList<>(settings.users());
+        List<Object[]> batch = new ArrayList<>(USER_BATCH_SIZE);
+        for (int i = 0; i < settings.users(); i++) {
+            String username = "shopper" + i;
+            usernames.add(username);
+            batch.add(new Object[] {username, hash, username + "@load.test", now});
+            if (batch.size() == USER_BATCH_SIZE) {
+                jdbcTemplate.batchUpdate("INSERT INTO \"user\" (username, password, email, created_at) VALUES (?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO \"user\" (username, password, email, created_at) VALUES (?, ?, ?, ?)", batch);
+        }
+        jdbcTemplate.update("""
+                INSERT INTO user_roles (user_id, role_id)
+                SELECT u.id, r.id FROM "user" u, role r
+                WHERE r.name = 'CUSTOMER' AND u.email LIKE '%@load.test'
+                """);
+        return usernames;
+    }
+
+    /** Seeded product ids, their categories and shopper usernames. */
+    record Catalogue(List<Long> productIds, List<String> categories, List<String> usernames) {
+    }
+}
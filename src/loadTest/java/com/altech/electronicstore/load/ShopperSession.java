@@ -0,0 +1,187 @@
+package com.altech.electronicstore.load;
+
+import com.altech.electronicstore.load.ShopperSeeder.Catalogue;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * One virtual user. It shops as one seeded customer and runs sessions back to back until
+ * the measurement window closes: log in, browse listing pages, view products, add them to
+ * the basket, view the basket, check out (for {@link LoadTestSettings#checkoutRatio()} of
+ * sessions) and log out, pausing for a random think time between steps.
+ *
+ * <p>Only exchanges that start and finish inside the window are recorded.
+ */
+final class ShopperSession implements Callable<Map<String, EndpointStats>> {
+
+    static final String LOGIN = "POST /api/auth/login";
+    static final String LISTING = "GET /api/products";
+    static final String PRODUCT = "GET /api/products/{id}";
+    static final String ADD_ITEM = "POST /api/customer/basket/items";
+    static final String BASKET = "GET /api/customer/basket";
+    static final String CHECKOUT = "POST /api/customer/orders/checkout";
+    static final String LOGOUT = "POST /api/auth/logout";
+    static final List<String> ENDPOINTS = List.of(LOGIN, LISTING, PRODUCT, ADD_ITEM, BASKET, CHECKOUT, LOGOUT);
+
+    private static final int PAGE_SIZE = 20;
+    private static final int MAX_PAGE = 10;
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final LoadTestSettings settings;
+    private final Catalogue catalogue;
+    private final String username;
+    private final SplittableRandom random;
+    private final long measureFrom;
+    private final long measureUntil;
+    private final LongAdder sessions;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+
+    ShopperSession(HttpClient client, String baseUrl, LoadTestSettings settings, Catalogue catalogue, int index,
+                   long measureFrom, long measureUntil, LongAdder sessions) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.settings = settings;
+        this.catalogue = catalogue;
+        this.username = catalogue.usernames().get(index % catalogue.usernames().size());
+        this.random = new SplittableRandom(settings.seed() + index);
+        this.measureFrom = measureFrom;
+        this.measureUntil = measureUntil;
+        this.sessions = sessions;
+    }
+
+    @Override
+    public Map<String, EndpointStats> call() throws Exception {
+        while (running()) {
+            if (runSession()) {
+                long end = System.nanoTime();
+                if (end >= measureFrom && end <= measureUntil) {
+                    sessions.increment();
+                }
+            }
+        }
+        return stats;
+    }
+
+    /** Returns whether the session ran to its end. */
+    private boolean runSession() throws Exception {
+        String token = login();
+        if (token == null) {
+            think();
+            return false;
+        }
+
+        for (int i = 0; i < settings.browsePages(); i++) {
+            String category = catalogue.categories().get(random.nextInt(catalogue.categories().size()));
+            exchange(LISTING, get("/api/products?category=" + URLEncoder.encode(category, StandardCharsets.UTF_8)
+                    + "&page=" + random.nextInt(MAX_PAGE) + "&size=" + PAGE_SIZE, null));
+            if (!think()) {
+                return false;
+            }
+        }
+        for (int i = 0; i < settings.productViews(); i++) {
+            exchange(PRODUCT, get("/api/products/" + randomProduct(), null));
+            if (!think()) {
+                return false;
+            }
+        }
+        for (int i = 0; i < settings.basketItems(); i++) {
+            exchange(ADD_ITEM, post("/api/customer/basket/items?productId=" + randomProduct() + "&quantity=1", token));
+            if (!think()) {
+                return false;
+            }
+        }
+        exchange(BASKET, get("/api/customer/basket", token));
+        if (!think()) {
+            return false;
+        }
+        if (random.nextDouble() < settings.checkoutRatio()) {
+            exchange(CHECKOUT, post("/api/customer/orders/checkout", token));
+            if (!think()) {
+                return false;
+            }
+        }
+        exchange(LOGOUT, post("/api/auth/logout", token));
+        return think();
+    }
+
+    private String login() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(
+                        Map.of("username", username, "password", ShopperSeeder.PASSWORD))))
+                .build();
+        HttpResponse<String> response = exchange(LOGIN, request);
+        if (response == null || response.statusCode() != 200) {
+            return null;
+        }
+        return objectMapper.readTree(response.body()).get("token").asText();
+    }
+
+    /** Sends one request and records its latency, or an error for an I/O failure or a 4xx/5xx status. */
+    private HttpResponse<String> exchange(String endpoint, HttpRequest request) throws InterruptedException {
+        long start = System.nanoTime();
+        HttpResponse<String> response;
+        try {
+            response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            response = null;
+        }
+        long end = System.nanoTime();
+        if (start >= measureFrom && end <= measureUntil) {
+            EndpointStats endpointStats = stats.computeIfAbsent(endpoint, key -> new EndpointStats());
+            if (response == null || response.statusCode() >= 400) {
+                endpointStats.error();
+            } else {
+                endpointStats.success(end - start);
+            }
+        }
+        return response;
+    }
+
+    /** Pauses for a random think time; returns false once the measurement window has closed. */
+    private boolean think() throws InterruptedException {
+        long min = settings.thinkTimeMin().toMillis();
+        long max = settings.thinkTimeMax().toMillis();
+        Thread.sleep(min + random.nextLong(max - min + 1));
+        return running();
+    }
+
+    private boolean running() {
+        return System.nanoTime() < measureUntil;
+    }
+
+    private long randomProduct() {
+        return catalogue.productIds().get(random.nextInt(catalogue.productIds().size()));
+    }
+
+    private HttpRequest get(String path, String token) {
+        return request(path, token).GET().build();
+    }
+
+    private HttpRequest post(String path, String token) {
+        return request(path, token).POST(HttpRequest.BodyPublishers.noBody()).build();
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+}
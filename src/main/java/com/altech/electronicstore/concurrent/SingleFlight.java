@@ -0,0 +1,85 @@
+package com.altech.electronicstore.concurrent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Coalesces concurrent loads of the same key. The first caller for a key runs the
+ * loader on its own thread; callers arriving while it runs wait on the same
+ * {@link CompletableFuture} and receive its value or its exception. Nothing is
+ * remembered once the load finishes, so this sits in front of a cache rather than
+ * replacing one.
+ *
+ * <p>Loads are counted in {@code singleflight.loads}, tagged with the loader
+ * {@code name} and {@code role=leader} or {@code role=coalesced}. The number of keys
+ * currently loading is gauged as {@code singleflight.in_flight}.
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter coalesced;
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.leaders = Counter.builder("singleflight.loads")
+                .tag("name", name)
+                .tag("role", "leader")
+                .description("Loads that ran the loader")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("singleflight.loads")
+                .tag("name", name)
+                .tag("role", "coalesced")
+                .description("Loads that waited for a load already in flight")
+                .register(meterRegistry);
+        Gauge.builder("singleflight.in_flight", inFlight, ConcurrentMap::size)
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the result of {@code loader} for {@code key}, sharing one invocation with
+     * every concurrent caller for the same key. The loader may return {@code null}.
+     */
+    public V load(K key, Function<? super K, ? extends V> loader) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+
+        leaders.increment();
+        try {
+            V value = loader.apply(key);
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private V await(CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            // Rethrow the leader's exception as-is so callers see the same type
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -9,7 +9,6 @@ import com.altech.electronicstore.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
@@ -20,10 +19,17 @@ import java.util.Set;
 @Slf4j
 public class DataInitializer implements CommandLineRunner {
 
+    static final String SEED_PASSWORD = "password";
+
+    /**
+     * BCrypt hash (strength 10) of {@link #SEED_PASSWORD}. Stored as is, so startup does not
+     * spend a BCrypt round per seed account hashing a constant.
+     */
+    static final String SEED_PASSWORD_HASH = "$2a$10$zPPp9V7zyJxFTnoND8J3ke5zwz6nyExUxRJ4pGQMNiO9VDX4o4SEm";
+
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
     private final BasketRepository basketRepository;
-    private final PasswordEncoder passwordEncoder;
 
     @Override
     public void run(String... args) throws Exception {
@@ -48,7 +54,7 @@ public class DataInitializer implements CommandLineRunner {
         // Create admin user
         User admin = new User();
         admin.setUsername("admin");
-        admin.setPassword(passwordEncoder.encode("password"));
+        admin.setPassword(SEED_PASSWORD_HASH);
         admin.setEmail("admin@electronics-store.com");
         admin.setCreatedAt(LocalDateTime.now());
         admin.setRoles(Set.of(adminRole));
@@ -58,7 +64,7 @@ public class DataInitializer implements CommandLineRunner {
         // Create customer1
         User customer1 = new User();
         customer1.setUsername("customer1");
-        customer1.setPassword(passwordEncoder.encode("password"));
+        customer1.setPassword(SEED_PASSWORD_HASH);
         customer1.setEmail("customer1@example.com");
         customer1.setCreatedAt(LocalDateTime.now());
         customer1.setRoles(Set.of(customerRole));
@@ -68,7 +74,7 @@ public class DataInitializer implements CommandLineRunner {
         // Create customer2
         User customer2 = new User();
         customer2.setUsername("customer2");
-        customer2.setPassword(passwordEncoder.encode("password"));
+        customer2.setPassword(SEED_PASSWORD_HASH);
         customer2.setEmail("customer2@example.com");
         customer2.setCreatedAt(LocalDateTime.now());
         customer2.setRoles(Set.of(customerRole));
@@ -0,0 +1,23 @@
+package com.altech.electronicstore.config;
+
+import com.altech.electronicstore.monitoring.jfr.BusinessEvents;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the business JFR events when {@code monitoring.jfr.enabled=true}. Without
+ * it they stay unregistered and cost nothing, even while a recording is running.
+ */
+@Configuration
+@ConditionalOnProperty(name = "monitoring.jfr.enabled", havingValue = "true")
+@Slf4j
+public class JfrConfig implements InitializingBean {
+
+    @Override
+    public void afterPropertiesSet() {
+        BusinessEvents.register();
+        log.info("Registered {} JFR event types", BusinessEvents.TYPES.size());
+    }
+}
@@ -0,0 +1,33 @@
+package com.altech.electronicstore.config;
+
+import com.altech.electronicstore.monitoring.SqlStatistics;
+import com.altech.electronicstore.monitoring.SqlStatsDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application {@link DataSource} in a {@link SqlStatsDataSource}, so every
+ * statement, whether issued by Hibernate, {@code JdbcTemplate} or Flyway, is counted and
+ * timed. {@link SqlStatistics} is resolved lazily so this post-processor can be created
+ * before the rest of the context.
+ */
+@Configuration
+public class MonitoringConfig {
+
+    @Bean
+    public static BeanPostProcessor sqlStatsDataSourcePostProcessor(ObjectProvider<SqlStatistics> sqlStatistics) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof SqlStatsDataSource)) {
+                    return new SqlStatsDataSource(dataSource, sqlStatistics.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
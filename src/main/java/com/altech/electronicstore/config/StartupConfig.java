@@ -0,0 +1,50 @@
+package com.altech.electronicstore.config;
+
+import com.altech.electronicstore.controller.AdminDealController;
+import com.altech.electronicstore.controller.AdminOrderController;
+import com.altech.electronicstore.controller.AdminProductController;
+import com.altech.electronicstore.controller.AdminSalesController;
+import com.altech.electronicstore.controller.PermissionController;
+import com.altech.electronicstore.service.OrderExportService;
+import com.altech.electronicstore.service.PermissionService;
+import com.altech.electronicstore.service.ProductBulkUpdateService;
+import com.altech.electronicstore.service.ProductImportService;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * With {@code startup.lazy-admin-beans=true} (the {@code fast-startup} profile), the
+ * admin-only controllers and the services only they use are created on the first admin
+ * request instead of during startup. Their request mappings are still registered up front,
+ * as Spring MVC resolves handler beans by name.
+ */
+@Configuration
+public class StartupConfig {
+
+    static final List<Class<?>> ADMIN_ONLY_BEANS = List.of(
+            AdminDealController.class,
+            AdminOrderController.class,
+            AdminProductController.class,
+            AdminSalesController.class,
+            PermissionController.class,
+            OrderExportService.class,
+            PermissionService.class,
+            ProductBulkUpdateService.class,
+            ProductImportService.class);
+
+    @Bean
+    @ConditionalOnProperty(name = "startup.lazy-admin-beans", havingValue = "true")
+    public static BeanFactoryPostProcessor lazyAdminBeansPostProcessor() {
+        return beanFactory -> {
+            for (Class<?> type : ADMIN_ONLY_BEANS) {
+                for (String beanName : beanFactory.getBeanNamesForType(type, true, false)) {
+                    beanFactory.getBeanDefinition(beanName).setLazyInit(true);
+                }
+            }
+        };
+    }
+}
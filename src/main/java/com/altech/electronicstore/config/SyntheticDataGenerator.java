@@ -0,0 +1,406 @@
+package com.altech.electronicstore.config;
+
+import com.altech.electronicstore.event.ProductsImportedEvent;
+import com.altech.electronicstore.service.SalesRollupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Fills the database with a large synthetic catalog and customer history when the
+ * {@code datagen} profile is active, so performance work can be measured against realistic
+ * cardinalities:
+ * <ul>
+ *   <li>products spread over {@link #CATEGORIES}, with random prices and stock</li>
+ *   <li>deals on distinct products, of every deal type, expiring from 30 days ago to 90 days ahead</li>
+ *   <li>customers with the seed accounts' password, stored pre-hashed</li>
+ *   <li>per customer, past orders with their checked-out baskets, and for some an active basket</li>
+ * </ul>
+ * Rows are written with JDBC batches and explicit ids, so children reference their parents
+ * without reading generated keys back; identity columns are then restarted past the
+ * generated ids. Order lines favour a small head of popular products, as real sales do.
+ *
+ * <p>Generation is skipped when the first synthetic user already exists, so a file-backed
+ * database is filled only once.
+ */
+@Component
+@Profile("datagen")
+@RequiredArgsConstructor
+@Slf4j
+public class SyntheticDataGenerator implements CommandLineRunner {
+
+    static final String USERNAME_PREFIX = "user";
+
+    static final List<String> CATEGORIES = List.of(
+            "Laptops", "Smartphones", "Tablets", "Desktops", "Monitors", "Audio", "Headphones", "Cameras",
+            "Gaming", "Wearables", "Smart Home", "Networking", "Storage", "Printers", "TV & Video", "Accessories");
+
+    private static final String[] BRANDS = {
+            "Acme", "Northwind", "Contoso", "Fabrikam", "Globex", "Initech", "Umbrella", "Vandelay",
+            "Wayne", "Stark", "Tyrell", "Cyberdyne", "Hooli", "Soylent", "Wonka", "Aperture"};
+
+    private static final String PRODUCT_SQL =
+            "INSERT INTO product (id, name, description, price, stock, category, availability, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String DEAL_SQL =
+            "INSERT INTO deal (id, product_id, deal_type_id, discount_percent, discount_amount, minimum_quantity, " +
+            "expiration_date, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String USER_SQL =
+            "INSERT INTO \"user\" (id, username, password, email, created_at) VALUES (?, ?, ?, ?, ?)";
+    private static final String USER_ROLE_SQL = "INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)";
+    private static final String BASKET_SQL = "INSERT INTO basket (id, user_id, status, created_at) VALUES (?, ?, ?, ?)";
+    private static final String BASKET_ITEM_SQL =
+            "INSERT INTO basket_item (id, basket_id, product_id, quantity) VALUES (?, ?, ?, ?)";
+    private static final String ORDER_SQL =
+            "INSERT INTO order_table (id, user_id, total_amount, total_discount, final_amount, order_date) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String ORDER_ITEM_SQL =
+            "INSERT INTO order_item (id, order_id, product_id, quantity, unit_price, total_price, discount_applied) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final List<String> GENERATED_TABLES = List.of(
+            "product", "deal", "\"user\"", "basket", "basket_item", "order_table", "order_item");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SalesRollupService salesRollupService;
+
+    @Value("${datagen.products:2000000}")
+    private int products;
+
+    @Value("${datagen.deals:5000}")
+    private int deals;
+
+    @Value("${datagen.users:200000}")
+    private int users;
+
+    @Value("${datagen.orders-per-user:3}")
+    private int ordersPerUser;
+
+    @Value("${datagen.max-items-per-order:5}")
+    private int maxItemsPerOrder;
+
+    @Value("${datagen.active-basket-ratio:0.3}")
+    private double activeBasketRatio;
+
+    @Value("${datagen.history-days:365}")
+    private int historyDays;
+
+    @Value("${datagen.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${datagen.seed:42}")
+    private long seed;
+
+    @Value("${datagen.backfill-sales-rollups:false}")
+    private boolean backfillSalesRollups;
+
+    // Ids of the first generated row per table, and the generated product prices in cents
+    private Ids first;
+    private int[] priceCents;
+
+    @Override
+    public void run(String... args) {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM \"user\" WHERE username = ?", Integer.class, username(0));
+        if (existing != null && existing > 0) {
+            log.info("Synthetic data already present, skipping generation");
+            return;
+        }
+
+        long startTime = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        SplittableRandom random = new SplittableRandom(seed);
+        first = Ids.next(jdbcTemplate);
+
+        timed("products", products, () -> generateProducts(random.split(), now));
+        timed("deals", Math.min(deals, products), () -> generateDeals(random.split(), now));
+        timed("users", users, () -> generateUsers(random.split(), now));
+        timed("order histories", users, () -> generateHistory(random.split(), now));
+        restartIdentities();
+        priceCents = null;
+
+        // Lets the listing, price and search indexes pick up the new catalog
+        eventPublisher.publishEvent(new ProductsImportedEvent(products));
+        if (backfillSalesRollups) {
+            salesRollupService.backfill(now.minusDays(historyDays), now);
+        }
+        log.info("Synthetic data generated in {}s", Duration.ofNanos(System.nanoTime() - startTime).toSeconds());
+    }
+
+    private void generateProducts(SplittableRandom random, LocalDateTime now) {
+        priceCents = new int[products];
+        List<Object[]> rows = new ArrayList<>(batchSize);
+        for (int i = 0; i < products; i++) {
+            String category = CATEGORIES.get(i % CATEGORIES.size());
+            String brand = BRANDS[random.nextInt(BRANDS.length)];
+            // Log-uniform between $5 and $5,000: many cheap accessories, few expensive machines
+            priceCents[i] = (int) Math.round(500 * Math.pow(1000, random.nextDouble()));
+            Timestamp createdAt = timestamp(now.minusMinutes(random.nextLong(historyDays * 1440L + 1)));
+            rows.add(new Object[] {
+                    first.product() + i,
+                    brand + " " + category + " " + (1000 + i),
+                    brand + " " + category.toLowerCase(Locale.ROOT) + ", generation " + (1 + random.nextInt(9)),
+                    cents(priceCents[i]),
+                    random.nextInt(10) == 0 ? 0 : random.nextInt(1, 1_000),
+                    category,
+                    random.nextInt(50) != 0,
+                    createdAt,
+                    createdAt
+            });
+            if (rows.size() == batchSize) {
+                write(List.of(new Batch(PRODUCT_SQL, rows)));
+                rows.clear();
+            }
+        }
+        write(List.of(new Batch(PRODUCT_SQL, rows)));
+    }
+
+    private void generateDeals(SplittableRandom random, LocalDateTime now) {
+        Map<String, Long> dealTypes = new HashMap<>();
+        jdbcTemplate.query("SELECT id, strategy_class FROM deal_type", row -> {
+            String strategy = row.getString("strategy_class");
+            dealTypes.put(strategy.substring(strategy.lastIndexOf('.') + 1), row.getLong("id"));
+        });
+        List<Long> typeIds = List.copyOf(dealTypes.values());
+
+        int count = Math.min(deals, products);
+        Set<Integer> dealProducts = new HashSet<>(count * 2);
+        List<Object[]> rows = new ArrayList<>(batchSize);
+        for (int i = 0; i < count; i++) {
+            int product;
+            do {
+                product = popularProduct(random);
+            } while (!dealProducts.add(product));
+
+            Long typeId = typeIds.get(random.nextInt(typeIds.size()));
+            BigDecimal percent = null;
+            BigDecimal amount = null;
+            int minimumQuantity = 1;
+            if (typeId.equals(dealTypes.get("BuyOneGetFiftyPercentOffStrategy"))) {
+                percent = BigDecimal.valueOf(50);
+                minimumQuantity = 2;
+            } else if (typeId.equals(dealTypes.get("FixedAmountDiscountStrategy"))) {
+                // Up to a third of the price, at least one cent
+                amount = cents(Math.max(1, random.nextInt(priceCents[product] / 3 + 1)));
+            } else {
+                percent = BigDecimal.valueOf(5L * random.nextInt(1, 11));
+            }
+            // A quarter already expired, the rest expiring over the next 90 days
+            LocalDateTime expiration = now.plusMinutes(random.nextLong(-30 * 1440L, 90 * 1440L));
+            LocalDateTime createdAt = expiration.minusDays(random.nextInt(7, 60));
+            rows.add(new Object[] {
+                    first.deal() + i,
+                    first.product() + product,
+                    typeId,
+                    percent,
+                    amount,
+                    minimumQuantity,
+                    timestamp(expiration),
+                    timestamp(createdAt.isAfter(now) ? now : createdAt)
+            });
+            if (rows.size() == batchSize) {
+                write(List.of(new Batch(DEAL_SQL, rows)));
+                rows.clear();
+            }
+        }
+        write(List.of(new Batch(DEAL_SQL, rows)));
+    }
+
+    private void generateUsers(SplittableRandom random, LocalDateTime now) {
+        Long customerRoleId = jdbcTemplate.queryForObject("SELECT id FROM role WHERE name = 'CUSTOMER'", Long.class);
+        List<Object[]> userRows = new ArrayList<>(batchSize);
+        List<Object[]> roleRows = new ArrayList<>(batchSize);
+        for (int i = 0; i < users; i++) {
+            long id = first.user() + i;
+            userRows.add(new Object[] {
+                    id,
+                    username(i),
+                    DataInitializer.SEED_PASSWORD_HASH,
+                    username(i) + "@example.test",
+                    timestamp(now.minusMinutes(random.nextLong(historyDays * 1440L + 1)))
+            });
+            roleRows.add(new Object[] {id, customerRoleId});
+            if (userRows.size() == batchSize) {
+                write(List.of(new Batch(USER_SQL, userRows), new Batch(USER_ROLE_SQL, roleRows)));
+                userRows.clear();
+                roleRows.clear();
+            }
+        }
+        write(List.of(new Batch(USER_SQL, userRows), new Batch(USER_ROLE_SQL, roleRows)));
+    }
+
+    /**
+     * Writes each user's orders, one checked-out basket per order holding the same lines,
+     * and for {@code datagen.active-basket-ratio} of users an active basket. A chunk of
+     * users is written parents first in one transaction.
+     */
+    private void generateHistory(SplittableRandom random, LocalDateTime now) {
+        History history = new History();
+        int usersPerChunk = Math.max(1, batchSize / Math.max(1, ordersPerUser * maxItemsPerOrder));
+        for (int i = 0; i < users; i++) {
+            long userId = first.user() + i;
+            int orders = random.nextInt(2 * ordersPerUser + 1);
+            for (int o = 0; o < orders; o++) {
+                LocalDateTime orderDate = now.minusMinutes(random.nextLong(1, historyDays * 1440L + 1));
+                long basketId = history.basket(userId, "CHECKED_OUT", orderDate.minusMinutes(random.nextInt(5, 120)));
+                long orderId = history.nextOrderId++;
+                long total = 0;
+                long discount = 0;
+                for (int product : basketProducts(random)) {
+                    int quantity = random.nextInt(1, 4);
+                    long lineTotal = (long) priceCents[product] * quantity;
+                    long lineDiscount = random.nextInt(6) == 0 ? lineTotal * random.nextInt(5, 31) / 100 : 0;
+                    history.basketItem(basketId, product, quantity);
+                    history.orderItems.add(new Object[] {
+                            history.nextOrderItemId++,
+                            orderId,
+                            first.product() + product,
+                            quantity,
+                            cents(priceCents[product]),
+                            cents(lineTotal),
+                            cents(lineDiscount)
+                    });
+                    total += lineTotal;
+                    discount += lineDiscount;
+                }
+                history.orders.add(new Object[] {
+                        orderId, userId, cents(total), cents(discount), cents(total - discount), timestamp(orderDate)});
+            }
+
+            if (random.nextDouble() < activeBasketRatio) {
+                long basketId = history.basket(userId, "ACTIVE", now.minusMinutes(random.nextInt(1, 7 * 1440)));
+                for (int product : basketProducts(random)) {
+                    history.basketItem(basketId, product, random.nextInt(1, 4));
+                }
+            }
+
+            if ((i + 1) % usersPerChunk == 0) {
+                history.flush();
+            }
+        }
+        history.flush();
+    }
+
+    /** Distinct products for one basket, which allows each product once. */
+    private Set<Integer> basketProducts(SplittableRandom random) {
+        int lines = Math.min(products, random.nextInt(1, Math.max(1, maxItemsPerOrder) + 1));
+        Set<Integer> chosen = new HashSet<>(lines * 2);
+        while (chosen.size() < lines) {
+            chosen.add(popularProduct(random));
+        }
+        return chosen;
+    }
+
+    /** Index of a product, skewed so about half of all picks land in the first 10% of the catalog. */
+    private int popularProduct(SplittableRandom random) {
+        return (int) (products * Math.pow(random.nextDouble(), 3.3));
+    }
+
+    /** Moves every identity column past the explicit ids just inserted. */
+    private void restartIdentities() {
+        for (String table : GENERATED_TABLES) {
+            Long next = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) + 1 FROM " + table, Long.class);
+            jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + next);
+        }
+    }
+
+    private void write(List<Batch> batches) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (Batch batch : batches) {
+                for (int from = 0; from < batch.rows().size(); from += batchSize) {
+                    jdbcTemplate.batchUpdate(batch.sql(), batch.rows().subList(from, Math.min(from + batchSize, batch.rows().size())));
+                }
+            }
+        });
+    }
+
+    private void timed(String what, long count, Runnable step) {
+        long startTime = System.nanoTime();
+        step.run();
+        long elapsedNanos = System.nanoTime() - startTime;
+        log.info("Generated {} {} in {}ms ({} per second)", count, what, elapsedNanos / 1_000_000,
+                elapsedNanos > 0 ? Math.round(count * 1_000_000_000d / elapsedNanos) : count);
+    }
+
+    static String username(int index) {
+        return USERNAME_PREFIX + index;
+    }
+
+    private static BigDecimal cents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    private static Timestamp timestamp(LocalDateTime dateTime) {
+        return Timestamp.valueOf(dateTime);
+    }
+
+    private record Batch(String sql, List<Object[]> rows) {
+    }
+
+    /** First id to use per generated table. */
+    private record Ids(long product, long deal, long user, long basket, long basketItem, long order, long orderItem) {
+
+        static Ids next(JdbcTemplate jdbcTemplate) {
+            long[] ids = GENERATED_TABLES.stream()
+                    .mapToLong(table -> jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) + 1 FROM " + table, Long.class))
+                    .toArray();
+            return new Ids(ids[0], ids[1], ids[2], ids[3], ids[4], ids[5], ids[6]);
+        }
+    }
+
+    /** Rows of one chunk of users' baskets and orders, and the next id per table. */
+    private final class History {
+
+        private final List<Object[]> baskets = new ArrayList<>();
+        private final List<Object[]> basketItems = new ArrayList<>();
+        private final List<Object[]> orders = new ArrayList<>();
+        private final List<Object[]> orderItems = new ArrayList<>();
+        private long nextBasketId = first.basket();
+        private long nextBasketItemId = first.basketItem();
+        private long nextOrderId = first.order();
+        private long nextOrderItemId = first.orderItem();
+
+        long basket(long userId, String status, LocalDateTime createdAt) {
+            long id = nextBasketId++;
+            baskets.add(new Object[] {id, userId, status, timestamp(createdAt)});
+            return id;
+        }
+
+        void basketItem(long basketId, int product, int quantity) {
+            basketItems.add(new Object[] {nextBasketItemId++, basketId, first.product() + product, quantity});
+        }
+
+        void flush() {
+            write(List.of(
+                    new Batch(BASKET_SQL, baskets),
+                    new Batch(BASKET_ITEM_SQL, basketItems),
+                    new Batch(ORDER_SQL, orders),
+                    new Batch(ORDER_ITEM_SQL, orderItems)));
+            baskets.clear();
+            basketItems.clear();
+            orders.clear();
+            orderItems.clear();
+        }
+    }
+}
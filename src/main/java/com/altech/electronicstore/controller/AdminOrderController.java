@@ -0,0 +1,62 @@
+package com.altech.electronicstore.controller;
+
+import com.altech.electronicstore.service.OrderExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/admin/orders")
+@RequiredArgsConstructor
+@Tag(name = "Admin - Orders", description = "Order reporting endpoints (Admin only)")
+@SecurityRequirement(name = "Bearer Authentication")
+public class AdminOrderController {
+
+    private static final MediaType NDJSON = new MediaType("application", "x-ndjson", StandardCharsets.UTF_8);
+    private static final MediaType CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+
+    private final OrderExportService orderExportService;
+
+    @GetMapping("/export")
+    @Operation(summary = "Export orders", description = "Stream all orders placed in a date range as NDJSON (one order per line) or CSV (one item per line)")
+    @PreAuthorize("@permissionChecker.hasPermission('ORDER', 'MANAGE')")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @Parameter(description = "Start of the range, inclusive (ISO date-time)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "End of the range, exclusive (ISO date-time)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Export format: ndjson or csv") @RequestParam(defaultValue = "ndjson") String format) {
+
+        if (!from.isBefore(to)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        if ("csv".equalsIgnoreCase(format)) {
+            StreamingResponseBody body = out -> orderExportService.exportCsv(from, to, out);
+            return ResponseEntity.ok()
+                    .contentType(CSV)
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"orders.csv\"")
+                    .body(body);
+        }
+
+        if ("ndjson".equalsIgnoreCase(format)) {
+            StreamingResponseBody body = out -> orderExportService.exportNdjson(from, to, out);
+            return ResponseEntity.ok()
+                    .contentType(NDJSON)
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"orders.ndjson\"")
+                    .body(body);
+        }
+
+        return ResponseEntity.badRequest().build();
+    }
+}
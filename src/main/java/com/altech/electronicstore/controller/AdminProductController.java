@@ -1,14 +1,20 @@
 package com.altech.electronicstore.controller;
 
+import com.altech.electronicstore.dto.product.ProductBulkUpdateRequest;
+import com.altech.electronicstore.dto.product.ProductBulkUpdateResultDto;
 import com.altech.electronicstore.dto.product.ProductDto;
+import com.altech.electronicstore.dto.product.ProductImportResultDto;
 import com.altech.electronicstore.dto.product.ProductResponseDto;
 import com.altech.electronicstore.entity.Product;
 import com.altech.electronicstore.mapper.ProductMapper;
+import com.altech.electronicstore.service.ProductBulkUpdateService;
+import com.altech.electronicstore.service.ProductImportService;
 import com.altech.electronicstore.service.ProductService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -16,10 +22,13 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+
 @RestController
 @RequestMapping("/api/admin/products")
 @RequiredArgsConstructor
@@ -29,6 +38,8 @@ public class AdminProductController {
 
     private final ProductService productService;
     private final ProductMapper productMapper;
+    private final ProductImportService productImportService;
+    private final ProductBulkUpdateService productBulkUpdateService;
 
     @GetMapping
     @Operation(summary = "Get all products (Admin)", description = "Get paginated list of all products including unavailable ones")
@@ -56,6 +67,19 @@ public class AdminProductController {
         return ResponseEntity.status(HttpStatus.CREATED).body(productResponseDto);
     }
 
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    @Operation(summary = "Bulk import products", description = "Stream a CSV (with header) or NDJSON file of products; invalid rows are skipped and reported")
+    @PreAuthorize("@permissionChecker.hasPermission('PRODUCT', 'CREATE')")
+    public ResponseEntity<ProductImportResultDto> importProducts(
+            @Parameter(description = "Rows per JDBC batch (defaults to import.products.batch-size)") @RequestParam(required = false) Integer batchSize,
+            HttpServletRequest request) throws IOException {
+        MediaType contentType = MediaType.parseMediaType(request.getContentType());
+        ProductImportResultDto result = "csv".equalsIgnoreCase(contentType.getSubtype())
+                ? productImportService.importCsv(request.getInputStream(), batchSize)
+                : productImportService.importNdjson(request.getInputStream(), batchSize);
+        return ResponseEntity.ok(result);
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update product", description = "Update an existing product")
     @PreAuthorize("@permissionChecker.hasPermission('PRODUCT', 'UPDATE')")
@@ -67,6 +91,14 @@ public class AdminProductController {
         return ResponseEntity.ok(productResponseDto);
     }
 
+    @PatchMapping("/bulk")
+    @Operation(summary = "Bulk update price and stock", description = "Apply partial {id, price?, stock?, availability?} updates in batches; unchanged rows are skipped")
+    @PreAuthorize("@permissionChecker.hasPermission('PRODUCT', 'UPDATE')")
+    public ResponseEntity<ProductBulkUpdateResultDto> bulkUpdateProducts(@Valid @RequestBody ProductBulkUpdateRequest request) {
+        ProductBulkUpdateResultDto result = productBulkUpdateService.applyDeltas(request.getUpdates());
+        return ResponseEntity.ok(result);
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete product", description = "Delete a product")
     @PreAuthorize("@permissionChecker.hasPermission('PRODUCT', 'DELETE')")
@@ -0,0 +1,80 @@
+package com.altech.electronicstore.controller;
+
+import com.altech.electronicstore.dto.sales.CategorySalesDto;
+import com.altech.electronicstore.dto.sales.ProductSalesDto;
+import com.altech.electronicstore.dto.sales.SalesPointDto;
+import com.altech.electronicstore.service.SalesRollupService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/sales")
+@RequiredArgsConstructor
+@Tag(name = "Admin - Sales", description = "Sales reporting endpoints served from hourly rollups (Admin only)")
+@SecurityRequirement(name = "Bearer Authentication")
+public class AdminSalesController {
+
+    private final SalesRollupService salesRollupService;
+
+    @GetMapping("/top-products")
+    @Operation(summary = "Top selling products", description = "Get the top N products in a date range ranked by revenue or units sold")
+    @PreAuthorize("@permissionChecker.hasPermission('ORDER', 'MANAGE')")
+    public ResponseEntity<List<ProductSalesDto>> getTopProducts(
+            @Parameter(description = "Start of the range, inclusive (ISO date-time)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "End of the range, exclusive (ISO date-time)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Number of products to return (max 100)") @RequestParam(defaultValue = "10") int limit,
+            @Parameter(description = "Ranking metric: revenue or units") @RequestParam(defaultValue = "revenue") String metric) {
+
+        if (!"revenue".equalsIgnoreCase(metric) && !"units".equalsIgnoreCase(metric)) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<ProductSalesDto> products = salesRollupService.getTopProducts(from, to, limit, "units".equalsIgnoreCase(metric));
+        return ResponseEntity.ok(products);
+    }
+
+    @GetMapping("/categories")
+    @Operation(summary = "Sales per category", description = "Get units, revenue and discount totals per category in a date range")
+    @PreAuthorize("@permissionChecker.hasPermission('ORDER', 'MANAGE')")
+    public ResponseEntity<List<CategorySalesDto>> getCategoryTotals(
+            @Parameter(description = "Start of the range, inclusive (ISO date-time)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "End of the range, exclusive (ISO date-time)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(salesRollupService.getCategoryTotals(from, to));
+    }
+
+    @GetMapping("/revenue")
+    @Operation(summary = "Revenue time series", description = "Get revenue, units and discount per hour or per day, optionally for one category")
+    @PreAuthorize("@permissionChecker.hasPermission('ORDER', 'MANAGE')")
+    public ResponseEntity<List<SalesPointDto>> getRevenueSeries(
+            @Parameter(description = "Start of the range, inclusive (ISO date-time)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "End of the range, exclusive (ISO date-time)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Bucket size: hour or day") @RequestParam(defaultValue = "hour") String granularity,
+            @Parameter(description = "Restrict to a category") @RequestParam(required = false) String category) {
+
+        if (!"hour".equalsIgnoreCase(granularity) && !"day".equalsIgnoreCase(granularity)) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<SalesPointDto> series = salesRollupService.getRevenueSeries(from, to, category, "day".equalsIgnoreCase(granularity));
+        return ResponseEntity.ok(series);
+    }
+
+    @PostMapping("/backfill")
+    @Operation(summary = "Backfill sales rollups", description = "Rebuild the hourly rollups for closed hours in a date range from historical orders")
+    @PreAuthorize("@permissionChecker.hasPermission('ORDER', 'MANAGE')")
+    public ResponseEntity<Map<String, Integer>> backfill(
+            @Parameter(description = "Start of the range, inclusive (ISO date-time)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "End of the range, exclusive (ISO date-time)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        int rows = salesRollupService.backfill(from, to);
+        return ResponseEntity.ok(Map.of("rollupRows", rows));
+    }
+}
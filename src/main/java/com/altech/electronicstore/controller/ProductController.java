@@ -1,22 +1,44 @@
 package com.altech.electronicstore.controller;
 
+import com.altech.electronicstore.dto.product.ProductCursorPageDto;
+import com.altech.electronicstore.dto.product.ProductFacetsDto;
 import com.altech.electronicstore.dto.product.ProductResponseDto;
+import com.altech.electronicstore.dto.product.ProductSearchResultDto;
+import com.altech.electronicstore.dto.product.ProductSnapshot;
 import com.altech.electronicstore.entity.Product;
+import com.altech.electronicstore.exception.ProductNotFoundException;
 import com.altech.electronicstore.mapper.ProductMapper;
+import com.altech.electronicstore.repository.ProductSortKey;
+import com.altech.electronicstore.service.CatalogVersion;
+import com.altech.electronicstore.service.ProductJsonCache;
+import com.altech.electronicstore.service.ProductListingService;
+import com.altech.electronicstore.service.ProductSearchService;
 import com.altech.electronicstore.service.ProductService;
+import com.fasterxml.jackson.databind.util.RawValue;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/products")
@@ -26,10 +48,17 @@ public class ProductController {
 
     private final ProductService productService;
     private final ProductMapper productMapper;
+    private final ProductListingService productListingService;
+    private final ProductSearchService productSearchService;
+    private final CatalogVersion catalogVersion;
+    private final ProductJsonCache productJsonCache;
+
+    @Value("${catalog.http.max-age-seconds:60}")
+    private long maxAgeSeconds;
 
     @GetMapping
     @Operation(summary = "Get all products", description = "Get paginated list of available products with optional filters")
-    public ResponseEntity<Page<ProductResponseDto>> getAllProducts(
+    public ResponseEntity<Page<RawValue>> getAllProducts(
             @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "Sort by field") @RequestParam(defaultValue = "name") String sortBy,
@@ -37,29 +66,121 @@ public class ProductController {
             @Parameter(description = "Filter by category") @RequestParam(required = false) String category,
             @Parameter(description = "Minimum price") @RequestParam(required = false) BigDecimal minPrice,
             @Parameter(description = "Maximum price") @RequestParam(required = false) BigDecimal maxPrice,
-            @Parameter(description = "Availability") @RequestParam(required = false) Boolean availability) {
+            @Parameter(description = "Availability") @RequestParam(required = false) Boolean availability,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
 
         Sort sort = Sort.by(Sort.Direction.fromString(sortDir), sortBy);
         Pageable pageable = PageRequest.of(page, size, sort);
         
-        Page<Product> products = productService.getFilteredProducts(category, minPrice, maxPrice, availability, pageable);
-        Page<ProductResponseDto> productDtos = products.map(productMapper::toProductResponseDto);
-        return ResponseEntity.ok(productDtos);
+        // Page content is spliced in from pre-serialized product fragments
+        return conditionalGet(ifNoneMatch, catalogVersion.etag("products"), () -> {
+            long generation = productJsonCache.generation();
+            return productListingService.getProductListing(category, minPrice, maxPrice, availability, pageable)
+                    .map(product -> new RawValue(productJsonCache.fragment(product, generation)));
+        });
+    }
+
+    @GetMapping("/cursor")
+    @Operation(summary = "Get products by cursor", description = "Keyset-paginated list of available products for deep paging. " +
+            "Pass the returned nextCursor to read the following slice; no total count is computed")
+    public ResponseEntity<ProductCursorPageDto> getProductsByCursor(
+            @Parameter(description = "Continuation token from the previous slice") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Slice size (max 100)") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Sort by field: id, name, price or category") @RequestParam(defaultValue = "name") String sortBy,
+            @Parameter(description = "Sort direction") @RequestParam(defaultValue = "asc") String sortDir,
+            @Parameter(description = "Filter by category") @RequestParam(required = false) String category) {
+        Optional<ProductSortKey> sortKey = ProductSortKey.fromProperty(sortBy);
+        if (sortKey.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        boolean descending = Sort.Direction.fromString(sortDir).isDescending();
+
+        ProductCursorPageDto slice = productListingService.getProductSlice(category, sortKey.get(), descending, cursor, size);
+        return ResponseEntity.ok(slice);
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search products", description = "Full-text search over name, description and category. " +
+            "Terms are ANDed, OR separates alternatives, and a trailing * matches a prefix; results are ranked by BM25")
+    public ResponseEntity<ProductSearchResultDto> searchProducts(
+            @Parameter(description = "Search query, e.g. 'wireless head* OR earbuds'") @RequestParam("q") String query,
+            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size (max 100)") @RequestParam(defaultValue = "10") int size) {
+        if (query.isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        ProductSearchResultDto result = productSearchService.search(query, page, size);
+        return ResponseEntity.ok(result);
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get product by ID", description = "Get detailed information about a specific product")
-    public ResponseEntity<ProductResponseDto> getProductById(
-            @Parameter(description = "Product ID") @PathVariable Long id) {
-        Product product = productService.getProductById(id);
-        ProductResponseDto productDto = productMapper.toProductResponseDto(product);
-        return ResponseEntity.ok(productDto);
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = ProductResponseDto.class)))
+    public ResponseEntity<byte[]> getProductById(
+            @Parameter(description = "Product ID") @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        ProductSnapshot snapshot = productService.findSnapshot(id)
+                .orElseThrow(() -> new ProductNotFoundException(id));
+        String etag = catalogVersion.productETag(id, snapshot.updatedAt());
+        // Cached JSON bytes are written as-is; the entity is only loaded to render a missing version
+        return conditionalGet(ifNoneMatch, etag, () -> productJsonCache.bytes(id, snapshot.updatedAt(), () -> {
+            Product product = productService.getProductById(id);
+            return productMapper.toProductResponseDto(product);
+        }));
     }
 
     @GetMapping("/categories")
     @Operation(summary = "Get all categories", description = "Get list of all available product categories")
-    public ResponseEntity<List<String>> getCategories() {
-        List<String> categories = productService.getCategories();
-        return ResponseEntity.ok(categories);
+    public ResponseEntity<List<String>> getCategories(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return conditionalGet(ifNoneMatch, catalogVersion.etag("categories"), productService::getCategories);
+    }
+
+    @GetMapping("/facets")
+    @Operation(summary = "Get product facets", description = "Get available product counts per category and per price range")
+    public ResponseEntity<ProductFacetsDto> getFacets(
+            @Parameter(description = "Restrict price ranges to this category") @RequestParam(required = false) String category) {
+        ProductFacetsDto facets = productService.getFacets(category);
+        return ResponseEntity.ok(facets);
+    }
+
+    /**
+     * Answers 304 from the validators alone when the client already holds {@code etag},
+     * so nothing is loaded or mapped. The ETag is computed before the body is built,
+     * so a body is never older than the ETag it is sent with. max-age never runs past the
+     * next deal expiry.
+     */
+    private <T> ResponseEntity<T> conditionalGet(String ifNoneMatch, String etag, Supplier<T> body) {
+        CacheControl cacheControl = CacheControl.maxAge(catalogVersion.maxAge(Duration.ofSeconds(maxAgeSeconds))).cachePublic();
+        if (matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .lastModified(catalogVersion.lastModified())
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .lastModified(catalogVersion.lastModified())
+                .cacheControl(cacheControl)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body.get());
+    }
+
+    /** If-None-Match uses weak comparison on GET, so a {@code W/} prefix is ignored. */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
     }
 }
@@ -0,0 +1,20 @@
+package com.altech.electronicstore.dto.basket;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One basket line that cannot be fulfilled at checkout. {@code available} is 0 when the
+ * product no longer exists or is unavailable.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockShortfallDto {
+    private Long productId;
+    private String productName;
+    private Integer requested;
+    private Integer available;
+    private Integer shortfall;
+}
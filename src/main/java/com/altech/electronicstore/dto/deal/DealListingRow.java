@@ -0,0 +1,26 @@
+package com.altech.electronicstore.dto.deal;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Column projection of a deal with its type and product name already joined in,
+ * as read by the public product listing.
+ */
+@Data
+@AllArgsConstructor
+public class DealListingRow {
+    private Long id;
+    private Long productId;
+    private String productName;
+    private String dealTypeName;
+    private String dealTypeDescription;
+    private LocalDateTime expirationDate;
+    private LocalDateTime createdAt;
+    private BigDecimal discountPercent;
+    private BigDecimal discountAmount;
+    private Integer minimumQuantity;
+}
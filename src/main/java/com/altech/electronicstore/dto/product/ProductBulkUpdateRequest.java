@@ -0,0 +1,16 @@
+package com.altech.electronicstore.dto.product;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class ProductBulkUpdateRequest {
+    @NotEmpty(message = "At least one update is required")
+    @Size(max = 100000, message = "At most 100000 updates per request")
+    @Valid
+    private List<ProductDeltaDto> updates;
+}
@@ -0,0 +1,16 @@
+package com.altech.electronicstore.dto.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBulkUpdateResultDto {
+    private int requested;
+    private int changed;
+    /** Rows whose values already matched, or whose id does not exist. */
+    private int skipped;
+    private long durationMs;
+}
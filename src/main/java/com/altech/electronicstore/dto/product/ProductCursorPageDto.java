@@ -0,0 +1,21 @@
+package com.altech.electronicstore.dto.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One slice of the keyset-paginated catalogue. {@code nextCursor} is opaque and is
+ * {@code null} on the last slice.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductCursorPageDto {
+    private List<ProductResponseDto> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+}
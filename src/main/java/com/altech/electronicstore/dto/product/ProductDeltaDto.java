@@ -0,0 +1,29 @@
+package com.altech.electronicstore.dto.product;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Partial product update; {@code null} fields are left untouched.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductDeltaDto {
+    @NotNull(message = "Product ID is required")
+    private Long id;
+
+    @DecimalMin(value = "0.0", inclusive = false, message = "Price must be greater than 0")
+    private BigDecimal price;
+
+    @Min(value = 0, message = "Stock cannot be negative")
+    private Integer stock;
+
+    private Boolean availability;
+}
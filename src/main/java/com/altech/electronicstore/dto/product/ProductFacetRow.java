@@ -0,0 +1,18 @@
+package com.altech.electronicstore.dto.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/**
+ * Columns of a product that feed the category and price indexes.
+ */
+@Data
+@AllArgsConstructor
+public class ProductFacetRow {
+    private Long id;
+    private String category;
+    private BigDecimal price;
+    private Boolean availability;
+}
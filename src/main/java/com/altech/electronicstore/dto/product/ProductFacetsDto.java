@@ -0,0 +1,36 @@
+package com.altech.electronicstore.dto.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductFacetsDto {
+    private List<CategoryFacet> categories;
+    /** Price ranges of the requested category, or of the whole catalog when none was given. */
+    private List<PriceRangeFacet> priceRanges;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CategoryFacet {
+        private String category;
+        private long count;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PriceRangeFacet {
+        /** Inclusive lower bound. */
+        private BigDecimal min;
+        /** Exclusive upper bound; {@code null} for the last, open-ended range. */
+        private BigDecimal max;
+        private long count;
+    }
+}
@@ -0,0 +1,24 @@
+package com.altech.electronicstore.dto.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Column projection of a product, as read by the public product listing.
+ */
+@Data
+@AllArgsConstructor
+public class ProductListingRow {
+    private Long id;
+    private String name;
+    private String description;
+    private BigDecimal price;
+    private Integer stock;
+    private String category;
+    private Boolean availability;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
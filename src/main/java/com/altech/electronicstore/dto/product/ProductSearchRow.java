@@ -0,0 +1,17 @@
+package com.altech.electronicstore.dto.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Text columns of a product, as read into the search index.
+ */
+@Data
+@AllArgsConstructor
+public class ProductSearchRow {
+    private Long id;
+    private String name;
+    private String description;
+    private String category;
+    private Boolean availability;
+}
@@ -0,0 +1,21 @@
+package com.altech.electronicstore.dto.product;
+
+import com.altech.electronicstore.entity.Product;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Immutable copy of the product columns needed by stock and availability checks and by
+ * HTTP validators.
+ * This is what {@link com.altech.electronicstore.service.ProductCache} holds, so cached
+ * values are never managed entities shared between sessions.
+ */
+public record ProductSnapshot(Long id, String name, BigDecimal price, Integer stock, String category, Boolean availability,
+                              LocalDateTime updatedAt) {
+
+    public static ProductSnapshot from(Product product) {
+        return new ProductSnapshot(product.getId(), product.getName(), product.getPrice(), product.getStock(),
+                product.getCategory(), product.getAvailability(), product.getUpdatedAt());
+    }
+}
@@ -0,0 +1,16 @@
+package com.altech.electronicstore.dto.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Columns of a product needed to validate stock at checkout.
+ */
+@Data
+@AllArgsConstructor
+public class ProductStockRow {
+    private Long id;
+    private String name;
+    private Integer stock;
+    private Boolean availability;
+}
@@ -0,0 +1,17 @@
+package com.altech.electronicstore.dto.sales;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategorySalesDto {
+    private String category;
+    private Long unitsSold;
+    private BigDecimal revenue;
+    private BigDecimal discountGiven;
+}
@@ -0,0 +1,18 @@
+package com.altech.electronicstore.dto.sales;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSalesDto {
+    private Long productId;
+    private String category;
+    private Long unitsSold;
+    private BigDecimal revenue;
+    private BigDecimal discountGiven;
+}
@@ -0,0 +1,21 @@
+package com.altech.electronicstore.dto.sales;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One historical order line, as read by the sales rollup backfill.
+ */
+@Data
+@AllArgsConstructor
+public class SalesLine {
+    private LocalDateTime orderDate;
+    private Long productId;
+    private String category;
+    private Integer quantity;
+    private BigDecimal totalPrice;
+    private BigDecimal discountApplied;
+}
@@ -0,0 +1,18 @@
+package com.altech.electronicstore.dto.sales;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesPointDto {
+    private LocalDateTime bucketStart;
+    private Long unitsSold;
+    private BigDecimal revenue;
+    private BigDecimal discountGiven;
+}
@@ -2,8 +2,12 @@ package com.altech.electronicstore.entity;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "dealType")
 @Table(name = "deal_type")
 @Data
 public class DealType {
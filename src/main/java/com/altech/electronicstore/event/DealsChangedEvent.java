@@ -0,0 +1,11 @@
+package com.altech.electronicstore.event;
+
+import java.util.Set;
+
+/**
+ * Published inside the transaction that created, changed or removed deals on the given
+ * products. Deals are part of the public product representation, so HTTP validators
+ * derived from the catalog must change with them.
+ */
+public record DealsChangedEvent(Set<Long> productIds) {
+}
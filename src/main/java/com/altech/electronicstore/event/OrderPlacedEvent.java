@@ -0,0 +1,33 @@
+package com.altech.electronicstore.event;
+
+import com.altech.electronicstore.entity.Order;
+import com.altech.electronicstore.entity.OrderItem;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Published by checkout once an order has been persisted. Carries a detached snapshot of
+ * the order lines so after-commit listeners never touch lazy entity state.
+ */
+public record OrderPlacedEvent(Long orderId, LocalDateTime orderDate, List<Line> lines) {
+
+    public record Line(Long productId, String category, int quantity, BigDecimal revenue, BigDecimal discount) {
+    }
+
+    public static OrderPlacedEvent from(Order order) {
+        List<Line> lines = new ArrayList<>(order.getOrderItems().size());
+        for (OrderItem item : order.getOrderItems()) {
+            lines.add(new Line(
+                    item.getProduct().getId(),
+                    item.getProduct().getCategory(),
+                    item.getQuantity(),
+                    item.getTotalPrice(),
+                    item.getDiscountApplied()));
+        }
+        LocalDateTime orderDate = order.getOrderDate() != null ? order.getOrderDate() : LocalDateTime.now();
+        return new OrderPlacedEvent(order.getId(), orderDate, lines);
+    }
+}
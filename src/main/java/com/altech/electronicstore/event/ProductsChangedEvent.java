@@ -0,0 +1,20 @@
+package com.altech.electronicstore.event;
+
+import java.util.Set;
+
+/**
+ * Published inside the transaction that changed the given products. Caches derived from
+ * product data listen for it after commit and drop only the affected entries.
+ * {@code stockOnly} is set when nothing but the stock level changed, so indexes that do not
+ * depend on stock can ignore the event; checkout publishes one per basket line.
+ */
+public record ProductsChangedEvent(Set<Long> productIds, boolean stockOnly) {
+
+    public ProductsChangedEvent(Set<Long> productIds) {
+        this(productIds, false);
+    }
+
+    public static ProductsChangedEvent ofStock(Set<Long> productIds) {
+        return new ProductsChangedEvent(productIds, true);
+    }
+}
@@ -0,0 +1,8 @@
+package com.altech.electronicstore.event;
+
+/**
+ * Published after a bulk import inserted products whose ids are not known to the
+ * importer. Indexes derived from the whole catalog rebuild on it.
+ */
+public record ProductsImportedEvent(long imported) {
+}
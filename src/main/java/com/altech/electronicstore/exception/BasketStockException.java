@@ -0,0 +1,17 @@
+package com.altech.electronicstore.exception;
+
+import com.altech.electronicstore.dto.basket.StockShortfallDto;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class BasketStockException extends RuntimeException {
+
+    private final List<StockShortfallDto> shortfalls;
+
+    public BasketStockException(List<StockShortfallDto> shortfalls) {
+        super(String.format("Insufficient stock for %d item(s) in basket", shortfalls.size()));
+        this.shortfalls = List.copyOf(shortfalls);
+    }
+}
@@ -0,0 +1,18 @@
+package com.altech.electronicstore.exception;
+
+import com.altech.electronicstore.dto.basket.StockShortfallDto;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.util.List;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class StockErrorResponse extends ErrorResponse {
+    private List<StockShortfallDto> shortfalls;
+
+    public StockErrorResponse(int status, String error, String message, String path, List<StockShortfallDto> shortfalls) {
+        super(status, error, message, path);
+        this.shortfalls = shortfalls;
+    }
+}
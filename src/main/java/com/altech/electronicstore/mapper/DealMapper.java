@@ -1,5 +1,6 @@
 package com.altech.electronicstore.mapper;
 
+import com.altech.electronicstore.dto.deal.DealListingRow;
 import com.altech.electronicstore.dto.deal.DealResponseDto;
 import com.altech.electronicstore.dto.deal.DealTypeResponseDto;
 import com.altech.electronicstore.entity.Deal;
@@ -29,6 +30,22 @@ public class DealMapper {
                 .build();
     }
 
+    public DealResponseDto toDealResponseDto(DealListingRow row) {
+        return DealResponseDto.builder()
+                .id(row.getId())
+                .dealTypeName(row.getDealTypeName())
+                .dealTypeDescription(row.getDealTypeDescription())
+                .expirationDate(row.getExpirationDate())
+                .createdAt(row.getCreatedAt())
+                .expired(row.getExpirationDate().isBefore(LocalDateTime.now()))
+                .discountPercent(row.getDiscountPercent())
+                .discountAmount(row.getDiscountAmount())
+                .minimumQuantity(row.getMinimumQuantity())
+                .productId(row.getProductId())
+                .productName(row.getProductName())
+                .build();
+    }
+
     public DealTypeResponseDto toDealTypeResponseDto(DealType dealType) {
         return DealTypeResponseDto.builder()
                 .id(dealType.getId())
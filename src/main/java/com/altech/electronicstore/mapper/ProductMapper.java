@@ -1,10 +1,14 @@
 package com.altech.electronicstore.mapper;
 
+import com.altech.electronicstore.dto.deal.DealResponseDto;
+import com.altech.electronicstore.dto.product.ProductListingRow;
 import com.altech.electronicstore.dto.product.ProductResponseDto;
+import com.altech.electronicstore.entity.Deal;
 import com.altech.electronicstore.entity.Product;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -25,12 +29,29 @@ public class ProductMapper {
                 .availability(product.getAvailability())
                 .createdAt(product.getCreatedAt())
                 .updatedAt(product.getUpdatedAt())
+                // Same order as the listing query (ORDER BY d.id), so both render identical JSON
                 .deals(product.getDeals().stream()
+                        .sorted(Comparator.comparing(Deal::getId, Comparator.nullsLast(Comparator.naturalOrder())))
                         .map(dealMapper::toDealResponseDto)
                         .collect(Collectors.toList()))
                 .build();
     }
 
+    public ProductResponseDto toProductResponseDto(ProductListingRow row, List<DealResponseDto> deals) {
+        return ProductResponseDto.builder()
+                .id(row.getId())
+                .name(row.getName())
+                .description(row.getDescription())
+                .price(row.getPrice())
+                .stock(row.getStock())
+                .category(row.getCategory())
+                .availability(row.getAvailability())
+                .createdAt(row.getCreatedAt())
+                .updatedAt(row.getUpdatedAt())
+                .deals(deals)
+                .build();
+    }
+
     public List<ProductResponseDto> toProductResponseDtoList(List<Product> products) {
         return products.stream()
                 .map(this::toProductResponseDto)
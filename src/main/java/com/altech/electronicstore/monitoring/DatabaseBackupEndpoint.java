@@ -0,0 +1,37 @@
+package com.altech.electronicstore.monitoring;
+
+import com.altech.electronicstore.service.DatabaseBackupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * {@code /actuator/backup}: lists the kept database backups; {@code POST} takes a new online
+ * backup with {@link DatabaseBackupService}. Present only with {@code store.backup.enabled=true}.
+ */
+@Component
+@Endpoint(id = "backup")
+@ConditionalOnBean(DatabaseBackupService.class)
+@RequiredArgsConstructor
+public class DatabaseBackupEndpoint {
+
+    private final DatabaseBackupService databaseBackupService;
+
+    @ReadOperation
+    public BackupsReport backups() {
+        return new BackupsReport(databaseBackupService.directory().toString(), databaseBackupService.list());
+    }
+
+    @WriteOperation
+    public DatabaseBackupService.BackupResult backup() {
+        return databaseBackupService.backup();
+    }
+
+    public record BackupsReport(String directory, List<DatabaseBackupService.Backup> backups) {
+    }
+}
@@ -0,0 +1,106 @@
+package com.altech.electronicstore.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the latency of every request in a {@code http.route.latency} timer tagged by
+ * method, route template and {@code auth=authenticated|anonymous}. The timer publishes
+ * percentiles and a histogram, both kept by Micrometer in HdrHistogram-backed windows.
+ * Requests at or above the slow-request threshold are also sampled into
+ * {@link SlowRequestLog} together with their {@link RequestProfile}.
+ *
+ * <p>Ordered ahead of the Spring Security filter chain, so JWT parsing and permission
+ * checks happen inside the measured span.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+@RequiredArgsConstructor
+public class RequestLatencyFilter extends OncePerRequestFilter {
+
+    static final String METRIC = "http.route.latency";
+
+    private final MeterRegistry meterRegistry;
+    private final SlowRequestLog slowRequestLog;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Instant startedAt = Instant.now();
+        long start = System.nanoTime();
+        RequestProfile profile = RequestProfile.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            long durationNanos = System.nanoTime() - start;
+            RequestProfile.end();
+            // Streaming responses complete on another thread; their initial dispatch alone is not representative
+            if (!request.isAsyncStarted()) {
+                record(request, response.getStatus(), profile, startedAt, durationNanos);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, int status, RequestProfile profile, Instant startedAt, long durationNanos) {
+        String route = route(request, status);
+        Timer.builder(METRIC)
+                .tag("method", request.getMethod())
+                .tag("route", route)
+                .tag("auth", profile.authenticated() ? "authenticated" : "anonymous")
+                .publishPercentiles(0.5, 0.9, 0.99, 0.999)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+
+        if (slowRequestLog.isSlow(durationNanos)) {
+            slowRequestLog.record(new SlowRequestSample(
+                    startedAt,
+                    request.getMethod(),
+                    route,
+                    request.getRequestURI(),
+                    status,
+                    profile.authenticated(),
+                    toMillis(durationNanos),
+                    profile.sqlStatements(),
+                    toMillis(profile.jwtNanos()),
+                    toMillis(profile.permissionCheckNanos())));
+        }
+    }
+
+    /**
+     * The matched handler pattern, e.g. {@code /api/products/{id}}. Requests that never
+     * reached a handler are grouped so raw paths cannot blow up the tag cardinality.
+     */
+    static String route(HttpServletRequest request, int status) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern != null) {
+            return pattern.toString();
+        }
+        if (status == HttpStatus.NOT_FOUND.value()) {
+            return "NOT_FOUND";
+        }
+        if (status == HttpStatus.UNAUTHORIZED.value() || status == HttpStatus.FORBIDDEN.value()) {
+            return "DENIED";
+        }
+        return "UNKNOWN";
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
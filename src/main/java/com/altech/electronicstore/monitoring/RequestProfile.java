@@ -0,0 +1,72 @@
+package com.altech.electronicstore.monitoring;
+
+/**
+ * Per-request counters filled in while a request is handled: SQL statements sent,
+ * time spent parsing and validating the JWT, time spent in permission checks, and
+ * whether the request authenticated. Bound to the request thread by
+ * {@link RequestLatencyFilter}; the {@code record*} methods are no-ops when no profile is
+ * bound, e.g. on scheduled jobs or async export threads.
+ */
+public final class RequestProfile {
+
+    private static final ThreadLocal<RequestProfile> CURRENT = new ThreadLocal<>();
+
+    private int sqlStatements;
+    private long jwtNanos;
+    private long permissionCheckNanos;
+    private boolean authenticated;
+
+    static RequestProfile start() {
+        RequestProfile profile = new RequestProfile();
+        CURRENT.set(profile);
+        return profile;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    public static void recordSqlStatement() {
+        RequestProfile profile = CURRENT.get();
+        if (profile != null) {
+            profile.sqlStatements++;
+        }
+    }
+
+    public static void recordJwt(long nanos) {
+        RequestProfile profile = CURRENT.get();
+        if (profile != null) {
+            profile.jwtNanos += nanos;
+        }
+    }
+
+    public static void recordPermissionCheck(long nanos) {
+        RequestProfile profile = CURRENT.get();
+        if (profile != null) {
+            profile.permissionCheckNanos += nanos;
+        }
+    }
+
+    public static void markAuthenticated() {
+        RequestProfile profile = CURRENT.get();
+        if (profile != null) {
+            profile.authenticated = true;
+        }
+    }
+
+    int sqlStatements() {
+        return sqlStatements;
+    }
+
+    long jwtNanos() {
+        return jwtNanos;
+    }
+
+    long permissionCheckNanos() {
+        return permissionCheckNanos;
+    }
+
+    boolean authenticated() {
+        return authenticated;
+    }
+}
@@ -0,0 +1,66 @@
+package com.altech.electronicstore.monitoring;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-size ring buffer of the most recent {@link SlowRequestSample}s. Recording is a
+ * single slot write, so request threads never contend on a lock; once the buffer is full
+ * the oldest sample is overwritten.
+ */
+@Component
+public class SlowRequestLog {
+
+    private final long thresholdMs;
+    private final AtomicReferenceArray<SlowRequestSample> samples;
+    private final AtomicLong recorded = new AtomicLong();
+
+    public SlowRequestLog(@Value("${monitoring.slow-requests.threshold-ms:500}") long thresholdMs,
+                          @Value("${monitoring.slow-requests.capacity:200}") int capacity) {
+        this.thresholdMs = thresholdMs;
+        this.samples = new AtomicReferenceArray<>(Math.max(1, capacity));
+    }
+
+    public boolean isSlow(long durationNanos) {
+        return durationNanos >= thresholdMs * 1_000_000;
+    }
+
+    public void record(SlowRequestSample sample) {
+        long slot = recorded.getAndIncrement();
+        samples.set((int) (slot % samples.length()), sample);
+    }
+
+    /**
+     * Samples currently held, newest first.
+     */
+    public List<SlowRequestSample> snapshot() {
+        List<SlowRequestSample> result = new ArrayList<>(samples.length());
+        for (int i = 0; i < samples.length(); i++) {
+            SlowRequestSample sample = samples.get(i);
+            if (sample != null) {
+                result.add(sample);
+            }
+        }
+        result.sort(Comparator.comparing(SlowRequestSample::startedAt).reversed());
+        return result;
+    }
+
+    public long thresholdMs() {
+        return thresholdMs;
+    }
+
+    public int capacity() {
+        return samples.length();
+    }
+
+    /** Samples recorded since startup, including those already overwritten. */
+    public long recorded() {
+        return recorded.get();
+    }
+}
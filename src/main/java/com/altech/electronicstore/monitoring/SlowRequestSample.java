@@ -0,0 +1,19 @@
+package com.altech.electronicstore.monitoring;
+
+import java.time.Instant;
+
+/**
+ * One request that took longer than the slow-request threshold. Times are in milliseconds.
+ */
+public record SlowRequestSample(
+        Instant startedAt,
+        String method,
+        String route,
+        String uri,
+        int status,
+        boolean authenticated,
+        double durationMs,
+        int sqlStatements,
+        double jwtMs,
+        double permissionCheckMs) {
+}
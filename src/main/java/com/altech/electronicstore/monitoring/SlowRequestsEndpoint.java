@@ -0,0 +1,31 @@
+package com.altech.electronicstore.monitoring;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * {@code /actuator/slowrequests}: the requests held in {@link SlowRequestLog}, newest first.
+ */
+@Component
+@Endpoint(id = "slowrequests")
+@RequiredArgsConstructor
+public class SlowRequestsEndpoint {
+
+    private final SlowRequestLog slowRequestLog;
+
+    @ReadOperation
+    public SlowRequestsReport slowRequests() {
+        return new SlowRequestsReport(
+                slowRequestLog.thresholdMs(),
+                slowRequestLog.capacity(),
+                slowRequestLog.recorded(),
+                slowRequestLog.snapshot());
+    }
+
+    public record SlowRequestsReport(long thresholdMs, int capacity, long recorded, List<SlowRequestSample> samples) {
+    }
+}
@@ -0,0 +1,175 @@
+package com.altech.electronicstore.monitoring;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Call count, row count, error count and latency per SQL statement template, fed by
+ * {@link SqlStatsDataSource}. A template is the statement with literals replaced by
+ * {@code ?}, whitespace collapsed and parameter lists folded, so every execution of the
+ * same query shape lands in one entry. Once {@code monitoring.sql.max-templates} shapes
+ * are tracked, further ones are counted under {@value #OTHER}. Prepared statements reuse a
+ * small set of SQL strings, so the template of each string is computed once and kept in a
+ * bounded cache.
+ *
+ * <p>Executions at or above {@code monitoring.sql.slow-threshold-ms} are written as one
+ * JSON object per line to the {@code sql.slow} logger.
+ */
+@Component
+@Slf4j(topic = "sql.slow")
+public class SqlStatistics {
+
+    static final String OTHER = "<other>";
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\?(?:\\s*,\\s*\\?)+");
+
+    private final ObjectMapper objectMapper;
+    private final long slowThresholdNanos;
+    private final int maxTemplates;
+    private final Map<String, TemplateStats> statements = new ConcurrentHashMap<>();
+    /** Raw SQL to template, so the regex passes run once per distinct statement string. */
+    private final Cache<String, String> templates;
+
+    public SqlStatistics(ObjectMapper objectMapper,
+                         @Value("${monitoring.sql.slow-threshold-ms:200}") long slowThresholdMs,
+                         @Value("${monitoring.sql.max-templates:1000}") int maxTemplates) {
+        this.objectMapper = objectMapper;
+        this.slowThresholdNanos = slowThresholdMs * 1_000_000;
+        this.maxTemplates = maxTemplates;
+        this.templates = Caffeine.newBuilder()
+                .maximumSize(Math.max(1, maxTemplates))
+                .build();
+    }
+
+    /**
+     * Records one execution. {@code rows} is the number of rows read or changed, or 0 when
+     * the driver does not report it.
+     */
+    public void record(String sql, String kind, long elapsedNanos, long rows, boolean failed) {
+        String template = templates.get(sql, SqlStatistics::template);
+        stats(template).add(elapsedNanos, rows, failed);
+        if (elapsedNanos >= slowThresholdNanos) {
+            logSlow(template, kind, elapsedNanos, rows, failed);
+        }
+    }
+
+    /**
+     * The {@code limit} templates with the highest value of {@code orderBy}.
+     */
+    public List<SqlStatementStats> top(int limit, SortKey orderBy) {
+        return statements.entrySet().stream()
+                .map(entry -> entry.getValue().snapshot(entry.getKey()))
+                .sorted(orderBy.comparator.reversed())
+                .limit(Math.max(0, limit))
+                .toList();
+    }
+
+    public int templateCount() {
+        return statements.size();
+    }
+
+    public long slowThresholdMs() {
+        return slowThresholdNanos / 1_000_000;
+    }
+
+    public void reset() {
+        statements.clear();
+    }
+
+    static String template(String sql) {
+        String template = STRING_LITERAL.matcher(sql).replaceAll("?");
+        template = NUMBER_LITERAL.matcher(template).replaceAll("?");
+        template = WHITESPACE.matcher(template).replaceAll(" ").trim();
+        return PARAMETER_LIST.matcher(template).replaceAll("?, ...");
+    }
+
+    private TemplateStats stats(String template) {
+        TemplateStats stats = statements.get(template);
+        if (stats != null) {
+            return stats;
+        }
+        if (statements.size() >= maxTemplates) {
+            return statements.computeIfAbsent(OTHER, key -> new TemplateStats());
+        }
+        return statements.computeIfAbsent(template, key -> new TemplateStats());
+    }
+
+    private void logSlow(String template, String kind, long elapsedNanos, long rows, boolean failed) {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("event", "slow_sql");
+        entry.put("kind", kind);
+        entry.put("durationMs", elapsedNanos / 1_000_000.0);
+        entry.put("rows", rows);
+        entry.put("failed", failed);
+        entry.put("sql", template);
+        try {
+            log.warn(objectMapper.writeValueAsString(entry));
+        } catch (JsonProcessingException e) {
+            log.warn("Slow SQL ({} ms): {}", elapsedNanos / 1_000_000, template);
+        }
+    }
+
+    public enum SortKey {
+        TOTAL(Comparator.comparingDouble(SqlStatementStats::totalMs)),
+        MEAN(Comparator.comparingDouble(SqlStatementStats::meanMs)),
+        MAX(Comparator.comparingDouble(SqlStatementStats::maxMs)),
+        CALLS(Comparator.comparingLong(SqlStatementStats::calls)),
+        ROWS(Comparator.comparingLong(SqlStatementStats::rows));
+
+        private final Comparator<SqlStatementStats> comparator;
+
+        SortKey(Comparator<SqlStatementStats> comparator) {
+            this.comparator = comparator;
+        }
+    }
+
+    /**
+     * Totals for one template. Time is in milliseconds.
+     */
+    public record SqlStatementStats(String sql, long calls, long errors, long rows,
+                                    double totalMs, double meanMs, double maxMs) {
+    }
+
+    private static final class TemplateStats {
+
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        void add(long elapsedNanos, long rowCount, boolean failed) {
+            calls.increment();
+            if (failed) {
+                errors.increment();
+            }
+            rows.add(rowCount);
+            totalNanos.add(elapsedNanos);
+            maxNanos.accumulateAndGet(elapsedNanos, Math::max);
+        }
+
+        SqlStatementStats snapshot(String sql) {
+            long callCount = calls.sum();
+            double totalMs = totalNanos.sum() / 1_000_000.0;
+            return new SqlStatementStats(sql, callCount, errors.sum(), rows.sum(),
+                    totalMs, callCount > 0 ? totalMs / callCount : 0, maxNanos.get() / 1_000_000.0);
+        }
+    }
+}
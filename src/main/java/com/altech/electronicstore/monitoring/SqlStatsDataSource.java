@@ -0,0 +1,224 @@
+package com.altech.electronicstore.monitoring;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * {@link DataSource} wrapper that times every statement executed through it and reports
+ * it to {@link SqlStatistics} and the current {@link RequestProfile}. Connections,
+ * statements and result sets are wrapped in JDK dynamic proxies; everything except the
+ * execute, {@code next} and {@code close} calls passes straight through.
+ *
+ * <p>An update is recorded when it returns, with its update count as rows. A query is
+ * recorded when its result set is closed (or its statement, if the result set never is),
+ * with the rows read and the time spent in {@code execute} plus {@code next}; time the
+ * caller spends between rows is not counted. JDBC objects are confined to one thread, so
+ * the per-statement state needs no synchronization.
+ */
+public class SqlStatsDataSource extends DelegatingDataSource {
+
+    private final SqlStatistics statistics;
+
+    public SqlStatsDataSource(DataSource target, SqlStatistics statistics) {
+        super(target);
+        this.statistics = statistics;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) proxy(Connection.class, new ConnectionHandler(connection));
+    }
+
+    private static Object proxy(Class<?> type, InvocationHandler handler) {
+        return Proxy.newProxyInstance(SqlStatsDataSource.class.getClassLoader(), new Class<?>[] {type}, handler);
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static String kind(Method method) {
+        String name = method.getName();
+        if (name.equals("executeQuery")) {
+            return "query";
+        }
+        return name.endsWith("Batch") ? "batch" : "update";
+    }
+
+    private static long rows(Object result) {
+        if (result instanceof Number count) {
+            return Math.max(0, count.longValue());
+        }
+        long total = 0;
+        if (result instanceof int[] counts) {
+            for (int count : counts) {
+                total += Math.max(0, count);
+            }
+        } else if (result instanceof long[] counts) {
+            for (long count : counts) {
+                total += Math.max(0, count);
+            }
+        }
+        return total;
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = invokeTarget(target, method, args);
+            return switch (method.getName()) {
+                case "createStatement" -> proxy(method.getReturnType(),
+                        new StatementHandler((Statement) result, null, (Connection) proxy));
+                case "prepareStatement", "prepareCall" -> proxy(method.getReturnType(),
+                        new StatementHandler((Statement) result, (String) args[0], (Connection) proxy));
+                default -> result;
+            };
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final Connection connection;
+        /** The prepared SQL, or for a plain statement the last SQL passed to it. */
+        private String sql;
+        private QueryExecution openQuery;
+
+        StatementHandler(Statement target, String sql, Connection connection) {
+            this.target = target;
+            this.sql = sql;
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                return execute(method, args);
+            }
+            if (name.equals("addBatch") && args != null && args.length == 1) {
+                sql = (String) args[0];
+            } else if (name.equals("getConnection")) {
+                return connection;
+            } else if (name.equals("close")) {
+                finishQuery();
+            }
+            return invokeTarget(target, method, args);
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            if (args != null && args.length > 0 && args[0] instanceof String statementSql) {
+                sql = statementSql;
+            }
+            finishQuery();
+            String executed = sql != null ? sql : "<unknown>";
+            RequestProfile.recordSqlStatement();
+
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = invokeTarget(target, method, args);
+            } catch (Throwable e) {
+                statistics.record(executed, kind(method), System.nanoTime() - start, 0, true);
+                throw e;
+            }
+            long elapsedNanos = System.nanoTime() - start;
+
+            if (result instanceof ResultSet resultSet) {
+                openQuery = new QueryExecution(executed, elapsedNanos);
+                return proxy(ResultSet.class, new ResultSetHandler(resultSet, openQuery));
+            }
+            statistics.record(executed, kind(method), elapsedNanos, rows(result), false);
+            return result;
+        }
+
+        private void finishQuery() {
+            if (openQuery != null) {
+                openQuery.finish();
+                openQuery = null;
+            }
+        }
+    }
+
+    private final class ResultSetHandler implements InvocationHandler {
+
+        private final ResultSet target;
+        private final QueryExecution query;
+
+        ResultSetHandler(ResultSet target, QueryExecution query) {
+            this.target = target;
+            this.query = query;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("next")) {
+                long start = System.nanoTime();
+                Object result = invokeTarget(target, method, args);
+                query.elapsedNanos += System.nanoTime() - start;
+                if (Boolean.TRUE.equals(result)) {
+                    query.rows++;
+                }
+                return result;
+            }
+            if (name.equals("close")) {
+                try {
+                    return invokeTarget(target, method, args);
+                } finally {
+                    query.finish();
+                }
+            }
+            return invokeTarget(target, method, args);
+        }
+    }
+
+    private final class QueryExecution {
+
+        private final String sql;
+        private long elapsedNanos;
+        private long rows;
+        private boolean recorded;
+
+        QueryExecution(String sql, long elapsedNanos) {
+            this.sql = sql;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        void finish() {
+            if (!recorded) {
+                recorded = true;
+                statistics.record(sql, "query", elapsedNanos, rows, false);
+            }
+        }
+    }
+}
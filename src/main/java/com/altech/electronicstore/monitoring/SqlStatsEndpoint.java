@@ -0,0 +1,60 @@
+package com.altech.electronicstore.monitoring;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * {@code /actuator/sqlstats}: the top SQL statement templates from {@link SqlStatistics}.
+ * {@code limit} defaults to 20 and {@code orderBy} to {@code total} (also {@code mean},
+ * {@code max}, {@code calls}, {@code rows}). {@code DELETE} clears the statistics.
+ */
+@Component
+@Endpoint(id = "sqlstats")
+@RequiredArgsConstructor
+public class SqlStatsEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final SqlStatistics sqlStatistics;
+
+    @ReadOperation
+    public SqlStatsReport statements(@Nullable Integer limit, @Nullable String orderBy) {
+        SqlStatistics.SortKey sortKey = sortKey(orderBy);
+        return new SqlStatsReport(
+                sqlStatistics.slowThresholdMs(),
+                sqlStatistics.templateCount(),
+                sortKey.name().toLowerCase(Locale.ROOT),
+                sqlStatistics.top(limit != null ? limit : DEFAULT_LIMIT, sortKey));
+    }
+
+    @DeleteOperation
+    public void reset() {
+        sqlStatistics.reset();
+    }
+
+    private static SqlStatistics.SortKey sortKey(String orderBy) {
+        if (orderBy == null) {
+            return SqlStatistics.SortKey.TOTAL;
+        }
+        try {
+            return SqlStatistics.SortKey.valueOf(orderBy.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            String message = "Unknown orderBy '" + orderBy + "', expected one of "
+                    + Arrays.toString(SqlStatistics.SortKey.values()).toLowerCase(Locale.ROOT);
+            throw new InvalidEndpointRequestException(message, message);
+        }
+    }
+
+    public record SqlStatsReport(long slowThresholdMs, int templates, String orderBy,
+                                 List<SqlStatistics.SqlStatementStats> statements) {
+    }
+}
@@ -0,0 +1,38 @@
+package com.altech.electronicstore.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Registered;
+import jdk.jfr.StackTrace;
+
+@Name("com.altech.electronicstore.BasketMutation")
+@Label("Basket Mutation")
+@Description("Adding, updating, removing or clearing items of the active basket")
+@Category({"Electronic Store", "Basket"})
+@StackTrace(false)
+@Registered(false)
+public class BasketMutationEvent extends jdk.jfr.Event {
+
+    @Label("Operation")
+    @Description("add, update, remove or clear")
+    public String operation;
+
+    @Label("User Id")
+    public long userId;
+
+    @Label("Product Id")
+    public long productId;
+
+    @Label("Quantity")
+    public int quantity;
+
+    @Label("Item Count")
+    @Description("Number of basket lines after the mutation")
+    public int itemCount;
+
+    @Label("Outcome")
+    @Description("success, or the simple name of the exception that ended the mutation")
+    public String outcome;
+}
@@ -0,0 +1,34 @@
+package com.altech.electronicstore.monitoring.jfr;
+
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+
+import java.util.List;
+
+/**
+ * The application's JDK Flight Recorder events. They are declared
+ * {@code @Registered(false)}, so until {@link #register()} runs their {@code begin},
+ * {@code commit} and {@code shouldCommit} calls are empty methods the JIT removes,
+ * together with the event allocation. Settings for a recording are in
+ * {@code src/main/resources/jfr/electronic-store.jfc}.
+ */
+public final class BusinessEvents {
+
+    public static final List<Class<? extends Event>> TYPES = List.of(
+            CheckoutEvent.class,
+            BasketMutationEvent.class,
+            DiscountCalculationEvent.class,
+            JwtValidationEvent.class,
+            PermissionCheckEvent.class);
+
+    private BusinessEvents() {
+    }
+
+    public static void register() {
+        TYPES.forEach(FlightRecorder::register);
+    }
+
+    public static String outcome(Throwable failure) {
+        return failure.getClass().getSimpleName();
+    }
+}
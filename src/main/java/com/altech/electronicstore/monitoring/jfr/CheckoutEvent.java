@@ -0,0 +1,32 @@
+package com.altech.electronicstore.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Registered;
+import jdk.jfr.StackTrace;
+
+@Name("com.altech.electronicstore.Checkout")
+@Label("Checkout")
+@Description("One checkout, from loading the basket to inserting the order")
+@Category({"Electronic Store", "Orders"})
+@StackTrace(false)
+@Registered(false)
+public class CheckoutEvent extends jdk.jfr.Event {
+
+    @Label("User Id")
+    public long userId;
+
+    @Label("Item Count")
+    @Description("Number of basket lines")
+    public int itemCount;
+
+    @Label("Deal Count")
+    @Description("Number of deals applied to the order")
+    public int dealCount;
+
+    @Label("Outcome")
+    @Description("success, or the simple name of the exception that ended the checkout")
+    public String outcome;
+}
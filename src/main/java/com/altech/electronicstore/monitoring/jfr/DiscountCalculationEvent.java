@@ -0,0 +1,28 @@
+package com.altech.electronicstore.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Registered;
+import jdk.jfr.StackTrace;
+
+@Name("com.altech.electronicstore.DiscountCalculation")
+@Label("Discount Calculation")
+@Description("Applying the deal strategies to a list of basket items")
+@Category({"Electronic Store", "Orders"})
+@StackTrace(false)
+@Registered(false)
+public class DiscountCalculationEvent extends jdk.jfr.Event {
+
+    @Label("Item Count")
+    public int itemCount;
+
+    @Label("Deal Count")
+    @Description("Number of deals considered for the items")
+    public int dealCount;
+
+    @Label("Outcome")
+    @Description("success, or the simple name of the exception that ended the calculation")
+    public String outcome;
+}
@@ -0,0 +1,24 @@
+package com.altech.electronicstore.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Registered;
+import jdk.jfr.StackTrace;
+
+@Name("com.altech.electronicstore.JwtValidation")
+@Label("JWT Validation")
+@Description("Parsing a bearer token, loading its user and validating the token")
+@Category({"Electronic Store", "Security"})
+@StackTrace(false)
+@Registered(false)
+public class JwtValidationEvent extends jdk.jfr.Event {
+
+    @Label("Username")
+    public String username;
+
+    @Label("Outcome")
+    @Description("valid, invalid, or the simple name of the exception raised while validating")
+    public String outcome;
+}
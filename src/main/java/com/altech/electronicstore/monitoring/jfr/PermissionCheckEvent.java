@@ -0,0 +1,28 @@
+package com.altech.electronicstore.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Registered;
+import jdk.jfr.StackTrace;
+
+@Name("com.altech.electronicstore.PermissionCheck")
+@Label("Permission Check")
+@Description("One permission evaluation from a @PreAuthorize expression")
+@Category({"Electronic Store", "Security"})
+@StackTrace(false)
+@Registered(false)
+public class PermissionCheckEvent extends jdk.jfr.Event {
+
+    @Label("Permission")
+    @Description("Permission name, RESOURCE:ACTION pair, or comma-separated names for any-of checks")
+    public String permission;
+
+    @Label("Username")
+    public String username;
+
+    @Label("Outcome")
+    @Description("granted or denied")
+    public String outcome;
+}
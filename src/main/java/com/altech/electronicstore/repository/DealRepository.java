@@ -1,5 +1,6 @@
 package com.altech.electronicstore.repository;
 
+import com.altech.electronicstore.dto.deal.DealListingRow;
 import com.altech.electronicstore.entity.Deal;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -7,6 +8,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
@@ -19,9 +21,21 @@ public interface DealRepository extends JpaRepository<Deal, Long> {
     @Query("SELECT d FROM Deal d WHERE d.product.id IN :productIds AND d.expirationDate > :currentTime")
     List<Deal> findActiveDealsForProducts(@Param("productIds") Set<Long> productIds, @Param("currentTime") LocalDateTime currentTime);
     
+    @Query("SELECT new com.altech.electronicstore.dto.deal.DealListingRow(" +
+           "d.id, p.id, p.name, dt.name, dt.description, d.expirationDate, d.createdAt, " +
+           "d.discountPercent, d.discountAmount, d.minimumQuantity) " +
+           "FROM Deal d JOIN d.product p JOIN d.dealType dt WHERE p.id IN :productIds ORDER BY d.id")
+    List<DealListingRow> findDealRowsForProducts(@Param("productIds") Collection<Long> productIds);
+    
     @Query("SELECT d FROM Deal d WHERE d.expirationDate > :currentTime")
     List<Deal> findAllActiveDeals(@Param("currentTime") LocalDateTime currentTime);
     
+    @Query("SELECT MIN(d.expirationDate) FROM Deal d WHERE d.expirationDate >= :from")
+    LocalDateTime findNextExpiration(@Param("from") LocalDateTime from);
+    
+    @Query("SELECT DISTINCT d.product.id FROM Deal d WHERE d.expirationDate >= :from AND d.expirationDate < :to")
+    List<Long> findProductIdsWithDealsExpiringBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
     @Query("SELECT COUNT(d) > 0 FROM Deal d WHERE d.product.id = :productId AND d.dealType.id = :dealTypeId AND d.expirationDate > :currentTime and (:excludeDealId IS NULL OR d.id <> :excludeDealId)")
     boolean existsByProductIdAndDealTypeIdAndNotExpired(@Param("productId") Long productId, @Param("dealTypeId") Long dealTypeId, @Param("currentTime") LocalDateTime currentTime, @Param("excludeDealId") Long excludeDealId);
 }
@@ -1,9 +1,18 @@
 package com.altech.electronicstore.repository;
 
 import com.altech.electronicstore.entity.DealType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface DealTypeRepository extends JpaRepository<DealType, Long> {
+
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<DealType> findAll();
 }
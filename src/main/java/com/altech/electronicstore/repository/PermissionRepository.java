@@ -1,8 +1,11 @@
 package com.altech.electronicstore.repository;
 
 import com.altech.electronicstore.entity.Permission;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -13,6 +16,7 @@ import java.util.Set;
 @Repository
 public interface PermissionRepository extends JpaRepository<Permission, Long> {
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Permission> findByName(String name);
     
     List<Permission> findByResource(String resource);
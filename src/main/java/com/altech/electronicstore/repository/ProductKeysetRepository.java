@@ -0,0 +1,21 @@
+package com.altech.electronicstore.repository;
+
+import com.altech.electronicstore.dto.product.ProductListingRow;
+
+import java.util.List;
+
+/**
+ * Keyset ("seek") pagination over available products. Pages are located by the last
+ * row already seen instead of an {@code OFFSET}, so deep pages cost the same as the
+ * first one and no count query is issued.
+ */
+public interface ProductKeysetRepository {
+
+    /**
+     * Returns up to {@code limit} available products ordered by {@code sortKey} and then id,
+     * starting strictly after ({@code lastValue}, {@code lastId}). Pass {@code null} for both
+     * to read the first page.
+     */
+    List<ProductListingRow> findAvailableRowsAfter(String category, ProductSortKey sortKey, boolean descending,
+                                                   Object lastValue, Long lastId, int limit);
+}
@@ -0,0 +1,61 @@
+package com.altech.electronicstore.repository;
+
+import com.altech.electronicstore.dto.product.ProductListingRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+class ProductKeysetRepositoryImpl implements ProductKeysetRepository {
+
+    private static final String SELECT_ROWS =
+            "SELECT new com.altech.electronicstore.dto.product.ProductListingRow(" +
+            "p.id, p.name, p.description, p.price, p.stock, p.category, p.availability, p.createdAt, p.updatedAt) " +
+            "FROM Product p WHERE p.availability = true";
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<ProductListingRow> findAvailableRowsAfter(String category, ProductSortKey sortKey, boolean descending,
+                                                          Object lastValue, Long lastId, int limit) {
+        // The column name comes from the ProductSortKey whitelist, never from the request
+        String column = "p." + sortKey.getProperty();
+        String seek = descending ? " < " : " > ";
+        String direction = descending ? " DESC" : " ASC";
+
+        StringBuilder jpql = new StringBuilder(SELECT_ROWS);
+        if (category != null) {
+            jpql.append(" AND p.category = :category");
+        }
+        if (lastId != null) {
+            if (sortKey == ProductSortKey.ID) {
+                jpql.append(" AND p.id").append(seek).append(":lastId");
+            } else {
+                // The redundant inclusive bound gives H2 a range to seek on the (availability, category,
+                // key, id) index; the OR alone is not an index condition, so deep pages would scan
+                String bound = descending ? " <= " : " >= ";
+                jpql.append(" AND ").append(column).append(bound).append(":lastValue")
+                        .append(" AND (").append(column).append(seek).append(":lastValue OR (")
+                        .append(column).append(" = :lastValue AND p.id").append(seek).append(":lastId))");
+            }
+        }
+        jpql.append(" ORDER BY ").append(column).append(direction);
+        if (sortKey != ProductSortKey.ID) {
+            jpql.append(", p.id").append(direction);
+        }
+
+        TypedQuery<ProductListingRow> query = entityManager.createQuery(jpql.toString(), ProductListingRow.class);
+        if (category != null) {
+            query.setParameter("category", category);
+        }
+        if (lastId != null) {
+            query.setParameter("lastId", lastId);
+            if (sortKey != ProductSortKey.ID) {
+                query.setParameter("lastValue", lastValue);
+            }
+        }
+        return query.setMaxResults(limit).getResultList();
+    }
+}
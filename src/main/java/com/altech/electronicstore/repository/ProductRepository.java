@@ -1,5 +1,9 @@
 package com.altech.electronicstore.repository;
 
+import com.altech.electronicstore.dto.product.ProductFacetRow;
+import com.altech.electronicstore.dto.product.ProductListingRow;
+import com.altech.electronicstore.dto.product.ProductSearchRow;
+import com.altech.electronicstore.dto.product.ProductStockRow;
 import com.altech.electronicstore.entity.Product;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -9,9 +13,11 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.stream.Stream;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductKeysetRepository {
     Page<Product> findByAvailabilityTrue(Pageable pageable);
     
     Page<Product> findByCategoryAndAvailabilityTrue(String category, Pageable pageable);
@@ -29,6 +35,68 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
         Pageable pageable
     );
     
+    // Public listing variants: one query per filter combination, so each predicate is sargable
+    // against idx_product_availability_category_price / idx_product_availability_price
+    
+    @Query(value = "SELECT new com.altech.electronicstore.dto.product.ProductListingRow(" +
+                   "p.id, p.name, p.description, p.price, p.stock, p.category, p.availability, p.createdAt, p.updatedAt) " +
+                   "FROM Product p WHERE p.availability = true",
+           countQuery = "SELECT COUNT(p) FROM Product p WHERE p.availability = true")
+    Page<ProductListingRow> findAvailableRows(Pageable pageable);
+    
+    @Query(value = "SELECT new com.altech.electronicstore.dto.product.ProductListingRow(" +
+                   "p.id, p.name, p.description, p.price, p.stock, p.category, p.availability, p.createdAt, p.updatedAt) " +
+                   "FROM Product p WHERE p.availability = true AND p.category = :category",
+           countQuery = "SELECT COUNT(p) FROM Product p WHERE p.availability = true AND p.category = :category")
+    Page<ProductListingRow> findAvailableRowsByCategory(@Param("category") String category, Pageable pageable);
+    
+    @Query(value = "SELECT new com.altech.electronicstore.dto.product.ProductListingRow(" +
+                   "p.id, p.name, p.description, p.price, p.stock, p.category, p.availability, p.createdAt, p.updatedAt) " +
+                   "FROM Product p WHERE p.availability = true AND p.price BETWEEN :minPrice AND :maxPrice",
+           countQuery = "SELECT COUNT(p) FROM Product p WHERE p.availability = true AND p.price BETWEEN :minPrice AND :maxPrice")
+    Page<ProductListingRow> findAvailableRowsByPriceRange(
+        @Param("minPrice") BigDecimal minPrice,
+        @Param("maxPrice") BigDecimal maxPrice,
+        Pageable pageable
+    );
+    
+    @Query(value = "SELECT new com.altech.electronicstore.dto.product.ProductListingRow(" +
+                   "p.id, p.name, p.description, p.price, p.stock, p.category, p.availability, p.createdAt, p.updatedAt) " +
+                   "FROM Product p WHERE p.availability = true AND p.category = :category " +
+                   "AND p.price BETWEEN :minPrice AND :maxPrice",
+           countQuery = "SELECT COUNT(p) FROM Product p WHERE p.availability = true AND p.category = :category " +
+                   "AND p.price BETWEEN :minPrice AND :maxPrice")
+    Page<ProductListingRow> findAvailableRowsByCategoryAndPriceRange(
+        @Param("category") String category,
+        @Param("minPrice") BigDecimal minPrice,
+        @Param("maxPrice") BigDecimal maxPrice,
+        Pageable pageable
+    );
+    
+    @Query("SELECT new com.altech.electronicstore.dto.product.ProductListingRow(" +
+           "p.id, p.name, p.description, p.price, p.stock, p.category, p.availability, p.createdAt, p.updatedAt) " +
+           "FROM Product p WHERE p.id IN :productIds")
+    java.util.List<ProductListingRow> findListingRowsByIds(@Param("productIds") Collection<Long> productIds);
+    
+    @Query("SELECT new com.altech.electronicstore.dto.product.ProductStockRow(p.id, p.name, p.stock, p.availability) " +
+           "FROM Product p WHERE p.id IN :productIds")
+    java.util.List<ProductStockRow> findStockRowsByIds(@Param("productIds") Collection<Long> productIds);
+    
+    @Query("SELECT new com.altech.electronicstore.dto.product.ProductSearchRow(p.id, p.name, p.description, p.category, p.availability) " +
+           "FROM Product p WHERE p.availability = true")
+    Stream<ProductSearchRow> streamSearchRows();
+    
+    @Query("SELECT new com.altech.electronicstore.dto.product.ProductSearchRow(p.id, p.name, p.description, p.category, p.availability) " +
+           "FROM Product p WHERE p.id IN :productIds")
+    java.util.List<ProductSearchRow> findSearchRowsByIds(@Param("productIds") Collection<Long> productIds);
+    
     @Query("SELECT DISTINCT p.category FROM Product p WHERE p.availability = true")
     java.util.List<String> findDistinctCategories();
+    
+    @Query("SELECT new com.altech.electronicstore.dto.product.ProductFacetRow(p.id, p.category, p.price, p.availability) FROM Product p")
+    java.util.List<ProductFacetRow> findAllFacetRows();
+    
+    @Query("SELECT new com.altech.electronicstore.dto.product.ProductFacetRow(p.id, p.category, p.price, p.availability) " +
+           "FROM Product p WHERE p.id IN :productIds")
+    java.util.List<ProductFacetRow> findFacetRowsByIds(@Param("productIds") Collection<Long> productIds);
 }
@@ -0,0 +1,54 @@
+package com.altech.electronicstore.repository;
+
+import com.altech.electronicstore.dto.product.ProductListingRow;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Product columns the public catalogue may be keyset-paginated by. Every key is
+ * {@code NOT NULL} and is paired with the id as a tie-breaker, so the order is total.
+ */
+public enum ProductSortKey {
+
+    ID("id"),
+    NAME("name"),
+    PRICE("price"),
+    CATEGORY("category");
+
+    private final String property;
+
+    ProductSortKey(String property) {
+        this.property = property;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public static Optional<ProductSortKey> fromProperty(String property) {
+        return Arrays.stream(values())
+                .filter(key -> key.property.equals(property))
+                .findFirst();
+    }
+
+    /** The value of this key for {@code row}, as written into a cursor. */
+    public String valueOf(ProductListingRow row) {
+        return switch (this) {
+            case ID -> row.getId().toString();
+            case NAME -> row.getName();
+            case PRICE -> row.getPrice().toPlainString();
+            case CATEGORY -> row.getCategory();
+        };
+    }
+
+    /** Converts a cursor value back to the type of the underlying column. */
+    public Object parse(String value) {
+        return switch (this) {
+            case ID -> Long.valueOf(value);
+            case NAME, CATEGORY -> value;
+            case PRICE -> new BigDecimal(value);
+        };
+    }
+}
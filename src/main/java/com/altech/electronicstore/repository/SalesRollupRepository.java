@@ -0,0 +1,63 @@
+package com.altech.electronicstore.repository;
+
+import com.altech.electronicstore.dto.sales.CategorySalesDto;
+import com.altech.electronicstore.dto.sales.ProductSalesDto;
+import com.altech.electronicstore.dto.sales.SalesLine;
+import com.altech.electronicstore.dto.sales.SalesPointDto;
+import com.altech.electronicstore.entity.SalesRollup;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface SalesRollupRepository extends JpaRepository<SalesRollup, Long> {
+
+    @Modifying
+    @Query("UPDATE SalesRollup r SET r.unitsSold = r.unitsSold + :units, r.orderCount = r.orderCount + :orders, " +
+           "r.revenue = r.revenue + :revenue, r.discountGiven = r.discountGiven + :discount " +
+           "WHERE r.bucketStart = :bucketStart AND r.productId = :productId")
+    int addToBucket(@Param("bucketStart") LocalDateTime bucketStart, @Param("productId") Long productId,
+                    @Param("units") Long units, @Param("orders") Long orders,
+                    @Param("revenue") BigDecimal revenue, @Param("discount") BigDecimal discount);
+
+    @Modifying
+    @Query("DELETE FROM SalesRollup r WHERE r.bucketStart >= :from AND r.bucketStart < :to")
+    int deleteByBucketRange(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("SELECT new com.altech.electronicstore.dto.sales.ProductSalesDto(r.productId, MAX(r.category), SUM(r.unitsSold), SUM(r.revenue), SUM(r.discountGiven)) " +
+           "FROM SalesRollup r WHERE r.bucketStart >= :from AND r.bucketStart < :to " +
+           "GROUP BY r.productId ORDER BY SUM(r.revenue) DESC")
+    List<ProductSalesDto> findTopProductsByRevenue(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to, Pageable pageable);
+
+    @Query("SELECT new com.altech.electronicstore.dto.sales.ProductSalesDto(r.productId, MAX(r.category), SUM(r.unitsSold), SUM(r.revenue), SUM(r.discountGiven)) " +
+           "FROM SalesRollup r WHERE r.bucketStart >= :from AND r.bucketStart < :to " +
+           "GROUP BY r.productId ORDER BY SUM(r.unitsSold) DESC")
+    List<ProductSalesDto> findTopProductsByUnits(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to, Pageable pageable);
+
+    @Query("SELECT new com.altech.electronicstore.dto.sales.CategorySalesDto(r.category, SUM(r.unitsSold), SUM(r.revenue), SUM(r.discountGiven)) " +
+           "FROM SalesRollup r WHERE r.bucketStart >= :from AND r.bucketStart < :to " +
+           "GROUP BY r.category ORDER BY SUM(r.revenue) DESC")
+    List<CategorySalesDto> findCategoryTotals(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("SELECT new com.altech.electronicstore.dto.sales.SalesPointDto(r.bucketStart, SUM(r.unitsSold), SUM(r.revenue), SUM(r.discountGiven)) " +
+           "FROM SalesRollup r WHERE r.bucketStart >= :from AND r.bucketStart < :to " +
+           "GROUP BY r.bucketStart ORDER BY r.bucketStart")
+    List<SalesPointDto> findHourlySeries(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("SELECT new com.altech.electronicstore.dto.sales.SalesPointDto(r.bucketStart, SUM(r.unitsSold), SUM(r.revenue), SUM(r.discountGiven)) " +
+           "FROM SalesRollup r WHERE r.bucketStart >= :from AND r.bucketStart < :to AND r.category = :category " +
+           "GROUP BY r.bucketStart ORDER BY r.bucketStart")
+    List<SalesPointDto> findHourlySeriesByCategory(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to, @Param("category") String category);
+
+    @Query("SELECT new com.altech.electronicstore.dto.sales.SalesLine(o.orderDate, p.id, p.category, oi.quantity, oi.totalPrice, oi.discountApplied) " +
+           "FROM OrderItem oi JOIN oi.order o JOIN oi.product p WHERE o.orderDate >= :from AND o.orderDate < :to")
+    Stream<SalesLine> streamSalesLines(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
@@ -0,0 +1,57 @@
+package com.altech.electronicstore.search;
+
+import java.util.Arrays;
+
+/**
+ * Growable pair of primitive arrays holding, for one term, the ids of the documents
+ * containing it (ascending) and the term frequency in each.
+ */
+final class IntPostingList {
+
+    private int[] docs = new int[4];
+    private int[] freqs = new int[4];
+    private int size;
+
+    void append(int doc, int freq) {
+        if (size == docs.length) {
+            int capacity = size + (size >> 1) + 1;
+            docs = Arrays.copyOf(docs, capacity);
+            freqs = Arrays.copyOf(freqs, capacity);
+        }
+        docs[size] = doc;
+        freqs[size] = freq;
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int doc(int index) {
+        return docs[index];
+    }
+
+    int freq(int index) {
+        return freqs[index];
+    }
+
+    /**
+     * Drops postings whose document was deleted and renumbers the rest.
+     *
+     * @param remap new id per old document id, or {@code -1} for deleted documents
+     */
+    void compact(int[] remap) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            int doc = remap[docs[i]];
+            if (doc >= 0) {
+                docs[kept] = doc;
+                freqs[kept] = freqs[i];
+                kept++;
+            }
+        }
+        size = kept;
+        docs = Arrays.copyOf(docs, Math.max(kept, 1));
+        freqs = Arrays.copyOf(freqs, Math.max(kept, 1));
+    }
+}
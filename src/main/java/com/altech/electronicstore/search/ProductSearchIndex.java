@@ -0,0 +1,373 @@
+package com.altech.electronicstore.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * In-memory inverted index over product text, ranked with BM25.
+ *
+ * <p>Query syntax: whitespace-separated terms are ANDed, {@code OR} between terms starts
+ * an alternative group, and a trailing {@code *} matches every indexed term with that
+ * prefix, e.g. {@code wireless head* OR earbuds}.
+ *
+ * <p>Documents get dense int ids in insertion order, so each posting list stays sorted
+ * and only ever grows by appending. Removing or re-adding a product tombstones its old
+ * document; tombstoned postings are skipped while searching and dropped by
+ * {@link #compact()}. Instances are not thread-safe.
+ */
+public class ProductSearchIndex {
+
+    static final float K1 = 1.2f;
+    static final float B = 0.75f;
+    static final int MAX_PREFIX_EXPANSIONS = 256;
+
+    private final TreeMap<String, IntPostingList> postings = new TreeMap<>();
+    private final Map<Long, Integer> docByProduct = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+    private long[] productIds = new long[16];
+    private int[] docLengths = new int[16];
+    /** Documents added since the last compaction, including tombstoned ones. */
+    private int docCount;
+    private int liveCount;
+    private long liveLength;
+
+    /**
+     * Indexes the given text fields of a product, replacing any previous version of it.
+     */
+    public void add(long productId, String... fields) {
+        remove(productId);
+
+        Map<String, int[]> termFreqs = new HashMap<>();
+        int length = 0;
+        for (String field : fields) {
+            for (String term : SearchTokenizer.tokenize(field)) {
+                termFreqs.computeIfAbsent(term, t -> new int[1])[0]++;
+                length++;
+            }
+        }
+
+        int doc = docCount++;
+        if (doc == productIds.length) {
+            productIds = Arrays.copyOf(productIds, doc * 2);
+            docLengths = Arrays.copyOf(docLengths, doc * 2);
+        }
+        productIds[doc] = productId;
+        docLengths[doc] = length;
+        docByProduct.put(productId, doc);
+        liveCount++;
+        liveLength += length;
+        termFreqs.forEach((term, freq) -> postings.computeIfAbsent(term, t -> new IntPostingList()).append(doc, freq[0]));
+    }
+
+    public boolean remove(long productId) {
+        Integer doc = docByProduct.remove(productId);
+        if (doc == null) {
+            return false;
+        }
+        deleted.set(doc);
+        liveCount--;
+        liveLength -= docLengths[doc];
+        return true;
+    }
+
+    public int size() {
+        return liveCount;
+    }
+
+    public int termCount() {
+        return postings.size();
+    }
+
+    /**
+     * True once tombstones make up a quarter of the documents (and at least 1024 of them).
+     */
+    public boolean needsCompaction() {
+        int tombstones = docCount - liveCount;
+        return tombstones >= 1024 && tombstones * 4 >= docCount;
+    }
+
+    /**
+     * Drops tombstoned documents from every posting list and renumbers the rest,
+     * preserving their order.
+     */
+    public void compact() {
+        int[] remap = new int[docCount];
+        int next = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (deleted.get(doc)) {
+                remap[doc] = -1;
+            } else {
+                productIds[next] = productIds[doc];
+                docLengths[next] = docLengths[doc];
+                remap[doc] = next++;
+            }
+        }
+
+        Iterator<IntPostingList> lists = postings.values().iterator();
+        while (lists.hasNext()) {
+            IntPostingList list = lists.next();
+            list.compact(remap);
+            if (list.size() == 0) {
+                lists.remove();
+            }
+        }
+        docByProduct.replaceAll((productId, doc) -> remap[doc]);
+        deleted.clear();
+        docCount = next;
+    }
+
+    /**
+     * Runs a query and returns the hits ranked {@code offset} to {@code offset + limit}.
+     */
+    public SearchHits search(String query, int offset, int limit) {
+        List<List<Clause>> groups = parse(query);
+        if (groups.isEmpty() || liveCount == 0) {
+            return SearchHits.EMPTY;
+        }
+        float avgLength = Math.max(1f, (float) liveLength / liveCount);
+
+        Hits matches = null;
+        for (List<Clause> group : groups) {
+            List<Hits> clauseHits = new ArrayList<>(group.size());
+            for (Clause clause : group) {
+                clauseHits.add(evaluate(clause, avgLength));
+            }
+            // Intersect the most selective clauses first so the candidate set shrinks early
+            clauseHits.sort(Comparator.comparingInt(hits -> hits.size));
+            Hits groupHits = clauseHits.get(0);
+            for (int i = 1; i < clauseHits.size() && groupHits.size > 0; i++) {
+                groupHits = intersect(groupHits, clauseHits.get(i));
+            }
+            matches = matches == null ? groupHits : union(matches, groupHits);
+        }
+        return top(matches, Math.max(0, offset), Math.max(0, limit));
+    }
+
+    static List<List<Clause>> parse(String query) {
+        List<List<Clause>> groups = new ArrayList<>();
+        if (query == null) {
+            return groups;
+        }
+        List<Clause> current = new ArrayList<>();
+        for (String raw : query.trim().split("\\s+")) {
+            if (raw.equals("OR")) {
+                if (!current.isEmpty()) {
+                    groups.add(current);
+                    current = new ArrayList<>();
+                }
+                continue;
+            }
+            if (raw.equals("AND")) {
+                continue;
+            }
+            boolean prefix = raw.endsWith("*");
+            List<String> terms = SearchTokenizer.tokenize(raw);
+            for (int i = 0; i < terms.size(); i++) {
+                current.add(new Clause(terms.get(i), prefix && i == terms.size() - 1));
+            }
+        }
+        if (!current.isEmpty()) {
+            groups.add(current);
+        }
+        return groups;
+    }
+
+    private Hits evaluate(Clause clause, float avgLength) {
+        if (!clause.prefix()) {
+            IntPostingList list = postings.get(clause.term());
+            return list == null ? Hits.NONE : termHits(list, avgLength);
+        }
+        NavigableMap<String, IntPostingList> expansions =
+                postings.subMap(clause.term(), true, clause.term() + Character.MAX_VALUE, false);
+        Hits hits = Hits.NONE;
+        int expanded = 0;
+        for (IntPostingList list : expansions.values()) {
+            if (expanded++ == MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+            hits = union(hits, termHits(list, avgLength));
+        }
+        return hits;
+    }
+
+    private Hits termHits(IntPostingList list, float avgLength) {
+        int documentFrequency = 0;
+        for (int i = 0; i < list.size(); i++) {
+            if (!deleted.get(list.doc(i))) {
+                documentFrequency++;
+            }
+        }
+        if (documentFrequency == 0) {
+            return Hits.NONE;
+        }
+
+        float idf = (float) Math.log(1 + (liveCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+        Hits hits = new Hits(documentFrequency);
+        for (int i = 0; i < list.size(); i++) {
+            int doc = list.doc(i);
+            if (deleted.get(doc)) {
+                continue;
+            }
+            int tf = list.freq(i);
+            float norm = K1 * (1 - B + B * docLengths[doc] / avgLength);
+            hits.add(doc, idf * tf * (K1 + 1) / (tf + norm));
+        }
+        return hits;
+    }
+
+    private static Hits intersect(Hits a, Hits b) {
+        Hits result = new Hits(Math.min(a.size, b.size));
+        int i = 0;
+        int j = 0;
+        while (i < a.size && j < b.size) {
+            if (a.docs[i] == b.docs[j]) {
+                result.add(a.docs[i], a.scores[i] + b.scores[j]);
+                i++;
+                j++;
+            } else if (a.docs[i] < b.docs[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return result;
+    }
+
+    private static Hits union(Hits a, Hits b) {
+        if (a.size == 0) {
+            return b;
+        }
+        if (b.size == 0) {
+            return a;
+        }
+        Hits result = new Hits(a.size + b.size);
+        int i = 0;
+        int j = 0;
+        while (i < a.size || j < b.size) {
+            if (j == b.size || (i < a.size && a.docs[i] < b.docs[j])) {
+                result.add(a.docs[i], a.scores[i]);
+                i++;
+            } else if (i == a.size || b.docs[j] < a.docs[i]) {
+                result.add(b.docs[j], b.scores[j]);
+                j++;
+            } else {
+                result.add(a.docs[i], a.scores[i] + b.scores[j]);
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Selects the best {@code offset + limit} hits with a bounded min-heap, then returns
+     * the requested slice best first. Equal scores rank the older document first.
+     */
+    private SearchHits top(Hits hits, int offset, int limit) {
+        int k = (int) Math.min(hits.size, (long) offset + limit);
+        if (k <= offset) {
+            return new SearchHits(hits.size, new long[0], new float[0]);
+        }
+
+        int[] heap = new int[k];
+        int heapSize = 0;
+        for (int i = 0; i < hits.size; i++) {
+            if (heapSize < k) {
+                heap[heapSize] = i;
+                siftUp(hits, heap, heapSize++);
+            } else if (better(hits, i, heap[0])) {
+                heap[0] = i;
+                siftDown(hits, heap, heapSize);
+            }
+        }
+
+        int[] ranked = new int[k];
+        for (int rank = k - 1; rank >= 0; rank--) {
+            ranked[rank] = heap[0];
+            heap[0] = heap[--heapSize];
+            siftDown(hits, heap, heapSize);
+        }
+
+        int pageSize = k - offset;
+        long[] pageProductIds = new long[pageSize];
+        float[] pageScores = new float[pageSize];
+        for (int i = 0; i < pageSize; i++) {
+            int hit = ranked[offset + i];
+            pageProductIds[i] = productIds[hits.docs[hit]];
+            pageScores[i] = hits.scores[hit];
+        }
+        return new SearchHits(hits.size, pageProductIds, pageScores);
+    }
+
+    private static boolean better(Hits hits, int a, int b) {
+        return hits.scores[a] > hits.scores[b] || (hits.scores[a] == hits.scores[b] && hits.docs[a] < hits.docs[b]);
+    }
+
+    private static void siftUp(Hits hits, int[] heap, int index) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (!better(hits, heap[parent], heap[index])) {
+                return;
+            }
+            swap(heap, parent, index);
+            index = parent;
+        }
+    }
+
+    private static void siftDown(Hits hits, int[] heap, int heapSize) {
+        int index = 0;
+        while (true) {
+            int worst = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < heapSize && better(hits, heap[worst], heap[left])) {
+                worst = left;
+            }
+            if (right < heapSize && better(hits, heap[worst], heap[right])) {
+                worst = right;
+            }
+            if (worst == index) {
+                return;
+            }
+            swap(heap, index, worst);
+            index = worst;
+        }
+    }
+
+    private static void swap(int[] heap, int a, int b) {
+        int tmp = heap[a];
+        heap[a] = heap[b];
+        heap[b] = tmp;
+    }
+
+    record Clause(String term, boolean prefix) {
+    }
+
+    /** Matching documents in ascending id order with their accumulated scores. */
+    private static final class Hits {
+        static final Hits NONE = new Hits(0);
+
+        final int[] docs;
+        final float[] scores;
+        int size;
+
+        Hits(int capacity) {
+            docs = new int[capacity];
+            scores = new float[capacity];
+        }
+
+        void add(int doc, float score) {
+            docs[size] = doc;
+            scores[size] = score;
+            size++;
+        }
+    }
+}
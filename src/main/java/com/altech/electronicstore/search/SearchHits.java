@@ -0,0 +1,13 @@
+package com.altech.electronicstore.search;
+
+/**
+ * One page of search results, best first.
+ *
+ * @param totalHits  number of live documents matching the query
+ * @param productIds product ids of the requested page
+ * @param scores     BM25 score of each product in {@code productIds}
+ */
+public record SearchHits(int totalHits, long[] productIds, float[] scores) {
+
+    static final SearchHits EMPTY = new SearchHits(0, new long[0], new float[0]);
+}
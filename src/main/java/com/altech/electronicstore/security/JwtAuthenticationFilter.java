@@ -1,5 +1,8 @@
 package com.altech.electronicstore.security;
 
+import com.altech.electronicstore.monitoring.RequestProfile;
+import com.altech.electronicstore.monitoring.jfr.BusinessEvents;
+import com.altech.electronicstore.monitoring.jfr.JwtValidationEvent;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -30,13 +33,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String username = null;
         String jwt = null;
+        JwtValidationEvent event = null;
 
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
+            event = new JwtValidationEvent();
+            event.begin();
+            event.outcome = "invalid";
             jwt = authorizationHeader.substring(7);
+            long parseStart = System.nanoTime();
             try {
                 username = jwtUtil.extractUsername(jwt);
             } catch (Exception e) {
                 logger.error("JWT token extraction failed", e);
+                event.outcome = BusinessEvents.outcome(e);
+            } finally {
+                RequestProfile.recordJwt(System.nanoTime() - parseStart);
             }
         }
 
@@ -44,17 +55,29 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             try {
                 UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
 
-                if (jwtUtil.validateToken(jwt, userDetails)) {
+                long validateStart = System.nanoTime();
+                boolean valid = jwtUtil.validateToken(jwt, userDetails);
+                RequestProfile.recordJwt(System.nanoTime() - validateStart);
+
+                if (valid) {
+                    event.outcome = "valid";
                     UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken =
                             new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                     usernamePasswordAuthenticationToken
                             .setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
+                    RequestProfile.markAuthenticated();
                 }
             } catch (Exception e) {
                 logger.error("User details loading failed", e);
+                event.outcome = BusinessEvents.outcome(e);
             }
         }
+
+        if (event != null) {
+            event.username = username;
+            event.commit();
+        }
         chain.doFilter(request, response);
     }
 }
@@ -2,6 +2,8 @@ package com.altech.electronicstore.security;
 
 import com.altech.electronicstore.entity.Permission;
 import com.altech.electronicstore.entity.User;
+import com.altech.electronicstore.monitoring.RequestProfile;
+import com.altech.electronicstore.monitoring.jfr.PermissionCheckEvent;
 import com.altech.electronicstore.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
@@ -9,6 +11,8 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
 import java.util.Set;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
 
 @Component("permissionChecker")
 @RequiredArgsConstructor
@@ -17,48 +21,75 @@ public class PermissionChecker {
     private final UserRepository userRepository;
 
     public boolean hasPermission(String permissionName) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !authentication.isAuthenticated()) {
-            return false;
-        }
+        return timed(() -> permissionName, () -> {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication == null || !authentication.isAuthenticated()) {
+                return false;
+            }
 
-        String username = authentication.getName();
-        return userRepository.findByUsername(username)
-                .map(user -> user.hasPermission(permissionName))
-                .orElse(false);
+            String username = authentication.getName();
+            return userRepository.findByUsername(username)
+                    .map(user -> user.hasPermission(permissionName))
+                    .orElse(false);
+        });
     }
 
     public boolean hasPermission(String resource, String action) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !authentication.isAuthenticated()) {
-            return false;
-        }
+        return timed(() -> resource + ":" + action, () -> {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication == null || !authentication.isAuthenticated()) {
+                return false;
+            }
 
-        String username = authentication.getName();
-        return userRepository.findByUsername(username)
-                .map(user -> user.hasPermission(resource, action))
-                .orElse(false);
+            String username = authentication.getName();
+            return userRepository.findByUsername(username)
+                    .map(user -> user.hasPermission(resource, action))
+                    .orElse(false);
+        });
     }
 
     public boolean hasAnyPermission(String... permissionNames) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !authentication.isAuthenticated()) {
-            return false;
-        }
+        return timed(() -> String.join(",", permissionNames), () -> {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication == null || !authentication.isAuthenticated()) {
+                return false;
+            }
+
+            String username = authentication.getName();
+            User user = userRepository.findByUsername(username).orElse(null);
+            if (user == null) {
+                return false;
+            }
 
-        String username = authentication.getName();
-        User user = userRepository.findByUsername(username).orElse(null);
-        if (user == null) {
+            Set<Permission> userPermissions = user.getAllPermissions();
+            for (String permissionName : permissionNames) {
+                if (userPermissions.stream().anyMatch(p -> p.getName().equals(permissionName))) {
+                    return true;
+                }
+            }
             return false;
-        }
+        });
+    }
 
-        Set<Permission> userPermissions = user.getAllPermissions();
-        for (String permissionName : permissionNames) {
-            if (userPermissions.stream().anyMatch(p -> p.getName().equals(permissionName))) {
-                return true;
+    private boolean timed(Supplier<String> permission, BooleanSupplier check) {
+        PermissionCheckEvent event = new PermissionCheckEvent();
+        event.begin();
+        long start = System.nanoTime();
+        boolean granted = false;
+        try {
+            granted = check.getAsBoolean();
+            return granted;
+        } finally {
+            RequestProfile.recordPermissionCheck(System.nanoTime() - start);
+            event.end();
+            if (event.shouldCommit()) {
+                Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+                event.permission = permission.get();
+                event.username = authentication != null ? authentication.getName() : null;
+                event.outcome = granted ? "granted" : "denied";
+                event.commit();
             }
         }
-        return false;
     }
 
     public boolean canAccessResource(String resource) {
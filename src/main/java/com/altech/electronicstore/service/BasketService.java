@@ -1,17 +1,22 @@
 package com.altech.electronicstore.service;
 
+import com.altech.electronicstore.dto.basket.StockShortfallDto;
 import com.altech.electronicstore.dto.product.StockValidationResult;
 import com.altech.electronicstore.entity.*;
 import com.altech.electronicstore.exception.BasketNotFoundException;
+import com.altech.electronicstore.exception.BasketStockException;
 import com.altech.electronicstore.exception.InsufficientStockException;
 import com.altech.electronicstore.exception.ProductNotFoundException;
 import com.altech.electronicstore.exception.ProductOutOfStockException;
+import com.altech.electronicstore.monitoring.jfr.BasketMutationEvent;
+import com.altech.electronicstore.monitoring.jfr.BusinessEvents;
 import com.altech.electronicstore.repository.*;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
@@ -22,6 +27,7 @@ public class BasketService {
     private final ProductRepository productRepository;
     private final UserRepository userRepository;
     private final ProductService productService;
+    private final CheckoutObservations checkoutObservations;
 
     public Basket getBasketByUserId(Long userId) {
         Basket basket = basketRepository.findByUserIdAndStatusWithItems(userId, BasketStatus.ACTIVE)
@@ -44,6 +50,10 @@ public class BasketService {
 
     @Transactional
     public Basket addItemToBasket(Long userId, Long productId, Integer quantity) {
+        return recordMutation("add", userId, productId, quantity, () -> addItem(userId, productId, quantity));
+    }
+
+    private Basket addItem(Long userId, Long productId, Integer quantity) {
         Basket basket = basketRepository.findByUserIdAndStatus(userId, BasketStatus.ACTIVE)
                 .orElseGet(() -> createBasketForUser(userId));
 
@@ -94,6 +104,10 @@ public class BasketService {
 
     @Transactional
     public Basket removeItemFromBasket(Long userId, Long productId) {
+        return recordMutation("remove", userId, productId, null, () -> removeItem(userId, productId));
+    }
+
+    private Basket removeItem(Long userId, Long productId) {
         Basket basket = basketRepository.findByUserIdAndStatus(userId, BasketStatus.ACTIVE)
                 .orElseThrow(() -> new BasketNotFoundException(userId));
 
@@ -114,6 +128,10 @@ public class BasketService {
 
     @Transactional
     public Basket updateItemQuantity(Long userId, Long productId, Integer quantity) {
+        return recordMutation("update", userId, productId, quantity, () -> updateQuantity(userId, productId, quantity));
+    }
+
+    private Basket updateQuantity(Long userId, Long productId, Integer quantity) {
         Basket basket = basketRepository.findByUserIdAndStatus(userId, BasketStatus.ACTIVE)
                 .orElseThrow(() -> new BasketNotFoundException(userId));
 
@@ -149,6 +167,10 @@ public class BasketService {
 
     @Transactional
     public void clearBasket(Long userId) {
+        recordMutation("clear", userId, null, null, () -> clear(userId));
+    }
+
+    private Basket clear(Long userId) {
         Basket basket = basketRepository.findByUserIdAndStatus(userId, BasketStatus.ACTIVE)
                 .orElseThrow(() -> new BasketNotFoundException(userId));
 
@@ -157,7 +179,7 @@ public class BasketService {
         }
 
         if (basket.getBasketItems().isEmpty()) {
-            return; // Nothing to clear
+            return basket; // Nothing to clear
         }
 
         for (BasketItem item : basket.getBasketItems()) {
@@ -166,6 +188,30 @@ public class BasketService {
 
         basket.getBasketItems().clear();
         basketRepository.save(basket);
+        return basket;
+    }
+
+    /**
+     * Runs one basket mutation inside a {@link BasketMutationEvent}.
+     */
+    private Basket recordMutation(String operation, Long userId, Long productId, Integer quantity, Supplier<Basket> mutation) {
+        BasketMutationEvent event = new BasketMutationEvent();
+        event.begin();
+        try {
+            Basket basket = mutation.get();
+            event.itemCount = basket.getBasketItems().size();
+            event.outcome = "success";
+            return basket;
+        } catch (RuntimeException e) {
+            event.outcome = BusinessEvents.outcome(e);
+            throw e;
+        } finally {
+            event.operation = operation;
+            event.userId = userId != null ? userId : 0;
+            event.productId = productId != null ? productId : 0;
+            event.quantity = quantity != null ? quantity : 0;
+            event.commit();
+        }
     }
 
     @Transactional
@@ -187,22 +233,28 @@ public class BasketService {
 
     @Transactional
     public Basket checkoutBasket(Long userId) {
-        Basket basket = basketRepository.findByUserIdAndStatusWithItems(userId, BasketStatus.ACTIVE)
-                .orElseThrow(() -> new BasketNotFoundException(userId));
+        Basket basket = checkoutObservations.phase("basket.load", () ->
+                basketRepository.findByUserIdAndStatusWithItems(userId, BasketStatus.ACTIVE)
+                        .orElseThrow(() -> new BasketNotFoundException(userId)));
+        checkoutObservations.basketLoaded(basket.getBasketItems().size());
 
         if (basket.getStatus() != BasketStatus.ACTIVE) {
             throw new RuntimeException("Cannot checkout basket with status: " + basket.getStatus());
         }
 
         List<BasketItem> basketItems = basket.getBasketItems().stream().toList();
-        boolean hasInsufficientStock = basketItems.parallelStream()
-                .anyMatch(item -> !productService.hasStock(item.getProduct().getId(), item.getQuantity()));
-        
-        if (hasInsufficientStock) {
-            throw new RuntimeException("Some items in basket have insufficient stock");
+        List<StockShortfallDto> shortfalls = checkoutObservations.phase("stock.validate",
+                () -> productService.findStockShortfalls(basketItems));
+        if (!shortfalls.isEmpty()) {
+            throw new BasketStockException(shortfalls);
         }
 
-        productService.commitStockReduction(basketItems);
+        // Flushed inside the phase: the decrements only dirty managed products, so otherwise their
+        // UPDATEs would go out with the order insert and be timed as order.insert
+        checkoutObservations.runPhase("stock.commit", () -> {
+            productService.commitStockReduction(basketItems);
+            productRepository.flush();
+        });
 
         basket.setStatus(BasketStatus.CHECKED_OUT);
         basketRepository.save(basket);
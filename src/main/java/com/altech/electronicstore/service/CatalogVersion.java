@@ -0,0 +1,153 @@
+package com.altech.electronicstore.service;
+
+import com.altech.electronicstore.event.DealsChangedEvent;
+import com.altech.electronicstore.event.ProductsChangedEvent;
+import com.altech.electronicstore.event.ProductsImportedEvent;
+import com.altech.electronicstore.repository.DealRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Monotonic version of the public catalog, used to build HTTP validators. It moves after
+ * every committed product, deal or import change, and when a deal passes its expiration
+ * date, since the rendered deals and discounted prices change then too. It is seeded from
+ * the start time, so ETags issued before a restart never match afterwards.
+ *
+ * <p>Stock is part of the product representation, so every checkout moves the version as
+ * well. Listing ETags therefore rarely validate while orders are coming in; they mainly save
+ * bandwidth for idle periods and for single products, whose ETags also carry their own
+ * update time.
+ */
+@Component
+public class CatalogVersion {
+
+    /** Marks the next deal expiry as unknown, so the next read looks it up. */
+    private static final LocalDateTime UNKNOWN = LocalDateTime.MIN;
+
+    private final DealRepository dealRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final AtomicLong version;
+    private volatile Instant lastModified;
+    /** Not a monitor: the expiry check queries the database, which would pin a virtual thread's carrier. */
+    private final Lock expiryLock = new ReentrantLock();
+    /** Earliest expiration of a deal that has not expired yet; {@code null} if there is none. */
+    private volatile LocalDateTime nextDealExpiry = UNKNOWN;
+    /** Deals expiring before this time have already moved the version; guarded by {@code expiryLock}. */
+    private LocalDateTime expiredUntil;
+    private final AtomicLong dealChanges = new AtomicLong();
+
+    public CatalogVersion(DealRepository dealRepository, ApplicationEventPublisher eventPublisher) {
+        this.dealRepository = dealRepository;
+        this.eventPublisher = eventPublisher;
+        Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        this.version = new AtomicLong(now.toEpochMilli());
+        this.lastModified = now;
+        this.expiredUntil = LocalDateTime.now();
+    }
+
+    public long current() {
+        LocalDateTime expiry = nextDealExpiry;
+        if (expiry != null && LocalDateTime.now().isAfter(expiry)) {
+            expireDeals();
+        }
+        return version.get();
+    }
+
+    /** When the catalog last changed, truncated to the second precision of HTTP dates. */
+    public Instant lastModified() {
+        return lastModified;
+    }
+
+    /**
+     * {@code limit}, shortened to the time left until the next deal expires, so caches do not
+     * serve a discount past its expiry.
+     */
+    public Duration maxAge(Duration limit) {
+        LocalDateTime expiry = nextDealExpiry;
+        if (expiry == null) {
+            return limit;
+        }
+        Duration left = expiry == UNKNOWN ? Duration.ZERO : Duration.between(LocalDateTime.now(), expiry);
+        if (left.isNegative()) {
+            return Duration.ZERO;
+        }
+        return left.compareTo(limit) < 0 ? left : limit;
+    }
+
+    /** Strong ETag for a catalog-wide resource such as a listing. */
+    public String etag(String resource) {
+        return "\"" + resource + "-" + current() + "\"";
+    }
+
+    /** Strong ETag for a single product: its own update time plus the catalog version. */
+    public String productETag(Long productId, LocalDateTime updatedAt) {
+        long updated = updatedAt != null ? updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : 0;
+        return "\"product-" + productId + "-" + updated + "-" + current() + "\"";
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsChanged(ProductsChangedEvent event) {
+        advance();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsImported(ProductsImportedEvent event) {
+        advance();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDealsChanged(DealsChangedEvent event) {
+        // A new or changed deal may expire before the one we are waiting for
+        dealChanges.incrementAndGet();
+        nextDealExpiry = UNKNOWN;
+        advance();
+    }
+
+    void advance() {
+        version.incrementAndGet();
+        lastModified = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    /**
+     * Moves the version for deals that expired since the last check, tells the product caches
+     * about them through a {@link DealsChangedEvent}, and looks up the next expiry.
+     */
+    private void expireDeals() {
+        expiryLock.lock();
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime expiry = nextDealExpiry;
+            if (expiry == null || !now.isAfter(expiry)) {
+                return;
+            }
+            List<Long> productIds = dealRepository.findProductIdsWithDealsExpiringBetween(expiredUntil, now);
+            expiredUntil = now;
+            if (!productIds.isEmpty()) {
+                advance();
+                eventPublisher.publishEvent(new DealsChangedEvent(new HashSet<>(productIds)));
+            }
+
+            long changes = dealChanges.get();
+            LocalDateTime next = dealRepository.findNextExpiration(now);
+            // A deal change since the lookup leaves the expiry unknown instead
+            if (dealChanges.get() == changes) {
+                nextDealExpiry = next;
+            }
+        } finally {
+            expiryLock.unlock();
+        }
+    }
+}
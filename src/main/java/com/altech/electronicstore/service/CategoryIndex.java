@@ -0,0 +1,246 @@
+package com.altech.electronicstore.service;
+
+import com.altech.electronicstore.concurrent.SingleFlight;
+import com.altech.electronicstore.dto.product.ProductFacetRow;
+import com.altech.electronicstore.dto.product.ProductFacetsDto;
+import com.altech.electronicstore.event.ProductsChangedEvent;
+import com.altech.electronicstore.event.ProductsImportedEvent;
+import com.altech.electronicstore.repository.ProductRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index of available products by category and price range. It serves the
+ * category list and facet counts without aggregate queries.
+ *
+ * <p>The index is built from one projection query on first use. After that, each
+ * committed product change re-reads only the changed rows and moves their
+ * contribution between counters, which costs O(1) per product. Stock-only changes are
+ * ignored, since stock is not a facet. Rows are read before taking the write lock; each
+ * read takes a ticket first and a row is only applied if no later ticket has been applied
+ * for that product, so an older row can never overwrite a newer one. A bulk import
+ * bumps the import generation, and the index is rebuilt on the next read. Readers that
+ * arrive while a rebuild is running wait for it instead of starting their own. Changes
+ * that commit while a rebuild reads the catalog are replayed once it has swapped in.
+ */
+@Component
+@Slf4j
+public class CategoryIndex {
+
+    private final ProductRepository productRepository;
+    private final BigDecimal[] priceBounds;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final SingleFlight<Boolean, Boolean> rebuilds;
+    private final Map<Long, Entry> entries = new HashMap<>();
+    /** Per category: slot 0 is the total, slot {@code i + 1} is price bucket {@code i}. */
+    private final Map<String, long[]> countsByCategory = new TreeMap<>();
+    private final long[] totalCounts;
+    /** Bumped by every bulk import; the index is current while it equals {@code builtGeneration}. */
+    private final AtomicLong importGeneration = new AtomicLong();
+    /** Import generation the last rebuild started from; -1 until the first build. */
+    private volatile long builtGeneration = -1;
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+    /** Taken before every read of product rows, so later tickets have seen newer rows. */
+    private final AtomicLong readTickets = new AtomicLong();
+    /** Ticket of the last row applied per product; guarded by the write lock. */
+    private final Map<Long, Long> appliedTickets = new HashMap<>();
+    /** Ticket of the read the current index was built from; guarded by the write lock. */
+    private long builtTicket;
+
+    public CategoryIndex(ProductRepository productRepository,
+                         MeterRegistry meterRegistry,
+                         @Value("${catalog.facets.price-bounds:100,250,500,1000,2000}") BigDecimal[] priceBounds) {
+        this.productRepository = productRepository;
+        this.priceBounds = priceBounds.clone();
+        Arrays.sort(this.priceBounds);
+        this.totalCounts = new long[this.priceBounds.length + 2];
+        this.rebuilds = new SingleFlight<>("category-index", meterRegistry);
+    }
+
+    /**
+     * Categories with at least one available product, in alphabetical order.
+     */
+    public List<String> getCategories() {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(countsByCategory.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Product counts per category, plus price-range counts for {@code category}, or
+     * for every category when it is {@code null}.
+     */
+    public ProductFacetsDto getFacets(String category) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            List<ProductFacetsDto.CategoryFacet> categories = new ArrayList<>(countsByCategory.size());
+            countsByCategory.forEach((name, counts) -> categories.add(new ProductFacetsDto.CategoryFacet(name, counts[0])));
+
+            long[] counts = category == null
+                    ? totalCounts
+                    : countsByCategory.getOrDefault(category, new long[totalCounts.length]);
+            List<ProductFacetsDto.PriceRangeFacet> priceRanges = new ArrayList<>(priceBounds.length + 1);
+            for (int bucket = 0; bucket <= priceBounds.length; bucket++) {
+                BigDecimal min = bucket == 0 ? BigDecimal.ZERO : priceBounds[bucket - 1];
+                BigDecimal max = bucket < priceBounds.length ? priceBounds[bucket] : null;
+                priceRanges.add(new ProductFacetsDto.PriceRangeFacet(min, max, counts[bucket + 1]));
+            }
+            return new ProductFacetsDto(categories, priceRanges);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsChanged(ProductsChangedEvent event) {
+        if (event.stockOnly()) {
+            return;
+        }
+        if (rebuilding) {
+            changedDuringRebuild.addAll(event.productIds());
+        }
+        if (builtGeneration >= 0) {
+            apply(event.productIds());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsImported(ProductsImportedEvent event) {
+        importGeneration.incrementAndGet();
+    }
+
+    private boolean isCurrent() {
+        return builtGeneration == importGeneration.get();
+    }
+
+    private void ensureLoaded() {
+        if (isCurrent()) {
+            return;
+        }
+        rebuilds.load(Boolean.TRUE, key -> {
+            // A reader can get here just after the previous rebuild finished
+            if (!isCurrent()) {
+                rebuild();
+            }
+            return Boolean.TRUE;
+        });
+    }
+
+    private void rebuild() {
+        // An import committing after this point leaves the index stale for the next read
+        long generation = importGeneration.get();
+        rebuilding = true;
+        try {
+            long ticket = readTickets.incrementAndGet();
+            List<ProductFacetRow> rows = productRepository.findAllFacetRows();
+            lock.writeLock().lock();
+            try {
+                builtTicket = ticket;
+                appliedTickets.clear();
+                entries.clear();
+                countsByCategory.clear();
+                Arrays.fill(totalCounts, 0);
+                rows.forEach(this::add);
+                builtGeneration = generation;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            rebuilding = false;
+        }
+        log.info("Category index built from {} products in {} categories", entries.size(), countsByCategory.size());
+
+        if (!changedDuringRebuild.isEmpty()) {
+            Set<Long> pending = new HashSet<>(changedDuringRebuild);
+            changedDuringRebuild.removeAll(pending);
+            apply(pending);
+        }
+    }
+
+    private void apply(Set<Long> productIds) {
+        // Read outside the lock so facet readers do not wait on the database
+        long ticket = readTickets.incrementAndGet();
+        Map<Long, ProductFacetRow> rows = new HashMap<>();
+        productRepository.findFacetRowsByIds(productIds).forEach(row -> rows.put(row.getId(), row));
+
+        lock.writeLock().lock();
+        try {
+            for (Long productId : productIds) {
+                if (ticket < builtTicket || ticket < appliedTickets.getOrDefault(productId, 0L)) {
+                    // A later read of this product has already been applied
+                    continue;
+                }
+                appliedTickets.put(productId, ticket);
+                remove(entries.remove(productId));
+                ProductFacetRow row = rows.get(productId);
+                if (row != null) {
+                    add(row);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void add(ProductFacetRow row) {
+        if (!Boolean.TRUE.equals(row.getAvailability()) || row.getCategory() == null || row.getPrice() == null) {
+            return;
+        }
+        Entry entry = new Entry(row.getCategory(), bucketOf(row.getPrice()));
+        entries.put(row.getId(), entry);
+        long[] counts = countsByCategory.computeIfAbsent(entry.category(), category -> new long[totalCounts.length]);
+        counts[0]++;
+        counts[entry.bucket() + 1]++;
+        totalCounts[0]++;
+        totalCounts[entry.bucket() + 1]++;
+    }
+
+    private void remove(Entry entry) {
+        if (entry == null) {
+            return;
+        }
+        long[] counts = countsByCategory.get(entry.category());
+        counts[0]--;
+        counts[entry.bucket() + 1]--;
+        if (counts[0] == 0) {
+            countsByCategory.remove(entry.category());
+        }
+        totalCounts[0]--;
+        totalCounts[entry.bucket() + 1]--;
+    }
+
+    private int bucketOf(BigDecimal price) {
+        int bucket = 0;
+        while (bucket < priceBounds.length && price.compareTo(priceBounds[bucket]) >= 0) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    private record Entry(String category, int bucket) {
+    }
+}
@@ -0,0 +1,164 @@
+package com.altech.electronicstore.service;
+
+import com.altech.electronicstore.exception.BasketNotFoundException;
+import com.altech.electronicstore.exception.BasketStockException;
+import com.altech.electronicstore.exception.InsufficientStockException;
+import io.micrometer.common.KeyValue;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.ObservationView;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Supplier;
+
+/**
+ * Micrometer observations for checkout. {@code checkout} covers a whole checkout and
+ * {@code checkout.phase} each step of it (tag {@code phase}); both are tagged with the
+ * basket-size bucket ({@code basket.size}) and {@code outcome}. The default meter
+ * handler turns each into a timer of the same name, whose percentiles and histogram are
+ * configured under {@code management.metrics.distribution}.
+ *
+ * <p>Phases find the enclosing checkout through the current observation, so they only
+ * carry a basket size once {@link #basketLoaded} has been called inside {@link #checkout}.
+ * Inside a transaction the {@code checkout} observation is stopped when the transaction
+ * completes, so it includes the commit and a failed commit is recorded as {@code error}.
+ */
+@Component
+@RequiredArgsConstructor
+public class CheckoutObservations {
+
+    static final String CHECKOUT = "checkout";
+    static final String PHASE = "checkout.phase";
+
+    static final String BASKET_SIZE = "basket.size";
+    static final String OUTCOME = "outcome";
+    static final String UNKNOWN = "unknown";
+
+    private final ObservationRegistry observationRegistry;
+
+    public <T> T checkout(Supplier<T> action) {
+        Observation observation = Observation.createNotStarted(CHECKOUT, CheckoutContext::new, observationRegistry)
+                .lowCardinalityKeyValue(BASKET_SIZE, UNKNOWN);
+        observation.start();
+        T result;
+        try (Observation.Scope scope = observation.openScope()) {
+            result = action.get();
+        } catch (RuntimeException e) {
+            observation.lowCardinalityKeyValue(OUTCOME, outcome(e));
+            observation.error(e);
+            observation.stop();
+            throw e;
+        }
+        if (!stopAfterCompletion(observation)) {
+            observation.lowCardinalityKeyValue(OUTCOME, "success");
+            observation.stop();
+        }
+        return result;
+    }
+
+    public <T> T phase(String phase, Supplier<T> action) {
+        CheckoutContext checkout = currentCheckout();
+        Observation observation = Observation.createNotStarted(PHASE, observationRegistry)
+                .lowCardinalityKeyValue("phase", phase)
+                .lowCardinalityKeyValue(BASKET_SIZE, checkout != null ? checkout.basketSize : UNKNOWN);
+        return observe(observation, action);
+    }
+
+    public void runPhase(String phase, Runnable action) {
+        phase(phase, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Records the number of basket lines on the enclosing checkout and on every phase
+     * started after this call.
+     */
+    public void basketLoaded(int itemCount) {
+        CheckoutContext checkout = currentCheckout();
+        if (checkout != null) {
+            checkout.basketSize = sizeBucket(itemCount);
+            checkout.addLowCardinalityKeyValue(KeyValue.of(BASKET_SIZE, checkout.basketSize));
+        }
+    }
+
+    static String sizeBucket(int itemCount) {
+        if (itemCount <= 1) {
+            return String.valueOf(Math.max(itemCount, 0));
+        }
+        if (itemCount <= 5) {
+            return "2-5";
+        }
+        if (itemCount <= 10) {
+            return "6-10";
+        }
+        if (itemCount <= 25) {
+            return "11-25";
+        }
+        return "26+";
+    }
+
+    static String outcome(RuntimeException e) {
+        if (e instanceof BasketStockException || e instanceof InsufficientStockException) {
+            return "insufficient_stock";
+        }
+        if (e instanceof BasketNotFoundException) {
+            return "basket_not_found";
+        }
+        return "error";
+    }
+
+    private <T> T observe(Observation observation, Supplier<T> action) {
+        observation.start();
+        try (Observation.Scope scope = observation.openScope()) {
+            T result = action.get();
+            observation.lowCardinalityKeyValue(OUTCOME, "success");
+            return result;
+        } catch (RuntimeException e) {
+            observation.lowCardinalityKeyValue(OUTCOME, outcome(e));
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+
+    /**
+     * Stops {@code observation} once the current transaction completes, with the outcome
+     * decided by whether it committed.
+     *
+     * @return false when no transaction synchronization is active, so nothing was registered
+     */
+    private boolean stopAfterCompletion(Observation observation) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return false;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                observation.lowCardinalityKeyValue(OUTCOME, status == STATUS_COMMITTED ? "success" : "error");
+                observation.stop();
+            }
+        });
+        return true;
+    }
+
+    private CheckoutContext currentCheckout() {
+        ObservationView current = observationRegistry.getCurrentObservation();
+        while (current != null) {
+            if (current.getContextView() instanceof CheckoutContext checkout) {
+                return checkout;
+            }
+            current = current.getContextView().getParentObservation();
+        }
+        return null;
+    }
+
+    static final class CheckoutContext extends Observation.Context {
+        private String basketSize = UNKNOWN;
+    }
+}
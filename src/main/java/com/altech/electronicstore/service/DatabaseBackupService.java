@@ -0,0 +1,134 @@
+package com.altech.electronicstore.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Online backups of the file-backed H2 database ({@code persistent} profile). H2's
+ * {@code BACKUP TO} copies a consistent snapshot of the store into a zip while requests keep
+ * reading and writing. Backups are named by creation time, one runs at a time, and only the
+ * newest {@code store.backup.keep} are kept.
+ */
+@Service
+@ConditionalOnProperty(name = "store.backup.enabled", havingValue = "true")
+@Slf4j
+public class DatabaseBackupService {
+
+    private static final String PREFIX = "electronic-store-";
+    private static final String SUFFIX = ".zip";
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Path directory;
+    private final int keep;
+    private final ReentrantLock backupLock = new ReentrantLock();
+
+    public DatabaseBackupService(JdbcTemplate jdbcTemplate,
+                                 @Value("${store.backup.directory}") Path directory,
+                                 @Value("${store.backup.keep:7}") int keep) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.directory = directory.toAbsolutePath();
+        this.keep = Math.max(1, keep);
+    }
+
+    /**
+     * Writes a new backup and prunes the oldest ones. A call made while another backup is
+     * running waits for it and then takes its own.
+     */
+    public BackupResult backup() {
+        backupLock.lock();
+        try {
+            Files.createDirectories(directory);
+            Path target = nextTarget();
+            long start = System.nanoTime();
+            jdbcTemplate.execute("BACKUP TO '" + target.toString().replace("'", "''") + "'");
+            long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            List<String> deleted = prune();
+            log.info("Database backup written to {} ({} bytes) in {}ms", target, Files.size(target), durationMs);
+            return new BackupResult(describe(target), durationMs, deleted);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write database backup to " + directory, e);
+        } finally {
+            backupLock.unlock();
+        }
+    }
+
+    /** Backups currently kept, newest first. */
+    public List<Backup> list() {
+        try {
+            return backups().stream().map(this::describe).toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot list database backups in " + directory, e);
+        }
+    }
+
+    public Path directory() {
+        return directory;
+    }
+
+    /** File named after the current time, moved past any backup taken in the same millisecond. */
+    private Path nextTarget() {
+        LocalDateTime time = LocalDateTime.now();
+        Path target;
+        while (Files.exists(target = directory.resolve(PREFIX + TIMESTAMP.format(time) + SUFFIX))) {
+            time = time.plusNanos(1_000_000);
+        }
+        return target;
+    }
+
+    private List<String> prune() throws IOException {
+        List<Path> backups = backups();
+        List<Path> expired = backups.subList(Math.min(keep, backups.size()), backups.size());
+        for (Path backup : expired) {
+            Files.deleteIfExists(backup);
+        }
+        return expired.stream().map(path -> path.getFileName().toString()).toList();
+    }
+
+    /** Backup files, newest first; the timestamp in the name sorts chronologically. */
+    private List<Path> backups() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+                    })
+                    .sorted(Comparator.comparing((Path path) -> path.getFileName().toString()).reversed())
+                    .toList();
+        }
+    }
+
+    private Backup describe(Path path) {
+        try {
+            return new Backup(path.getFileName().toString(), Files.size(path), Files.getLastModifiedTime(path).toInstant());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read database backup " + path, e);
+        }
+    }
+
+    public record Backup(String file, long sizeBytes, Instant modifiedAt) {
+    }
+
+    public record BackupResult(Backup backup, long durationMs, List<String> deleted) {
+    }
+}
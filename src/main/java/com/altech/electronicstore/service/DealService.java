@@ -4,16 +4,20 @@ import com.altech.electronicstore.dto.deal.DealDto;
 import com.altech.electronicstore.entity.Deal;
 import com.altech.electronicstore.entity.DealType;
 import com.altech.electronicstore.entity.Product;
+import com.altech.electronicstore.event.DealsChangedEvent;
 import com.altech.electronicstore.exception.DuplicateDealException;
 import com.altech.electronicstore.exception.ProductNotFoundException;
 import com.altech.electronicstore.repository.DealRepository;
 import com.altech.electronicstore.repository.DealTypeRepository;
 import com.altech.electronicstore.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -26,6 +30,7 @@ public class DealService {
     private final DealRepository dealRepository;
     private final DealTypeRepository dealTypeRepository;
     private final ProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public List<Deal> getActiveDealsForProduct(Long productId) {
         return dealRepository.findActiveDealsForProduct(productId, LocalDateTime.now());
@@ -72,7 +77,9 @@ public class DealService {
         deal.setMinimumQuantity(dealDto.getMinimumQuantity());
         deal.setExpirationDate(dealDto.getExpirationDate());
 
-        return dealRepository.save(deal);
+        Deal saved = dealRepository.save(deal);
+        publishDealsChanged(product.getId());
+        return saved;
     }
 
     @Transactional
@@ -80,6 +87,7 @@ public class DealService {
         Deal deal = dealRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Deal not found with id: " + id));
 
+        Long previousProductId = deal.getProduct().getId();
         Product newProduct = deal.getProduct();
         DealType newDealType = deal.getDealType();
 
@@ -125,7 +133,9 @@ public class DealService {
             deal.setExpirationDate(dealDto.getExpirationDate());
         }
 
-        return dealRepository.save(deal);
+        Deal saved = dealRepository.save(deal);
+        publishDealsChanged(previousProductId, newProduct.getId());
+        return saved;
     }
 
     @Transactional
@@ -133,5 +143,10 @@ public class DealService {
         Deal deal = dealRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Deal not found with id: " + id));
         dealRepository.delete(deal);
+        publishDealsChanged(deal.getProduct().getId());
+    }
+
+    private void publishDealsChanged(Long... productIds) {
+        eventPublisher.publishEvent(new DealsChangedEvent(new HashSet<>(Arrays.asList(productIds))));
     }
 }
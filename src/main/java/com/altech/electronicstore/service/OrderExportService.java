@@ -0,0 +1,190 @@
+package com.altech.electronicstore.service;
+
+import com.altech.electronicstore.entity.Order;
+import com.altech.electronicstore.entity.OrderItem;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams orders and their items over a date range without materializing the result set.
+ * Rows are read through a forward-only cursor and the persistence context is cleared
+ * every {@code export.orders.clear-interval} rows, so memory stays flat for any export size.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderExportService {
+
+    private static final String EXPORT_QUERY =
+            "SELECT oi FROM OrderItem oi JOIN FETCH oi.order o JOIN FETCH oi.product " +
+            "WHERE o.orderDate >= :from AND o.orderDate < :to ORDER BY o.id, oi.id";
+
+    private static final String CSV_HEADER =
+            "order_id,user_id,order_date,total_amount,total_discount,final_amount," +
+            "product_id,product_name,quantity,unit_price,total_price,discount_applied";
+
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @Value("${export.orders.fetch-size:500}")
+    private int fetchSize;
+
+    @Value("${export.orders.clear-interval:1000}")
+    private int clearInterval;
+
+    /**
+     * Writes one JSON object per order (with its items nested) per line.
+     *
+     * @return number of order items written
+     */
+    @Transactional(readOnly = true)
+    public long exportNdjson(LocalDateTime from, LocalDateTime to, OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(new SerializedString("\n"));
+
+        long rows = forEachOrderItem(from, to, generator, (item, firstOfOrder) -> {
+            if (firstOfOrder) {
+                endOrderIfOpen(generator);
+                writeOrderHeader(generator, item.getOrder());
+            }
+            writeOrderItem(generator, item);
+        });
+
+        endOrderIfOpen(generator);
+        if (rows > 0) {
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+        return rows;
+    }
+
+    /**
+     * Writes one CSV row per order item, repeating the order columns on every row.
+     *
+     * @return number of order items written
+     */
+    @Transactional(readOnly = true)
+    public long exportCsv(LocalDateTime from, LocalDateTime to, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+
+        long rows = forEachOrderItem(from, to, writer, (item, firstOfOrder) -> {
+            Order order = item.getOrder();
+            writer.write(String.join(",",
+                    csv(order.getId()),
+                    csv(order.getUser().getId()),
+                    csv(order.getOrderDate()),
+                    csv(order.getTotalAmount()),
+                    csv(order.getTotalDiscount()),
+                    csv(order.getFinalAmount()),
+                    csv(item.getProduct().getId()),
+                    csv(item.getProduct().getName()),
+                    csv(item.getQuantity()),
+                    csv(item.getUnitPrice()),
+                    csv(item.getTotalPrice()),
+                    csv(item.getDiscountApplied())));
+            writer.write('\n');
+        });
+
+        writer.flush();
+        return rows;
+    }
+
+    private long forEachOrderItem(LocalDateTime from, LocalDateTime to, Flushable sink, OrderItemWriter writer)
+            throws IOException {
+        long rows = 0;
+        Long currentOrderId = null;
+
+        try (Stream<OrderItem> items = entityManager.createQuery(EXPORT_QUERY, OrderItem.class)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()) {
+
+            Iterator<OrderItem> iterator = items.iterator();
+            while (iterator.hasNext()) {
+                OrderItem item = iterator.next();
+                Long orderId = item.getOrder().getId();
+                writer.write(item, !orderId.equals(currentOrderId));
+                currentOrderId = orderId;
+
+                if (++rows % clearInterval == 0) {
+                    entityManager.clear();
+                    sink.flush();
+                }
+            }
+        }
+
+        log.info("Exported {} order items placed between {} and {}", rows, from, to);
+        return rows;
+    }
+
+    private void writeOrderHeader(JsonGenerator generator, Order order) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", order.getId());
+        generator.writeNumberField("userId", order.getUser().getId());
+        generator.writeStringField("orderDate", order.getOrderDate() != null ? order.getOrderDate().toString() : null);
+        generator.writeNumberField("totalAmount", order.getTotalAmount());
+        generator.writeNumberField("totalDiscount", order.getTotalDiscount());
+        generator.writeNumberField("finalAmount", order.getFinalAmount());
+        generator.writeStringField("note", order.getNote());
+        generator.writeArrayFieldStart("items");
+    }
+
+    private void writeOrderItem(JsonGenerator generator, OrderItem item) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("productId", item.getProduct().getId());
+        generator.writeStringField("productName", item.getProduct().getName());
+        generator.writeNumberField("quantity", item.getQuantity());
+        generator.writeNumberField("unitPrice", item.getUnitPrice());
+        generator.writeNumberField("totalPrice", item.getTotalPrice());
+        generator.writeNumberField("discountApplied", item.getDiscountApplied());
+        generator.writeEndObject();
+    }
+
+    private void endOrderIfOpen(JsonGenerator generator) throws IOException {
+        if (!generator.getOutputContext().inRoot()) {
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+    }
+
+    private static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+
+    @FunctionalInterface
+    private interface OrderItemWriter {
+        void write(OrderItem item, boolean firstOfOrder) throws IOException;
+    }
+}
@@ -1,11 +1,15 @@
 package com.altech.electronicstore.service;
 
 import com.altech.electronicstore.entity.*;
+import com.altech.electronicstore.event.OrderPlacedEvent;
+import com.altech.electronicstore.monitoring.jfr.BusinessEvents;
+import com.altech.electronicstore.monitoring.jfr.CheckoutEvent;
 import com.altech.electronicstore.repository.*;
 import com.altech.electronicstore.util.discount.DiscountEngine;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -26,27 +30,34 @@ public class OrderService {
     private final BasketService basketService;
     private final UserRepository userRepository;
     private final DiscountEngine discountEngine;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CheckoutObservations checkoutObservations;
 
     @Transactional
     public Order checkout(Long userId) {
-        long startTime = System.currentTimeMillis();
         log.info("Starting checkout for user {}", userId);
+        CheckoutEvent event = new CheckoutEvent();
+        event.begin();
         
         try {
-            Basket basket = basketService.checkoutBasket(userId);
-            Order result = createOrderFromBasket(basket, userId);
-            
-            long duration = System.currentTimeMillis() - startTime;
-            log.info("Checkout completed for user {} in {}ms", userId, duration);
-            
+            Order result = checkoutObservations.checkout(() -> {
+                Basket basket = basketService.checkoutBasket(userId);
+                event.itemCount = basket.getBasketItems().size();
+                return createOrderFromBasket(basket, userId, event);
+            });
+            event.outcome = "success";
             return result;
         } catch (Exception e) {
+            event.outcome = BusinessEvents.outcome(e);
             log.error("Checkout failed for user {}: {}", userId, e.getMessage(), e);
             throw e;
+        } finally {
+            event.userId = userId != null ? userId : 0;
+            event.commit();
         }
     }
 
-    private Order createOrderFromBasket(Basket basket, Long userId) {
+    private Order createOrderFromBasket(Basket basket, Long userId, CheckoutEvent event) {
         if (basket.getBasketItems().isEmpty()) {
             throw new RuntimeException("Cannot create order from empty basket");
         }
@@ -62,13 +73,13 @@ public class OrderService {
         List<String> appliedDeals = new ArrayList<>();
         List<OrderItem> orderItems = new ArrayList<>();
 
-        Map<Long, List<Deal>> productDealsMap = discountEngine.getDealsForProducts(
-            basket.getBasketItems().stream().collect(Collectors.toList())
+        List<BasketItem> basketItems = basket.getBasketItems().stream().collect(Collectors.toList());
+        Map<Long, List<Deal>> productDealsMap = checkoutObservations.phase("deals.load",
+            () -> discountEngine.getDealsForProducts(basketItems)
         );
 
-        Map<Long, BigDecimal> discounts = discountEngine.calculateDiscountsForBasketItems(
-            basket.getBasketItems().stream().collect(Collectors.toList()),
-            productDealsMap
+        Map<Long, BigDecimal> discounts = checkoutObservations.phase("discount.calculate",
+            () -> discountEngine.calculateDiscountsForBasketItems(basketItems, productDealsMap)
         );
 
 
@@ -105,6 +116,7 @@ public class OrderService {
         }
 
         order.getOrderItems().addAll(orderItems);
+        event.dealCount = appliedDeals.size();
 
         order.setTotalAmount(totalAmount);
         order.setTotalDiscount(totalDiscount);
@@ -118,9 +130,12 @@ public class OrderService {
             order.setNote("No deals applied");
         }
 
-        order = orderRepository.save(order);
+        // Flush here so the insert of the order and its items is timed as part of this phase
+        // rather than hidden in the commit; the stock updates were flushed in stock.commit
+        Order savedOrder = checkoutObservations.phase("order.insert", () -> orderRepository.saveAndFlush(order));
+        eventPublisher.publishEvent(OrderPlacedEvent.from(savedOrder));
 
-        return order;
+        return savedOrder;
     }
 
     public Page<Order> getOrdersByUserId(Long userId, Pageable pageable) {
@@ -0,0 +1,371 @@
+package com.altech.electronicstore.service;
+
+import com.altech.electronicstore.dto.product.ProductFacetRow;
+import com.altech.electronicstore.event.ProductsChangedEvent;
+import com.altech.electronicstore.event.ProductsImportedEvent;
+import com.altech.electronicstore.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory index of available products sorted by price: one segment per category
+ * plus one for the whole catalog. A segment is two parallel primitive arrays (price
+ * in cents, product id) ordered by price and then id. A price range therefore maps
+ * to a contiguous slice, found with two binary searches, and a page is read straight
+ * from that slice.
+ *
+ * <p>Segments are immutable, so readers never take a lock. Writers locate each changed
+ * product by binary search and publish replacement arrays built from bulk copies of the
+ * unchanged runs in between. Stock-only changes, and changes that leave a product's price,
+ * category and availability as indexed, do not touch the segments at all. Changed rows are
+ * read before taking the write lock; each read takes a ticket first and a row is only
+ * applied if no later ticket has been applied for that product, so an older row never
+ * overwrites a newer one. A bulk import bumps the import generation, and the index is
+ * rebuilt on the next read; changes that commit while a rebuild reads the catalog are
+ * replayed after it.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PriceIndex {
+
+    private final ProductRepository productRepository;
+
+    /** Not a monitor: the initial load queries the database, which would pin a virtual thread's carrier. */
+    private final Lock writeLock = new ReentrantLock();
+    /** Category and price of every indexed product; guarded by {@code writeLock}. */
+    private final Map<Long, Indexed> indexedByProduct = new HashMap<>();
+    private volatile Map<String, Segment> segmentsByCategory = Map.of();
+    private volatile Segment all = Segment.EMPTY;
+    /** Bumped by every bulk import; the index is current while it equals {@code builtGeneration}. */
+    private final AtomicLong importGeneration = new AtomicLong();
+    /** Import generation the last rebuild started from; -1 until the first build. */
+    private volatile long builtGeneration = -1;
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+    /** Taken before every read of product rows, so later tickets have seen newer rows. */
+    private final AtomicLong readTickets = new AtomicLong();
+    /** Ticket of the last row applied per product; guarded by {@code writeLock}. */
+    private final Map<Long, Long> appliedTickets = new HashMap<>();
+    /** Ticket of the read the current segments were built from; guarded by {@code writeLock}. */
+    private long builtTicket;
+
+    /**
+     * Returns one page of available product ids whose price lies in
+     * {@code [minPrice, maxPrice]} (either bound may be {@code null}), in price order.
+     */
+    public PricePage findPage(String category, BigDecimal minPrice, BigDecimal maxPrice,
+                              boolean descending, long offset, int limit) {
+        ensureLoaded();
+        Segment segment = category == null ? all : segmentsByCategory.getOrDefault(category, Segment.EMPTY);
+
+        long minCents = minPrice == null ? Long.MIN_VALUE : minPrice.movePointRight(2).setScale(0, RoundingMode.CEILING).longValue();
+        long maxCents = maxPrice == null ? Long.MAX_VALUE : maxPrice.movePointRight(2).setScale(0, RoundingMode.FLOOR).longValue();
+        int from = segment.lowerBound(minCents);
+        int to = segment.upperBound(maxCents);
+        int total = Math.max(0, to - from);
+
+        List<Long> productIds = new ArrayList<>(Math.min(limit, total));
+        for (long rank = offset; rank < total && productIds.size() < limit; rank++) {
+            int position = descending ? to - 1 - (int) rank : from + (int) rank;
+            productIds.add(segment.productIds[position]);
+        }
+        return new PricePage(total, productIds);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsChanged(ProductsChangedEvent event) {
+        if (event.stockOnly()) {
+            return;
+        }
+        if (rebuilding) {
+            changedDuringRebuild.addAll(event.productIds());
+        }
+        if (builtGeneration >= 0) {
+            apply(event.productIds());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsImported(ProductsImportedEvent event) {
+        importGeneration.incrementAndGet();
+    }
+
+    private void apply(Set<Long> productIds) {
+        // Read outside the lock so the committing thread does not hold it across a query
+        long ticket = readTickets.incrementAndGet();
+        Map<Long, ProductFacetRow> rows = new HashMap<>();
+        productRepository.findFacetRowsByIds(productIds).forEach(row -> rows.put(row.getId(), row));
+
+        writeLock.lock();
+        try {
+            Map<String, Delta> deltas = new HashMap<>();
+            Delta allDelta = new Delta();
+            for (Long productId : productIds) {
+                if (ticket < builtTicket || ticket < appliedTickets.getOrDefault(productId, 0L)) {
+                    // A later read of this product has already been applied
+                    continue;
+                }
+                appliedTickets.put(productId, ticket);
+
+                ProductFacetRow row = rows.get(productId);
+                Indexed current = row != null && indexable(row) ? new Indexed(row.getCategory(), cents(row.getPrice())) : null;
+                Indexed previous = current != null ? indexedByProduct.put(productId, current) : indexedByProduct.remove(productId);
+                if (Objects.equals(previous, current)) {
+                    continue;
+                }
+                if (previous != null) {
+                    Entry entry = new Entry(previous.priceCents(), productId);
+                    deltas.computeIfAbsent(previous.category(), category -> new Delta()).removals.add(entry);
+                    allDelta.removals.add(entry);
+                }
+                if (current != null) {
+                    Entry entry = new Entry(current.priceCents(), productId);
+                    deltas.computeIfAbsent(current.category(), category -> new Delta()).additions.add(entry);
+                    allDelta.additions.add(entry);
+                }
+            }
+            if (deltas.isEmpty()) {
+                return;
+            }
+
+            Map<String, Segment> segments = new HashMap<>(segmentsByCategory);
+            deltas.forEach((category, delta) -> {
+                Segment updated = segments.getOrDefault(category, Segment.EMPTY).apply(delta);
+                if (updated.size() == 0) {
+                    segments.remove(category);
+                } else {
+                    segments.put(category, updated);
+                }
+            });
+            segmentsByCategory = Map.copyOf(segments);
+            all = all.apply(allDelta);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private boolean isCurrent() {
+        return builtGeneration == importGeneration.get();
+    }
+
+    private void ensureLoaded() {
+        if (isCurrent()) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            if (isCurrent()) {
+                return;
+            }
+            rebuild();
+        } finally {
+            writeLock.unlock();
+        }
+
+        if (!changedDuringRebuild.isEmpty()) {
+            Set<Long> pending = new HashSet<>(changedDuringRebuild);
+            changedDuringRebuild.removeAll(pending);
+            apply(pending);
+        }
+    }
+
+    /** Called with {@code writeLock} held. */
+    private void rebuild() {
+        // An import committing after this point leaves the index stale for the next read
+        long generation = importGeneration.get();
+        rebuilding = true;
+        try {
+            long ticket = readTickets.incrementAndGet();
+            Map<String, List<Entry>> byCategory = new HashMap<>();
+            List<Entry> entries = new ArrayList<>();
+            indexedByProduct.clear();
+            appliedTickets.clear();
+            for (ProductFacetRow row : productRepository.findAllFacetRows()) {
+                if (indexable(row)) {
+                    Entry entry = new Entry(cents(row.getPrice()), row.getId());
+                    byCategory.computeIfAbsent(row.getCategory(), category -> new ArrayList<>()).add(entry);
+                    entries.add(entry);
+                    indexedByProduct.put(row.getId(), new Indexed(row.getCategory(), entry.priceCents()));
+                }
+            }
+
+            Map<String, Segment> segments = new HashMap<>();
+            byCategory.forEach((category, categoryEntries) -> segments.put(category, Segment.of(categoryEntries)));
+            segmentsByCategory = Map.copyOf(segments);
+            all = Segment.of(entries);
+            builtTicket = ticket;
+            builtGeneration = generation;
+            log.info("Price index built from {} products in {} categories", entries.size(), segments.size());
+        } finally {
+            rebuilding = false;
+        }
+    }
+
+    private static boolean indexable(ProductFacetRow row) {
+        return Boolean.TRUE.equals(row.getAvailability()) && row.getCategory() != null && row.getPrice() != null;
+    }
+
+    private static long cents(BigDecimal price) {
+        return price.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue();
+    }
+
+    public record PricePage(long total, List<Long> productIds) {
+    }
+
+    private record Indexed(String category, long priceCents) {
+    }
+
+    private record Entry(long priceCents, long productId) {
+
+        static final Comparator<Entry> ORDER = Comparator.comparingLong(Entry::priceCents).thenComparingLong(Entry::productId);
+    }
+
+    /** Entries to take out of and put into one segment. */
+    private static final class Delta {
+        final List<Entry> removals = new ArrayList<>();
+        final List<Entry> additions = new ArrayList<>();
+    }
+
+    private static final class Segment {
+
+        static final Segment EMPTY = new Segment(new long[0], new long[0]);
+
+        static Segment of(List<Entry> entries) {
+            List<Entry> sorted = new ArrayList<>(entries);
+            sorted.sort(Entry.ORDER);
+            long[] prices = new long[sorted.size()];
+            long[] productIds = new long[sorted.size()];
+            for (int i = 0; i < prices.length; i++) {
+                prices[i] = sorted.get(i).priceCents();
+                productIds[i] = sorted.get(i).productId();
+            }
+            return new Segment(prices, productIds);
+        }
+
+        final long[] prices;
+        final long[] productIds;
+
+        Segment(long[] prices, long[] productIds) {
+            this.prices = prices;
+            this.productIds = productIds;
+        }
+
+        int size() {
+            return prices.length;
+        }
+
+        /** First position whose price is {@code >= cents}. */
+        int lowerBound(long cents) {
+            int low = 0;
+            int high = prices.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (prices[mid] < cents) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /** First position whose price is {@code > cents}. */
+        int upperBound(long cents) {
+            int low = 0;
+            int high = prices.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (prices[mid] <= cents) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /** First position whose (price, id) is not before {@code entry}. */
+        int positionOf(Entry entry) {
+            int low = 0;
+            int high = prices.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (prices[mid] < entry.priceCents() || (prices[mid] == entry.priceCents() && productIds[mid] < entry.productId())) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Returns a new segment with {@code delta} applied. Removals and insertion points are
+         * found by binary search, and the unchanged runs between them are block-copied, so
+         * the cost is O(k log n) comparisons plus one array copy.
+         */
+        Segment apply(Delta delta) {
+            int[] removedAt = new int[delta.removals.size()];
+            int removedCount = 0;
+            for (Entry entry : delta.removals) {
+                int position = positionOf(entry);
+                if (position < prices.length && prices[position] == entry.priceCents() && productIds[position] == entry.productId()) {
+                    removedAt[removedCount++] = position;
+                }
+            }
+            Arrays.sort(removedAt, 0, removedCount);
+
+            List<Entry> additions = new ArrayList<>(delta.additions);
+            additions.sort(Entry.ORDER);
+            int[] insertAt = new int[additions.size()];
+            for (int i = 0; i < insertAt.length; i++) {
+                insertAt[i] = positionOf(additions.get(i));
+            }
+
+            long[] newPrices = new long[prices.length - removedCount + additions.size()];
+            long[] newProductIds = new long[newPrices.length];
+            int size = 0;
+            int copied = 0;
+            int removal = 0;
+            int addition = 0;
+            while (removal < removedCount || addition < insertAt.length) {
+                int nextRemoval = removal < removedCount ? removedAt[removal] : Integer.MAX_VALUE;
+                int nextInsert = addition < insertAt.length ? insertAt[addition] : Integer.MAX_VALUE;
+                int until = Math.min(nextRemoval, nextInsert);
+                System.arraycopy(prices, copied, newPrices, size, until - copied);
+                System.arraycopy(productIds, copied, newProductIds, size, until - copied);
+                size += until - copied;
+                copied = until;
+                if (nextInsert <= nextRemoval) {
+                    newPrices[size] = additions.get(addition).priceCents();
+                    newProductIds[size++] = additions.get(addition++).productId();
+                } else {
+                    copied++;
+                    removal++;
+                }
+            }
+            System.arraycopy(prices, copied, newPrices, size, prices.length - copied);
+            System.arraycopy(productIds, copied, newProductIds, size, prices.length - copied);
+            return new Segment(newPrices, newProductIds);
+        }
+    }
+}
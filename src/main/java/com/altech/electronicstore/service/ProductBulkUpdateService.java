@@ -0,0 +1,101 @@
+package com.altech.electronicstore.service;
+
+import com.altech.electronicstore.dto.product.ProductBulkUpdateResultDto;
+import com.altech.electronicstore.dto.product.ProductDeltaDto;
+import com.altech.electronicstore.event.ProductsChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Applies partial price/stock/availability updates from catalog sync. Each chunk is one
+ * JDBC batch of conditional {@code UPDATE}s in its own transaction; rows whose values
+ * already match are filtered out by the {@code WHERE} clause, so they are neither
+ * rewritten nor reported as changed.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductBulkUpdateService {
+
+    private static final String UPDATE_SQL =
+            "UPDATE product SET price = COALESCE(?, price), stock = COALESCE(?, stock), " +
+            "availability = COALESCE(?, availability), updated_at = ? " +
+            "WHERE id = ? AND (price <> COALESCE(?, price) OR stock <> COALESCE(?, stock) " +
+            "OR availability <> COALESCE(?, availability))";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${catalog.sync.chunk-size:1000}")
+    private int chunkSize;
+
+    public ProductBulkUpdateResultDto applyDeltas(List<ProductDeltaDto> deltas) {
+        long startTime = System.nanoTime();
+        int size = Math.max(1, chunkSize);
+        int changed = 0;
+
+        for (int from = 0; from < deltas.size(); from += size) {
+            List<ProductDeltaDto> chunk = deltas.subList(from, Math.min(from + size, deltas.size()));
+            Integer chunkChanged = transactionTemplate.execute(status -> applyChunk(chunk));
+            changed += chunkChanged != null ? chunkChanged : 0;
+        }
+
+        long durationMs = (System.nanoTime() - startTime) / 1_000_000;
+        log.info("Catalog sync applied {} deltas: {} changed, {} skipped in {}ms",
+                deltas.size(), changed, deltas.size() - changed, durationMs);
+        return new ProductBulkUpdateResultDto(deltas.size(), changed, deltas.size() - changed, durationMs);
+    }
+
+    private int applyChunk(List<ProductDeltaDto> chunk) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batchArgs = new ArrayList<>(chunk.size());
+        for (ProductDeltaDto delta : chunk) {
+            SqlParameterValue price = new SqlParameterValue(Types.DECIMAL, delta.getPrice());
+            SqlParameterValue stock = new SqlParameterValue(Types.INTEGER, delta.getStock());
+            SqlParameterValue availability = new SqlParameterValue(Types.BOOLEAN, delta.getAvailability());
+            batchArgs.add(new Object[] {price, stock, availability, now, delta.getId(), price, stock, availability});
+        }
+
+        int[] counts = jdbcTemplate.batchUpdate(UPDATE_SQL, batchArgs);
+
+        int changed = 0;
+        Set<Long> changedIds = new HashSet<>();
+        Set<Long> stockChangedIds = new HashSet<>();
+        for (int i = 0; i < counts.length; i++) {
+            // Drivers that cannot report per-statement counts are treated as "changed" so caches still get invalidated
+            if (counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO) {
+                changed++;
+                ProductDeltaDto delta = chunk.get(i);
+                if (delta.getPrice() == null && delta.getAvailability() == null) {
+                    stockChangedIds.add(delta.getId());
+                } else {
+                    changedIds.add(delta.getId());
+                }
+            }
+        }
+
+        if (!changedIds.isEmpty()) {
+            eventPublisher.publishEvent(new ProductsChangedEvent(changedIds));
+        }
+        if (!stockChangedIds.isEmpty()) {
+            eventPublisher.publishEvent(ProductsChangedEvent.ofStock(stockChangedIds));
+        }
+        return changed;
+    }
+}
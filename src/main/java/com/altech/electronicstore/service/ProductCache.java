@@ -0,0 +1,108 @@
+package com.altech.electronicstore.service;
+
+import com.altech.electronicstore.concurrent.SingleFlight;
+import com.altech.electronicstore.dto.product.ProductSnapshot;
+import com.altech.electronicstore.event.ProductsChangedEvent;
+import com.altech.electronicstore.repository.ProductRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded read-through cache of {@link ProductSnapshot}s in front of
+ * {@link ProductRepository#findById}. Entries are evicted by size and by age, and are
+ * invalidated once a transaction that changed the product commits. Missing products
+ * are not cached.
+ *
+ * <p>Concurrent misses for the same product share one repository read through
+ * {@link SingleFlight}, so a burst of requests for a product that just fell out of the
+ * cache costs one query rather than one per request. The read runs outside the cache's
+ * own locks, and its result is only stored if no invalidation happened while it ran; the
+ * check and the store are one atomic map operation. A miss inside a read-write transaction
+ * reads the row directly and neither caches nor shares it, since that transaction's
+ * persistence context may hold changes that are later rolled back.
+ *
+ * <p>Hit, miss and eviction counts are published as the {@code cache.*} meters tagged
+ * {@code cache=products}.
+ */
+@Component
+@Slf4j
+public class ProductCache {
+
+    static final String CACHE_NAME = "products";
+
+    private final ProductRepository productRepository;
+    private final Cache<Long, ProductSnapshot> cache;
+    private final SingleFlight<Long, ProductSnapshot> loads;
+    /** Bumped on every invalidation; a load that straddles one must not store its result. */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public ProductCache(ProductRepository productRepository,
+                        MeterRegistry meterRegistry,
+                        @Value("${cache.products.maximum-size:10000}") long maximumSize,
+                        @Value("${cache.products.expire-after-write-seconds:300}") long expireAfterWriteSeconds) {
+        this.productRepository = productRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(expireAfterWriteSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        this.loads = new SingleFlight<>(CACHE_NAME, meterRegistry);
+    }
+
+    public Optional<ProductSnapshot> get(Long productId) {
+        ProductSnapshot cached = cache.getIfPresent(productId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return productRepository.findById(productId).map(ProductSnapshot::from);
+        }
+        return Optional.ofNullable(loads.load(productId, this::load));
+    }
+
+    public void invalidate(Long productId) {
+        invalidations.incrementAndGet();
+        cache.invalidate(productId);
+    }
+
+    /**
+     * Runs after the publishing transaction commits, so a concurrent reader cannot
+     * re-populate the entry with the pre-commit row. Events published outside a
+     * transaction are handled immediately.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsChanged(ProductsChangedEvent event) {
+        invalidations.incrementAndGet();
+        cache.invalidateAll(event.productIds());
+        log.debug("Invalidated {} cached products", event.productIds().size());
+    }
+
+    private ProductSnapshot load(Long productId) {
+        long generation = invalidations.get();
+        ProductSnapshot snapshot = productRepository.findById(productId)
+                .map(ProductSnapshot::from)
+                .orElse(null);
+        if (snapshot != null) {
+            // Checked under the entry's lock, so an invalidation cannot slip in before the store
+            cache.asMap().compute(productId, (id, current) -> invalidations.get() == generation ? snapshot : current);
+        }
+        return snapshot;
+    }
+
+    long estimatedSize() {
+        return cache.estimatedSize();
+    }
+}
@@ -0,0 +1,54 @@
+package com.altech.electronicstore.service;
+
+import com.altech.electronicstore.dto.product.ProductListingRow;
+import com.altech.electronicstore.exception.InvalidCursorException;
+import com.altech.electronicstore.repository.ProductSortKey;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Continuation token for keyset pagination: the sort it was issued for plus the sort
+ * value and id of the last row returned. Encoded as URL-safe Base64 so clients treat
+ * it as opaque.
+ */
+record ProductCursor(ProductSortKey sortKey, boolean descending, String lastValue, long lastId) {
+
+    private static final String VERSION = "v1";
+
+    static ProductCursor after(ProductListingRow row, ProductSortKey sortKey, boolean descending) {
+        return new ProductCursor(sortKey, descending, sortKey.valueOf(row), row.getId());
+    }
+
+    String encode() {
+        String raw = String.join("|", VERSION, sortKey.getProperty(), descending ? "desc" : "asc",
+                Long.toString(lastId), lastValue);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token and checks it was issued for the requested sort, since a cursor
+     * taken from one ordering is meaningless in another.
+     */
+    static ProductCursor decode(String token, ProductSortKey sortKey, boolean descending) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|", 5);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Malformed cursor");
+        }
+        if (parts.length != 5 || !VERSION.equals(parts[0])) {
+            throw new InvalidCursorException("Malformed cursor");
+        }
+        if (!sortKey.getProperty().equals(parts[1]) || descending != "desc".equals(parts[2])) {
+            throw new InvalidCursorException("Cursor was issued for a different sort order");
+        }
+        try {
+            ProductCursor cursor = new ProductCursor(sortKey, descending, parts[4], Long.parseLong(parts[3]));
+            sortKey.parse(cursor.lastValue());
+            return cursor;
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException("Malformed cursor");
+        }
+    }
+}
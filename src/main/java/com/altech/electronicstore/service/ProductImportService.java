@@ -0,0 +1,285 @@
+package com.altech.electronicstore.service;
+
+import com.altech.electronicstore.dto.product.ProductDto;
+import com.altech.electronicstore.dto.product.ProductImportResultDto;
+import com.altech.electronicstore.event.ProductsImportedEvent;
+import com.altech.electronicstore.exception.InvalidImportFileException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk catalog import. Rows are parsed one line at a time, validated against the
+ * {@link ProductDto} constraints and written with JDBC batch inserts, bypassing the
+ * persistence context entirely (Hibernate cannot batch {@code IDENTITY} inserts).
+ * Bad rows are reported and skipped; they never abort the import.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductImportService {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO product (name, description, price, stock, category, availability, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final List<String> REQUIRED_CSV_COLUMNS = List.of("name", "price", "stock", "category");
+    private static final int MAX_BATCH_SIZE = 10_000;
+    private static final int MAX_REPORTED_ERRORS = 1_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${import.products.batch-size:500}")
+    private int defaultBatchSize;
+
+    /**
+     * Imports a CSV file whose first line is a header. Recognized columns are
+     * {@code name, description, price, stock, category, availability}, in any order.
+     */
+    public ProductImportResultDto importCsv(InputStream in, Integer batchSize) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String header = reader.readLine();
+        if (header == null) {
+            throw new InvalidImportFileException("CSV file is empty");
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = parseCsvLine(header);
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        List<String> missing = REQUIRED_CSV_COLUMNS.stream()
+                .filter(column -> !columns.containsKey(column))
+                .toList();
+        if (!missing.isEmpty()) {
+            throw new InvalidImportFileException("CSV header is missing required columns: " + String.join(", ", missing));
+        }
+
+        return importRows(reader, 1, line -> fromCsv(parseCsvLine(line), columns), batchSize);
+    }
+
+    /**
+     * Imports newline-delimited JSON, one {@link ProductDto} object per line.
+     */
+    public ProductImportResultDto importNdjson(InputStream in, Integer batchSize) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        return importRows(reader, 0, line -> objectMapper.readValue(line, ProductDto.class), batchSize);
+    }
+
+    private ProductImportResultDto importRows(BufferedReader reader, long linesRead, RowParser parser, Integer batchSize)
+            throws IOException {
+        int size = resolveBatchSize(batchSize);
+        long startTime = System.nanoTime();
+        ProductImportResultDto result = new ProductImportResultDto();
+        List<Long> batchRows = new ArrayList<>(size);
+        List<Object[]> batchArgs = new ArrayList<>(size);
+
+        long rowNumber = linesRead;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            rowNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            result.setTotalRows(result.getTotalRows() + 1);
+
+            ProductDto dto;
+            try {
+                dto = parser.parse(line);
+            } catch (JsonProcessingException | IllegalArgumentException e) {
+                recordError(result, rowNumber, "Unreadable row: " + e.getMessage());
+                continue;
+            }
+
+            String violations = validate(dto);
+            if (violations != null) {
+                recordError(result, rowNumber, violations);
+                continue;
+            }
+
+            batchRows.add(rowNumber);
+            batchArgs.add(toInsertArgs(dto));
+            if (batchArgs.size() >= size) {
+                writeBatch(result, batchRows, batchArgs);
+            }
+        }
+        writeBatch(result, batchRows, batchArgs);
+        if (result.getImported() > 0) {
+            eventPublisher.publishEvent(new ProductsImportedEvent(result.getImported()));
+        }
+
+        long elapsedNanos = System.nanoTime() - startTime;
+        result.setDurationMs(elapsedNanos / 1_000_000);
+        result.setRowsPerSecond(elapsedNanos > 0 ? result.getImported() * 1_000_000_000d / elapsedNanos : 0);
+        log.info("Product import finished: {} rows, {} imported, {} failed in {}ms ({} rows/s)",
+                result.getTotalRows(), result.getImported(), result.getFailed(), result.getDurationMs(),
+                Math.round(result.getRowsPerSecond()));
+        return result;
+    }
+
+    /**
+     * Inserts one batch in its own transaction. If the batch is rejected by the database,
+     * its rows are retried one by one so only the offending rows are reported.
+     */
+    private void writeBatch(ProductImportResultDto result, List<Long> batchRows, List<Object[]> batchArgs) {
+        if (batchArgs.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, batchArgs));
+            result.setImported(result.getImported() + batchArgs.size());
+        } catch (DataAccessException batchFailure) {
+            log.warn("Product import batch of {} rows failed, retrying row by row: {}", batchArgs.size(), batchFailure.getMessage());
+            for (int i = 0; i < batchArgs.size(); i++) {
+                Object[] args = batchArgs.get(i);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(INSERT_SQL, args));
+                    result.setImported(result.getImported() + 1);
+                } catch (DataAccessException rowFailure) {
+                    recordError(result, batchRows.get(i), "Rejected by database: " + rowFailure.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+        batchRows.clear();
+        batchArgs.clear();
+    }
+
+    private int resolveBatchSize(Integer batchSize) {
+        int size = batchSize != null ? batchSize : defaultBatchSize;
+        return Math.max(1, Math.min(size, MAX_BATCH_SIZE));
+    }
+
+    private String validate(ProductDto dto) {
+        if (dto == null) {
+            // A JSON null line parses to no product at all
+            return "Row is not a product object";
+        }
+        Set<ConstraintViolation<ProductDto>> violations = validator.validate(dto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private void recordError(ProductImportResultDto result, long row, String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+            result.getErrors().add(new ProductImportResultDto.RowError(row, message));
+        } else {
+            result.setErrorsTruncated(true);
+        }
+    }
+
+    private Object[] toInsertArgs(ProductDto dto) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return new Object[] {
+                dto.getName(),
+                dto.getDescription(),
+                dto.getPrice(),
+                dto.getStock(),
+                dto.getCategory(),
+                dto.getAvailability() != null ? dto.getAvailability() : Boolean.TRUE,
+                now,
+                now
+        };
+    }
+
+    private ProductDto fromCsv(List<String> values, Map<String, Integer> columns) {
+        ProductDto dto = new ProductDto();
+        dto.setName(column(values, columns, "name"));
+        dto.setDescription(column(values, columns, "description"));
+        String price = column(values, columns, "price");
+        dto.setPrice(price != null ? new BigDecimal(price) : null);
+        String stock = column(values, columns, "stock");
+        dto.setStock(stock != null ? Integer.valueOf(stock) : null);
+        dto.setCategory(column(values, columns, "category"));
+        String availability = column(values, columns, "availability");
+        if (availability != null) {
+            dto.setAvailability(Boolean.parseBoolean(availability));
+        }
+        return dto;
+    }
+
+    private static String column(List<String> values, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        String value = values.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Splits one CSV line, honouring double-quoted fields and {@code ""} escapes.
+     * Quoted fields may not span lines.
+     */
+    static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("unterminated quoted field");
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    @FunctionalInterface
+    private interface RowParser {
+        ProductDto parse(String line) throws JsonProcessingException;
+    }
+}
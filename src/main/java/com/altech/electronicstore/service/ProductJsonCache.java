@@ -0,0 +1,176 @@
+package com.altech.electronicstore.service;
+
+import com.altech.electronicstore.concurrent.SingleFlight;
+import com.altech.electronicstore.dto.deal.DealResponseDto;
+import com.altech.electronicstore.dto.product.ProductResponseDto;
+import com.altech.electronicstore.event.DealsChangedEvent;
+import com.altech.electronicstore.event.ProductsChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache of {@link ProductResponseDto}s already serialized to UTF-8 JSON with the
+ * application {@link ObjectMapper}, keyed by product id. Each entry remembers the
+ * product's {@code updatedAt} it was rendered from and is only served for that version.
+ * Entries are dropped after a product or deal change commits, and they expire no later
+ * than the first deal in them expires, because the {@code expired} flag is rendered in.
+ * Deal changes do not bump {@code updatedAt}, so a render only stores its fragment if no
+ * invalidation happened since the caller took its {@link #generation()}, i.e. before the
+ * product was read.
+ *
+ * <p>Fragments are held as {@link SerializedString}s with their bytes precomputed, so
+ * Jackson copies them into a list page with
+ * {@link com.fasterxml.jackson.databind.util.RawValue} instead of re-encoding them.
+ */
+@Component
+public class ProductJsonCache {
+
+    static final String CACHE_NAME = "product-json";
+
+    private final ObjectMapper objectMapper;
+    private final Cache<Long, Fragment> cache;
+    private final long maxAgeNanos;
+    private final SingleFlight<Version, byte[]> renders;
+    /** Bumped on every invalidation; a render that straddles one must not store its result. */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public ProductJsonCache(ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            @Value("${cache.product-json.maximum-size:10000}") long maximumSize,
+                            @Value("${cache.product-json.expire-after-write-seconds:300}") long expireAfterWriteSeconds) {
+        this.objectMapper = objectMapper;
+        this.maxAgeNanos = Duration.ofSeconds(expireAfterWriteSeconds).toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new FragmentExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        this.renders = new SingleFlight<>(CACHE_NAME, meterRegistry);
+    }
+
+    /** Invalidation generation; take it before reading the products passed to {@link #fragment}. */
+    public long generation() {
+        return invalidations.get();
+    }
+
+    /**
+     * Returns the JSON of {@code product}, reusing the cached fragment if it was rendered
+     * from the same version and serializing it otherwise. The new fragment is cached only
+     * if nothing was invalidated since {@code generation}.
+     */
+    public SerializedString fragment(ProductResponseDto product, long generation) {
+        Fragment cached = cache.getIfPresent(product.getId());
+        if (cached != null && Objects.equals(cached.updatedAt(), product.getUpdatedAt())) {
+            return cached.json();
+        }
+        Fragment fresh = render(product);
+        store(product.getId(), fresh, generation);
+        return fresh.json();
+    }
+
+    /**
+     * Returns the JSON bytes of one product at version {@code updatedAt}, calling
+     * {@code loader} only when no matching fragment is cached. Concurrent misses for the
+     * same version share one {@code loader} call. The returned array is shared and must
+     * not be modified.
+     */
+    public byte[] bytes(Long productId, LocalDateTime updatedAt, Supplier<ProductResponseDto> loader) {
+        Fragment cached = cache.getIfPresent(productId);
+        if (cached != null && Objects.equals(cached.updatedAt(), updatedAt)) {
+            return cached.json().asUnquotedUTF8();
+        }
+        return renders.load(new Version(productId, updatedAt), version -> {
+            long generation = invalidations.get();
+            return fragment(loader.get(), generation).asUnquotedUTF8();
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsChanged(ProductsChangedEvent event) {
+        invalidations.incrementAndGet();
+        cache.invalidateAll(event.productIds());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDealsChanged(DealsChangedEvent event) {
+        invalidations.incrementAndGet();
+        cache.invalidateAll(event.productIds());
+    }
+
+    long estimatedSize() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    private void store(Long productId, Fragment fragment, long generation) {
+        // Checked under the entry's lock, so an invalidation cannot slip in before the store
+        cache.asMap().compute(productId, (id, current) -> invalidations.get() == generation ? fragment : current);
+    }
+
+    private Fragment render(ProductResponseDto product) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(product);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize product " + product.getId(), e);
+        }
+        SerializedString serialized = new SerializedString(json);
+        // Encode once here so every later write is a plain byte copy
+        serialized.asUnquotedUTF8();
+        return new Fragment(product.getUpdatedAt(), serialized, timeToLiveNanos(product));
+    }
+
+    /** Time until the first rendered deal flips to expired, capped by the configured maximum age. */
+    private long timeToLiveNanos(ProductResponseDto product) {
+        long ttl = maxAgeNanos;
+        if (product.getDeals() != null) {
+            LocalDateTime now = LocalDateTime.now();
+            for (DealResponseDto deal : product.getDeals()) {
+                if (!deal.isExpired() && deal.getExpirationDate() != null) {
+                    ttl = Math.min(ttl, Math.max(0, Duration.between(now, deal.getExpirationDate()).toNanos()));
+                }
+            }
+        }
+        return ttl;
+    }
+
+    private record Version(Long productId, LocalDateTime updatedAt) {
+    }
+
+    record Fragment(LocalDateTime updatedAt, SerializedString json, long timeToLiveNanos) {
+    }
+
+    private static final class FragmentExpiry implements Expiry<Long, Fragment> {
+
+        @Override
+        public long expireAfterCreate(Long key, Fragment value, long currentTime) {
+            return value.timeToLiveNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(Long key, Fragment value, long currentTime, long currentDuration) {
+            return value.timeToLiveNanos();
+        }
+
+        @Override
+        public long expireAfterRead(Long key, Fragment value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.altech.electronicstore.service;
+
+import com.altech.electronicstore.dto.deal.DealResponseDto;
+import com.altech.electronicstore.dto.product.ProductCursorPageDto;
+import com.altech.electronicstore.dto.product.ProductListingRow;
+import com.altech.electronicstore.dto.product.ProductResponseDto;
+import com.altech.electronicstore.mapper.DealMapper;
+import com.altech.electronicstore.mapper.ProductMapper;
+import com.altech.electronicstore.repository.DealRepository;
+import com.altech.electronicstore.repository.ProductRepository;
+import com.altech.electronicstore.repository.ProductSortKey;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Read path for the public product listing. Products are read as column projections
+ * and the deals of the whole page are fetched with one query keyed by product id, so a
+ * page costs a fixed number of statements (rows, count, deals) whatever its size,
+ * instead of lazy-loading deals, deal types and products per row.
+ *
+ * <p>Each filter combination has its own repository query, so the predicates stay
+ * sargable against the listing indexes. Pages sorted by price alone are answered
+ * from {@link PriceIndex} when it is enabled.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProductListingService {
+
+    /** Upper bound of {@code DECIMAL(10,2)}, used when only a minimum price is given. */
+    private static final BigDecimal MAX_PRICE = new BigDecimal("99999999.99");
+    private static final int MAX_SLICE_SIZE = 100;
+
+    private final ProductRepository productRepository;
+    private final DealRepository dealRepository;
+    private final ProductMapper productMapper;
+    private final DealMapper dealMapper;
+    private final PriceIndex priceIndex;
+
+    @Value("${catalog.price-index.enabled:true}")
+    private boolean priceIndexEnabled;
+
+    @Transactional(readOnly = true)
+    public Page<ProductResponseDto> getProductListing(String category, BigDecimal minPrice, BigDecimal maxPrice,
+                                                      Boolean availability, Pageable pageable) {
+        if (Boolean.FALSE.equals(availability)) {
+            // The public listing only ever shows available products
+            return Page.empty(pageable);
+        }
+
+        Sort.Order priceOrder = pageable.getSort().getOrderFor("price");
+        if (priceIndexEnabled && priceOrder != null && pageable.getSort().toList().size() == 1) {
+            PriceIndex.PricePage page = priceIndex.findPage(category, minPrice, maxPrice,
+                    priceOrder.isDescending(), pageable.getOffset(), pageable.getPageSize());
+            return new PageImpl<>(getProductsByIds(page.productIds()), pageable, page.total());
+        }
+
+        Page<ProductListingRow> rows = findRows(category, minPrice, maxPrice, pageable);
+        if (rows.isEmpty()) {
+            return rows.map(row -> productMapper.toProductResponseDto(row, List.of()));
+        }
+
+        Map<Long, List<DealResponseDto>> dealsByProduct = dealsFor(rows.getContent());
+        return rows.map(row -> productMapper.toProductResponseDto(row, dealsByProduct.getOrDefault(row.getId(), List.of())));
+    }
+
+    /**
+     * Keyset-paginated variant of the listing for deep paging. Each slice reads one row
+     * past the requested size to learn whether another slice exists, so there is no count
+     * query, and the cursor seeks past the last row instead of skipping an offset.
+     */
+    @Transactional(readOnly = true)
+    public ProductCursorPageDto getProductSlice(String category, ProductSortKey sortKey, boolean descending,
+                                                String cursor, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_SLICE_SIZE));
+        ProductCursor after = cursor != null ? ProductCursor.decode(cursor, sortKey, descending) : null;
+
+        List<ProductListingRow> rows = productRepository.findAvailableRowsAfter(category, sortKey, descending,
+                after != null ? sortKey.parse(after.lastValue()) : null,
+                after != null ? after.lastId() : null,
+                limit + 1);
+        boolean hasNext = rows.size() > limit;
+        List<ProductListingRow> content = hasNext ? rows.subList(0, limit) : rows;
+        String nextCursor = hasNext ? ProductCursor.after(content.get(limit - 1), sortKey, descending).encode() : null;
+
+        Map<Long, List<DealResponseDto>> dealsByProduct = dealsFor(content);
+        List<ProductResponseDto> products = content.stream()
+                .map(row -> productMapper.toProductResponseDto(row, dealsByProduct.getOrDefault(row.getId(), List.of())))
+                .toList();
+        return new ProductCursorPageDto(products, products.size(), hasNext, nextCursor);
+    }
+
+    /**
+     * Same three-statement assembly for an explicit list of ids, returned in the order
+     * given. Ids that no longer exist are skipped.
+     */
+    @Transactional(readOnly = true)
+    public List<ProductResponseDto> getProductsByIds(List<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return List.of();
+        }
+        List<ProductListingRow> rows = productRepository.findListingRowsByIds(productIds);
+        Map<Long, List<DealResponseDto>> dealsByProduct = dealsFor(rows);
+        Map<Long, ProductListingRow> rowsById = rows.stream()
+                .collect(Collectors.toMap(ProductListingRow::getId, Function.identity()));
+
+        return productIds.stream()
+                .map(rowsById::get)
+                .filter(row -> row != null)
+                .map(row -> productMapper.toProductResponseDto(row, dealsByProduct.getOrDefault(row.getId(), List.of())))
+                .toList();
+    }
+
+    private Page<ProductListingRow> findRows(String category, BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable) {
+        boolean priceFiltered = minPrice != null || maxPrice != null;
+        BigDecimal min = minPrice != null ? minPrice : BigDecimal.ZERO;
+        BigDecimal max = maxPrice != null ? maxPrice : MAX_PRICE;
+
+        if (category != null && priceFiltered) {
+            return productRepository.findAvailableRowsByCategoryAndPriceRange(category, min, max, pageable);
+        }
+        if (category != null) {
+            return productRepository.findAvailableRowsByCategory(category, pageable);
+        }
+        if (priceFiltered) {
+            return productRepository.findAvailableRowsByPriceRange(min, max, pageable);
+        }
+        return productRepository.findAvailableRows(pageable);
+    }
+
+    private Map<Long, List<DealResponseDto>> dealsFor(Collection<ProductListingRow> rows) {
+        List<Long> productIds = rows.stream()
+                .map(ProductListingRow::getId)
+                .toList();
+        if (productIds.isEmpty()) {
+            return Map.of();
+        }
+        return dealRepository.findDealRowsForProducts(productIds).stream()
+                .map(dealMapper::toDealResponseDto)
+                .collect(Collectors.groupingBy(DealResponseDto::getProductId));
+    }
+}
@@ -0,0 +1,165 @@
+package com.altech.electronicstore.service;
+
+import com.altech.electronicstore.dto.product.ProductResponseDto;
+import com.altech.electronicstore.dto.product.ProductSearchResultDto;
+import com.altech.electronicstore.dto.product.ProductSearchRow;
+import com.altech.electronicstore.event.ProductsChangedEvent;
+import com.altech.electronicstore.event.ProductsImportedEvent;
+import com.altech.electronicstore.repository.ProductRepository;
+import com.altech.electronicstore.search.ProductSearchIndex;
+import com.altech.electronicstore.search.SearchHits;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Full-text product search backed by {@link ProductSearchIndex}. The index covers
+ * available products only. It is rebuilt at startup and after bulk imports, and is
+ * updated row by row for every committed {@link ProductsChangedEvent} except stock-only
+ * ones, since stock is neither indexed text nor affects availability.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductSearchService {
+
+    static final int MAX_PAGE_SIZE = 100;
+
+    private final ProductRepository productRepository;
+    private final ProductListingService productListingService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    /** Held while streaming the product table, so a lock rather than a monitor that would pin a virtual thread. */
+    private final Lock rebuildLock = new ReentrantLock();
+    /** Products changed while a rebuild was reading the table; re-applied after the swap. */
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+    private volatile ProductSearchIndex index;
+
+    public ProductSearchResultDto search(String query, int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int pageNumber = Math.max(0, page);
+        if (index == null) {
+            rebuild();
+        }
+
+        SearchHits hits;
+        lock.readLock().lock();
+        try {
+            hits = index.search(query, pageNumber * pageSize, pageSize);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Long> productIds = new ArrayList<>(hits.productIds().length);
+        Map<Long, Float> scores = new HashMap<>();
+        for (int i = 0; i < hits.productIds().length; i++) {
+            productIds.add(hits.productIds()[i]);
+            scores.put(hits.productIds()[i], hits.scores()[i]);
+        }
+        List<ProductSearchResultDto.Hit> results = new ArrayList<>(productIds.size());
+        for (ProductResponseDto product : productListingService.getProductsByIds(productIds)) {
+            results.add(new ProductSearchResultDto.Hit(scores.get(product.getId()), product));
+        }
+        return new ProductSearchResultDto(query, hits.totalHits(), pageNumber, pageSize, results);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsImported(ProductsImportedEvent event) {
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsChanged(ProductsChangedEvent event) {
+        if (event.stockOnly()) {
+            return;
+        }
+        if (rebuilding) {
+            changedDuringRebuild.addAll(event.productIds());
+        }
+        if (index != null) {
+            apply(event.productIds());
+        }
+    }
+
+    /**
+     * Builds a fresh index from the product table off-lock and swaps it in.
+     */
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            rebuilding = true;
+            try {
+                long startTime = System.nanoTime();
+                ProductSearchIndex fresh = new ProductSearchIndex();
+                transactionTemplate.executeWithoutResult(status -> {
+                    try (Stream<ProductSearchRow> rows = productRepository.streamSearchRows()) {
+                        rows.forEach(row -> fresh.add(row.getId(), row.getName(), row.getDescription(), row.getCategory()));
+                    }
+                });
+
+                lock.writeLock().lock();
+                try {
+                    index = fresh;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                log.info("Search index built: {} products, {} terms in {}ms",
+                        fresh.size(), fresh.termCount(), (System.nanoTime() - startTime) / 1_000_000);
+            } finally {
+                rebuilding = false;
+            }
+
+            if (!changedDuringRebuild.isEmpty()) {
+                Set<Long> pending = new HashSet<>(changedDuringRebuild);
+                changedDuringRebuild.removeAll(pending);
+                apply(pending);
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void apply(Set<Long> productIds) {
+        List<ProductSearchRow> rows = productRepository.findSearchRowsByIds(productIds);
+        lock.writeLock().lock();
+        try {
+            for (Long productId : productIds) {
+                index.remove(productId);
+            }
+            for (ProductSearchRow row : rows) {
+                if (Boolean.TRUE.equals(row.getAvailability())) {
+                    index.add(row.getId(), row.getName(), row.getDescription(), row.getCategory());
+                }
+            }
+            if (index.needsCompaction()) {
+                index.compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
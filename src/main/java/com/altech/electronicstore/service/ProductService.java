@@ -1,26 +1,44 @@
 package com.altech.electronicstore.service;
 
+import com.altech.electronicstore.dto.basket.StockShortfallDto;
 import com.altech.electronicstore.dto.product.ProductDto;
+import com.altech.electronicstore.dto.product.ProductFacetsDto;
+import com.altech.electronicstore.dto.product.ProductSnapshot;
+import com.altech.electronicstore.dto.product.ProductStockRow;
 import com.altech.electronicstore.dto.product.StockValidationResult;
 import com.altech.electronicstore.entity.BasketItem;
 import com.altech.electronicstore.entity.Product;
+import com.altech.electronicstore.event.ProductsChangedEvent;
 import com.altech.electronicstore.exception.InsufficientStockException;
 import com.altech.electronicstore.exception.ProductNotFoundException;
 import com.altech.electronicstore.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ProductService {
 
     private final ProductRepository productRepository;
+    private final ProductCache productCache;
+    private final CategoryIndex categoryIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     public Page<Product> getAllProducts(Pageable pageable) {
         return productRepository.findByAvailabilityTrue(pageable);
@@ -36,7 +54,11 @@ public class ProductService {
     }
 
     public List<String> getCategories() {
-        return productRepository.findDistinctCategories();
+        return categoryIndex.getCategories();
+    }
+
+    public ProductFacetsDto getFacets(String category) {
+        return categoryIndex.getFacets(category);
     }
 
     @Transactional
@@ -49,7 +71,9 @@ public class ProductService {
         product.setCategory(productDto.getCategory());
         product.setAvailability(productDto.getAvailability());
         
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        publishChanged(saved.getId());
+        return saved;
     }
 
     @Transactional
@@ -63,13 +87,16 @@ public class ProductService {
         product.setCategory(productDto.getCategory());
         product.setAvailability(productDto.getAvailability());
         
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        publishChanged(id);
+        return saved;
     }
 
     @Transactional
     public void deleteProduct(Long id) {
         Product product = getProductById(id);
         productRepository.delete(product);
+        publishChanged(id);
     }
 
     @Transactional
@@ -83,24 +110,33 @@ public class ProductService {
         
         product.setStock(product.getStock() - quantity);
         productRepository.save(product);
+        publishStockChanged(productId);
     }
 
+    /**
+     * Advisory check served from {@link ProductCache}; may lag a concurrent stock change
+     * by up to one committed transaction.
+     */
     public boolean canReserveStock(Long productId, Integer quantity) {
-        Product product = productRepository.findById(productId).orElse(null);
+        ProductSnapshot product = productCache.get(productId).orElse(null);
         if (product == null) {
             return false;
         }
-        return product.getAvailability() && product.getStock() >= quantity;
+        return product.availability() && product.stock() >= quantity;
     }
 
+    /**
+     * Advisory check served from {@link ProductCache}, used while editing the basket.
+     * Checkout re-validates with {@link #findStockShortfalls}.
+     */
     public StockValidationResult validateAndGetStock(Long productId, Integer requiredQuantity) {
-        Product product = productRepository.findById(productId).orElse(null);
+        ProductSnapshot product = productCache.get(productId).orElse(null);
         if (product == null) {
             return new StockValidationResult(false, 0, false);
         }
         
-        boolean hasStock = product.getAvailability() && product.getStock() >= requiredQuantity;
-        return new StockValidationResult(hasStock, product.getStock(), product.getAvailability());
+        boolean hasStock = product.availability() && product.stock() >= requiredQuantity;
+        return new StockValidationResult(hasStock, product.stock(), product.availability());
     }
 
     @Transactional
@@ -116,18 +152,65 @@ public class ProductService {
         
         product.setStock(product.getStock() + quantity);
         productRepository.save(product);
+        publishStockChanged(productId);
     }
 
-    public boolean hasStock(Long productId, Integer requiredQuantity) {
-        Product product = productRepository.findById(productId).orElse(null);
-        if (product == null) {
-            return false;
+    /**
+     * Authoritative check used at checkout: reads stock for every product in the basket
+     * with one query, bypassing {@link ProductCache}, and
+     * returns one entry per product that cannot be fulfilled. Quantities of lines for the
+     * same product are summed. Empty if the whole basket can be fulfilled.
+     */
+    public List<StockShortfallDto> findStockShortfalls(Collection<BasketItem> basketItems) {
+        Map<Long, Integer> requested = new LinkedHashMap<>();
+        for (BasketItem item : basketItems) {
+            requested.merge(item.getProduct().getId(), item.getQuantity(), Integer::sum);
+        }
+        if (requested.isEmpty()) {
+            return List.of();
+        }
+
+        // A copy: the repository may read the collection lazily, after this method moved on
+        Map<Long, ProductStockRow> rows = productRepository.findStockRowsByIds(List.copyOf(requested.keySet())).stream()
+                .collect(Collectors.toMap(ProductStockRow::getId, Function.identity()));
+
+        List<StockShortfallDto> shortfalls = new ArrayList<>();
+        Set<Long> checked = new HashSet<>();
+        for (BasketItem item : basketItems) {
+            Long productId = item.getProduct().getId();
+            if (!checked.add(productId)) {
+                continue;
+            }
+            int quantity = requested.get(productId);
+            ProductStockRow row = rows.get(productId);
+            int available = row != null && Boolean.TRUE.equals(row.getAvailability()) ? row.getStock() : 0;
+            if (available < quantity) {
+                String name = row != null ? row.getName() : item.getProduct().getName();
+                shortfalls.add(new StockShortfallDto(productId, name, quantity, available, quantity - available));
+            }
         }
-        return product.getAvailability() && product.getStock() >= requiredQuantity;
+        return shortfalls;
     }
 
     public Integer getCurrentStock(Long productId) {
-        Product product = productRepository.findById(productId).orElse(null);
-        return product != null ? product.getStock() : 0;
+        return productCache.get(productId)
+                .map(ProductSnapshot::stock)
+                .orElse(0);
+    }
+
+    /**
+     * Cached snapshot of a product, so conditional requests can be answered without
+     * loading the entity. Empty if the product does not exist.
+     */
+    public Optional<ProductSnapshot> findSnapshot(Long productId) {
+        return productCache.get(productId);
+    }
+
+    private void publishChanged(Long productId) {
+        eventPublisher.publishEvent(new ProductsChangedEvent(Set.of(productId)));
+    }
+
+    private void publishStockChanged(Long productId) {
+        eventPublisher.publishEvent(ProductsChangedEvent.ofStock(Set.of(productId)));
     }
 }
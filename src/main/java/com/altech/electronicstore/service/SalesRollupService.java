@@ -0,0 +1,299 @@
+package com.altech.electronicstore.service;
+
+import com.altech.electronicstore.dto.sales.CategorySalesDto;
+import com.altech.electronicstore.dto.sales.ProductSalesDto;
+import com.altech.electronicstore.dto.sales.SalesLine;
+import com.altech.electronicstore.dto.sales.SalesPointDto;
+import com.altech.electronicstore.entity.SalesRollup;
+import com.altech.electronicstore.event.OrderPlacedEvent;
+import com.altech.electronicstore.repository.SalesRollupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Maintains hourly sales counters per product (and, through the denormalized category,
+ * per category). Checkouts only bump in-memory {@link LongAdder}s after commit; a scheduled
+ * flush folds them into the {@code sales_rollup} table, which backs the admin reports.
+ * Drained counts are put back unless the flush transaction commits.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SalesRollupService {
+
+    private static final int MAX_TOP_N = 100;
+
+    private final SalesRollupRepository salesRollupRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ConcurrentHashMap<BucketKey, Counters> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    @TransactionalEventListener
+    public void onOrderPlaced(OrderPlacedEvent event) {
+        LocalDateTime bucketStart = event.orderDate().truncatedTo(ChronoUnit.HOURS);
+        for (OrderPlacedEvent.Line line : event.lines()) {
+            // Recorded inside compute, so a flush cannot drop the bucket between lookup and increment
+            pending.compute(new BucketKey(bucketStart, line.productId()), (key, counters) -> {
+                Counters target = counters != null ? counters : new Counters(line.category());
+                target.record(line.quantity(), line.revenue(), line.discount());
+                return target;
+            });
+        }
+    }
+
+    /**
+     * Folds pending counters into {@code sales_rollup}. If the write fails, or the surrounding
+     * transaction does not commit, the drained amounts are put back so they are retried on the
+     * next flush.
+     *
+     * @return number of rollup rows touched
+     */
+    @Scheduled(fixedDelayString = "${sales.rollup.flush-interval-ms:60000}")
+    @Transactional
+    public int flush() {
+        flushLock.lock();
+        try {
+            LocalDateTime retainFrom = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).minusHours(1);
+            List<Drained> drained = new ArrayList<>();
+            try {
+                for (Map.Entry<BucketKey, Counters> entry : pending.entrySet()) {
+                    BucketKey key = entry.getKey();
+                    Counters counters = entry.getValue();
+                    Drained snapshot = counters.drain(key);
+                    if (snapshot.orders() > 0) {
+                        drained.add(snapshot);
+                        write(snapshot);
+                    }
+                    if (key.bucketStart().isBefore(retainFrom)) {
+                        // Only while nothing was recorded since the drain
+                        pending.computeIfPresent(key, (k, current) -> current == counters && current.isEmpty() ? null : current);
+                    }
+                }
+            } catch (RuntimeException e) {
+                log.error("Sales rollup flush failed, re-queuing {} buckets", drained.size(), e);
+                if (!requeueUnlessCommitted(drained)) {
+                    drained.forEach(this::requeue);
+                }
+                throw e;
+            }
+            requeueUnlessCommitted(drained);
+            if (!drained.isEmpty()) {
+                log.debug("Flushed {} sales rollup buckets", drained.size());
+            }
+            return drained.size();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Flushes what is still pending while the data source is open, so a clean shutdown of
+     * the file-backed store does not drop the sales since the last scheduled flush. Counters
+     * that still cannot be written are logged per bucket; those hours can be rebuilt from the
+     * orders with {@link #backfill}.
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void flushOnShutdown() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> flush());
+        } catch (RuntimeException e) {
+            log.error("Final sales rollup flush failed", e);
+        }
+        pending.forEach((key, counters) -> {
+            if (!counters.isEmpty()) {
+                log.error("Sales rollup not written at shutdown: bucket {} product {} ({} units in {} orders); backfill this hour",
+                        key.bucketStart(), key.productId(), counters.units.sum(), counters.orders.sum());
+            }
+        });
+    }
+
+    public List<ProductSalesDto> getTopProducts(LocalDateTime from, LocalDateTime to, int limit, boolean byUnits) {
+        PageRequest page = PageRequest.of(0, Math.max(1, Math.min(limit, MAX_TOP_N)));
+        return byUnits
+                ? salesRollupRepository.findTopProductsByUnits(from, to, page)
+                : salesRollupRepository.findTopProductsByRevenue(from, to, page);
+    }
+
+    public List<CategorySalesDto> getCategoryTotals(LocalDateTime from, LocalDateTime to) {
+        return salesRollupRepository.findCategoryTotals(from, to);
+    }
+
+    public List<SalesPointDto> getRevenueSeries(LocalDateTime from, LocalDateTime to, String category, boolean daily) {
+        List<SalesPointDto> hourly = category != null
+                ? salesRollupRepository.findHourlySeriesByCategory(from, to, category)
+                : salesRollupRepository.findHourlySeries(from, to);
+        if (!daily) {
+            return hourly;
+        }
+
+        Map<LocalDateTime, SalesPointDto> days = new LinkedHashMap<>();
+        for (SalesPointDto point : hourly) {
+            LocalDateTime day = point.getBucketStart().truncatedTo(ChronoUnit.DAYS);
+            SalesPointDto total = days.computeIfAbsent(day,
+                    d -> new SalesPointDto(d, 0L, BigDecimal.ZERO, BigDecimal.ZERO));
+            total.setUnitsSold(total.getUnitsSold() + point.getUnitsSold());
+            total.setRevenue(total.getRevenue().add(point.getRevenue()));
+            total.setDiscountGiven(total.getDiscountGiven().add(point.getDiscountGiven()));
+        }
+        return new ArrayList<>(days.values());
+    }
+
+    /**
+     * Rebuilds the rollup rows for every closed hour in {@code [from, to)} from historical
+     * orders. The current hour is left to the live counters.
+     *
+     * @return number of rollup rows written
+     */
+    @Transactional
+    public int backfill(LocalDateTime from, LocalDateTime to) {
+        flush();
+
+        LocalDateTime start = from.truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime currentHour = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime end = to.isAfter(currentHour) ? currentHour : to.truncatedTo(ChronoUnit.HOURS);
+        if (!start.isBefore(end)) {
+            return 0;
+        }
+
+        int deleted = salesRollupRepository.deleteByBucketRange(start, end);
+
+        Map<BucketKey, SalesRollup> rollups = new HashMap<>();
+        try (Stream<SalesLine> lines = salesRollupRepository.streamSalesLines(start, end)) {
+            lines.forEach(line -> {
+                LocalDateTime bucketStart = line.getOrderDate().truncatedTo(ChronoUnit.HOURS);
+                SalesRollup rollup = rollups.computeIfAbsent(new BucketKey(bucketStart, line.getProductId()), key -> {
+                    SalesRollup created = new SalesRollup();
+                    created.setBucketStart(key.bucketStart());
+                    created.setProductId(key.productId());
+                    created.setCategory(line.getCategory());
+                    return created;
+                });
+                rollup.setUnitsSold(rollup.getUnitsSold() + line.getQuantity());
+                rollup.setOrderCount(rollup.getOrderCount() + 1);
+                rollup.setRevenue(rollup.getRevenue().add(orZero(line.getTotalPrice())));
+                rollup.setDiscountGiven(rollup.getDiscountGiven().add(orZero(line.getDiscountApplied())));
+            });
+        }
+
+        salesRollupRepository.saveAll(rollups.values());
+        log.info("Backfilled sales rollups for [{}, {}): replaced {} rows with {}", start, end, deleted, rollups.size());
+        return rollups.size();
+    }
+
+    private void write(Drained snapshot) {
+        BigDecimal revenue = BigDecimal.valueOf(snapshot.revenueCents(), 2);
+        BigDecimal discount = BigDecimal.valueOf(snapshot.discountCents(), 2);
+        int updated = salesRollupRepository.addToBucket(snapshot.key().bucketStart(), snapshot.key().productId(),
+                snapshot.units(), snapshot.orders(), revenue, discount);
+        if (updated == 0) {
+            SalesRollup rollup = new SalesRollup();
+            rollup.setBucketStart(snapshot.key().bucketStart());
+            rollup.setProductId(snapshot.key().productId());
+            rollup.setCategory(snapshot.category());
+            rollup.setUnitsSold(snapshot.units());
+            rollup.setOrderCount(snapshot.orders());
+            rollup.setRevenue(revenue);
+            rollup.setDiscountGiven(discount);
+            salesRollupRepository.save(rollup);
+        }
+    }
+
+    /**
+     * Puts {@code drained} back after the current transaction completes without committing.
+     *
+     * @return false when no transaction synchronization is active, so nothing was registered
+     */
+    private boolean requeueUnlessCommitted(List<Drained> drained) {
+        if (drained.isEmpty() || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return false;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    log.warn("Sales rollup flush not committed, re-queuing {} buckets", drained.size());
+                    drained.forEach(SalesRollupService.this::requeue);
+                }
+            }
+        });
+        return true;
+    }
+
+    private void requeue(Drained snapshot) {
+        pending.compute(snapshot.key(), (key, current) -> {
+            Counters counters = current != null ? current : new Counters(snapshot.category());
+            counters.units.add(snapshot.units());
+            counters.orders.add(snapshot.orders());
+            counters.revenueCents.add(snapshot.revenueCents());
+            counters.discountCents.add(snapshot.discountCents());
+            return counters;
+        });
+    }
+
+    private static BigDecimal orZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+
+    private static long toCents(BigDecimal value) {
+        return value == null ? 0L : value.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private record BucketKey(LocalDateTime bucketStart, Long productId) {
+    }
+
+    private record Drained(BucketKey key, String category, long units, long orders, long revenueCents, long discountCents) {
+    }
+
+    private static final class Counters {
+        private final String category;
+        private final LongAdder units = new LongAdder();
+        private final LongAdder orders = new LongAdder();
+        private final LongAdder revenueCents = new LongAdder();
+        private final LongAdder discountCents = new LongAdder();
+
+        private Counters(String category) {
+            this.category = category;
+        }
+
+        private void record(int quantity, BigDecimal revenue, BigDecimal discount) {
+            units.add(quantity);
+            orders.increment();
+            revenueCents.add(toCents(revenue));
+            discountCents.add(toCents(discount));
+        }
+
+        private boolean isEmpty() {
+            return orders.sum() == 0 && units.sum() == 0;
+        }
+
+        private Drained drain(BucketKey key) {
+            return new Drained(key, category, units.sumThenReset(), orders.sumThenReset(),
+                    revenueCents.sumThenReset(), discountCents.sumThenReset());
+        }
+    }
+}
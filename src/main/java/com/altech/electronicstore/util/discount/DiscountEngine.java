@@ -12,6 +12,8 @@ import org.springframework.stereotype.Component;
 
 import com.altech.electronicstore.entity.BasketItem;
 import com.altech.electronicstore.entity.Deal;
+import com.altech.electronicstore.monitoring.jfr.BusinessEvents;
+import com.altech.electronicstore.monitoring.jfr.DiscountCalculationEvent;
 import com.altech.electronicstore.service.DealService;
 
 import lombok.RequiredArgsConstructor;
@@ -35,15 +37,29 @@ public class DiscountEngine {
     }
 
     public Map<Long, BigDecimal> calculateDiscountsForBasketItems(List<BasketItem> items, Map<Long, List<Deal>> productDealsMap) {
+        DiscountCalculationEvent event = new DiscountCalculationEvent();
+        event.begin();
         Map<Long, BigDecimal> discounts = new HashMap<>();
+        int dealCount = 0;
 
-        for (BasketItem item : items) {
-            Long productId = item.getProduct().getId();
-            List<Deal> deals = productDealsMap.getOrDefault(productId, Collections.emptyList());
-            BigDecimal discount = calculateDiscount(item, deals);
-            discounts.put(productId, discount);
+        try {
+            for (BasketItem item : items) {
+                Long productId = item.getProduct().getId();
+                List<Deal> deals = productDealsMap.getOrDefault(productId, Collections.emptyList());
+                dealCount += deals.size();
+                BigDecimal discount = calculateDiscount(item, deals);
+                discounts.put(productId, discount);
+            }
+            event.outcome = "success";
+            return discounts;
+        } catch (RuntimeException e) {
+            event.outcome = BusinessEvents.outcome(e);
+            throw e;
+        } finally {
+            event.itemCount = items.size();
+            event.dealCount = dealCount;
+            event.commit();
         }
-        return discounts;
     }
 
     public BigDecimal calculateDiscount(BasketItem item, List<Deal> deals) {
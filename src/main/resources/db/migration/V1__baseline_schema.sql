@@ -51,6 +51,13 @@ CREATE TABLE product (
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
 );
 
+-- Public listing filters always pin availability, then narrow by category and/or price range.
+-- The trailing id matches the (sort key, id) order used by keyset pagination.
+CREATE INDEX idx_product_availability_category_price ON product (availability, category, price, id);
+CREATE INDEX idx_product_availability_price ON product (availability, price, id);
+CREATE INDEX idx_product_availability_category_name ON product (availability, category, name, id);
+CREATE INDEX idx_product_availability_name ON product (availability, name, id);
+
 -- Deal Types and Deals
 CREATE TABLE deal_type (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
@@ -114,3 +121,17 @@ CREATE TABLE order_item (
     FOREIGN KEY (order_id) REFERENCES order_table(id) ON DELETE CASCADE,
     FOREIGN KEY (product_id) REFERENCES product(id)
 );
+
+-- Sales Reporting
+-- Hourly per-product counters, maintained by checkout and rebuilt by the backfill job
+CREATE TABLE sales_rollup (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    bucket_start TIMESTAMP NOT NULL,
+    product_id BIGINT NOT NULL,
+    category VARCHAR(100) NOT NULL,
+    units_sold BIGINT NOT NULL DEFAULT 0,
+    order_count BIGINT NOT NULL DEFAULT 0,
+    revenue DECIMAL(14, 2) NOT NULL DEFAULT 0,
+    discount_given DECIMAL(14, 2) NOT NULL DEFAULT 0,
+    UNIQUE(bucket_start, product_id)
+);
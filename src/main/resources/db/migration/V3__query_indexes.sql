@@ -0,0 +1,19 @@
+-- Indexes for the hot query patterns. Checked by QueryPlanTest, which fails when a
+-- repository query falls back to a table scan.
+-- Already covered elsewhere: product (availability, category, price) by
+-- idx_product_availability_category_price in V1, and "user" (username) by its UNIQUE constraint.
+
+-- Active basket lookup on every basket call: WHERE user_id = ? AND status = ?
+CREATE INDEX idx_basket_user_status ON basket (user_id, status);
+
+-- Active deals of one product or one listing page: WHERE product_id IN (...) AND expiration_date > ?
+CREATE INDEX idx_deal_product_expiration ON deal (product_id, expiration_date);
+
+-- Duplicate-deal check on create/update: WHERE product_id = ? AND deal_type_id = ? AND expiration_date > ?
+CREATE INDEX idx_deal_product_type_expiration ON deal (product_id, deal_type_id, expiration_date);
+
+-- All active deals (admin deal list): WHERE expiration_date > ?
+CREATE INDEX idx_deal_expiration ON deal (expiration_date);
+
+-- Order history, newest first: WHERE user_id = ? ORDER BY order_date DESC
+CREATE INDEX idx_order_user_date ON order_table (user_id, order_date);
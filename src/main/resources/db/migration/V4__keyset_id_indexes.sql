@@ -0,0 +1,5 @@
+-- Keyset pagination by id, or by category with id as tie-breaker, filtered by availability.
+-- The price and name orderings are covered by the (availability, [category,] key, id)
+-- indexes in V1; QueryPlanTest checks that each keyset sort reads its index in order.
+CREATE INDEX idx_product_availability_category_id ON product (availability, category, id);
+CREATE INDEX idx_product_availability_id ON product (availability, id);
@@ -0,0 +1,166 @@
+package com.altech.electronicstore;
+
+import com.altech.electronicstore.service.BasketService;
+import com.altech.electronicstore.service.OrderService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares checkout throughput and latency of the in-memory database with the file-backed
+ * {@code persistent} profile under a few MVStore settings. Each worker thread has its own
+ * customer and product, so workers do not contend on row locks, and loops adding one item to
+ * the basket and checking it out through the services. The application is started once per
+ * setting, without HTTP in the measured path, so the numbers isolate the store.
+ *
+ * <p>Excluded from {@code test}; run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+class CheckoutStoreBenchmark {
+
+    private static final int THREADS = 8;
+    private static final Duration WARMUP = Duration.ofSeconds(10);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(30);
+
+    private static final List<Setting> SETTINGS = List.of(
+            new Setting("in-memory", false),
+            new Setting("file write-delay=500", true, "--store.h2.write-delay-ms=500"),
+            new Setting("file write-delay=0", true, "--store.h2.write-delay-ms=0"),
+            new Setting("file cache=16MB", true, "--store.h2.cache-size-kb=16384"));
+
+    @Test
+    void benchmarkCheckoutByStore() throws Exception {
+        List<String> results = new ArrayList<>();
+        for (Setting setting : SETTINGS) {
+            Path dataDir = Files.createTempDirectory("checkout-benchmark");
+            try (ConfigurableApplicationContext context = start(setting, dataDir)) {
+                results.add(run(setting.name(), context));
+            } finally {
+                FileSystemUtils.deleteRecursively(dataDir);
+            }
+        }
+
+        System.out.printf("%-22s %12s %9s %9s %8s%n", "store", "checkouts/s", "p50 ms", "p99 ms", "errors");
+        results.forEach(System.out::println);
+    }
+
+    private ConfigurableApplicationContext start(Setting setting, Path dataDir) {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.jpa.show-sql=false",
+                // One info line per checkout would dominate the measurement
+                "--logging.level.com.altech.electronicstore=WARN"));
+        if (setting.persistent()) {
+            args.add("--spring.profiles.active=persistent");
+            args.add("--store.data-dir=" + dataDir.toAbsolutePath());
+        } else {
+            args.add("--spring.datasource.url=jdbc:h2:mem:checkout-benchmark");
+        }
+        args.addAll(setting.args());
+        return new SpringApplicationBuilder(ElectronicStoreApplication.class).run(args.toArray(String[]::new));
+    }
+
+    private String run(String name, ConfigurableApplicationContext context) throws Exception {
+        BasketService basketService = context.getBean(BasketService.class);
+        OrderService orderService = context.getBean(OrderService.class);
+        long[][] customersAndProducts = seed(context.getBean(JdbcTemplate.class));
+
+        long start = System.nanoTime();
+        long measureFrom = start + WARMUP.toNanos();
+        long measureUntil = measureFrom + MEASUREMENT.toNanos();
+        AtomicLong errors = new AtomicLong();
+
+        ExecutorService workers = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<long[]>> results = new ArrayList<>(THREADS);
+            for (long[] customerAndProduct : customersAndProducts) {
+                long customerId = customerAndProduct[0];
+                long productId = customerAndProduct[1];
+                results.add(workers.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    long now;
+                    while ((now = System.nanoTime()) < measureUntil) {
+                        boolean failed = false;
+                        try {
+                            basketService.addItemToBasket(customerId, productId, 1);
+                            orderService.checkout(customerId);
+                        } catch (RuntimeException e) {
+                            failed = true;
+                        }
+                        long end = System.nanoTime();
+                        if (now >= measureFrom && end <= measureUntil) {
+                            if (failed) {
+                                errors.incrementAndGet();
+                            } else {
+                                if (count == latencies.length) {
+                                    latencies = Arrays.copyOf(latencies, count * 2);
+                                }
+                                latencies[count++] = end - now;
+                            }
+                        }
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+
+            List<long[]> perWorker = new ArrayList<>(THREADS);
+            for (Future<long[]> result : results) {
+                perWorker.add(result.get());
+            }
+            long[] all = perWorker.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+            assertTrue(all.length > 0, "No successful checkout with " + name);
+
+            double throughput = all.length / (MEASUREMENT.toNanos() / 1e9);
+            return String.format("%-22s %,12.0f %9.2f %9.2f %,8d",
+                    name, throughput, percentile(all, 0.50), percentile(all, 0.99), errors.get());
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    /** One customer and one deeply stocked product per worker; returns their ids. */
+    private static long[][] seed(JdbcTemplate jdbcTemplate) {
+        long[][] ids = new long[THREADS][];
+        for (int i = 0; i < THREADS; i++) {
+            String username = "checkout-bench" + i;
+            jdbcTemplate.update("INSERT INTO \"user\" (username, password, email) VALUES (?, '-', ?)",
+                    username, username + "@benchmark.test");
+            jdbcTemplate.update("INSERT INTO product (name, price, stock, category) VALUES (?, 19.99, 100000000, 'Accessories')",
+                    "Checkout benchmark item " + i);
+            ids[i] = new long[] {
+                    jdbcTemplate.queryForObject("SELECT id FROM \"user\" WHERE username = ?", Long.class, username),
+                    jdbcTemplate.queryForObject("SELECT id FROM product WHERE name = ?", Long.class, "Checkout benchmark item " + i)
+            };
+        }
+        return ids;
+    }
+
+    private static double percentile(long[] sortedNanos, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private record Setting(String name, boolean persistent, List<String> args) {
+
+        Setting(String name, boolean persistent, String... args) {
+            this(name, persistent, List.of(args));
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.altech.electronicstore;
+
+import com.altech.electronicstore.service.BasketService;
+import com.altech.electronicstore.service.DatabaseBackupService;
+import com.altech.electronicstore.service.OrderService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipFile;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Starts the application twice on the same data directory in the {@code persistent} profile
+ * and checks that the second start keeps what the first one wrote, and that online backups
+ * are written and pruned.
+ */
+class PersistentStoreTest {
+
+    @TempDir
+    Path dataDir;
+
+    @Test
+    void restart_ShouldKeepOrdersSalesAndSeedData() {
+        long customerId;
+        long productId;
+        int migrations;
+        try (ConfigurableApplicationContext context = start()) {
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            customerId = count(jdbcTemplate, "SELECT id FROM \"user\" WHERE username = 'customer1'");
+            productId = count(jdbcTemplate, "SELECT MIN(id) FROM product WHERE stock > 0");
+            migrations = (int) count(jdbcTemplate, "SELECT COUNT(*) FROM \"flyway_schema_history\"");
+
+            context.getBean(BasketService.class).addItemToBasket(customerId, productId, 1);
+            context.getBean(OrderService.class).checkout(customerId);
+        }
+        assertTrue(Files.exists(dataDir.resolve("electronic-store.mv.db")));
+
+        try (ConfigurableApplicationContext context = start()) {
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+            assertEquals(3, count(jdbcTemplate, "SELECT COUNT(*) FROM \"user\""));
+            assertEquals(migrations, count(jdbcTemplate, "SELECT COUNT(*) FROM \"flyway_schema_history\""));
+            assertEquals(1, count(jdbcTemplate, "SELECT COUNT(*) FROM order_table WHERE user_id = " + customerId));
+            // Counted in memory at checkout and flushed when the first context closed
+            assertEquals(1, count(jdbcTemplate, "SELECT COALESCE(SUM(units_sold), 0) FROM sales_rollup WHERE product_id = " + productId));
+        }
+    }
+
+    @Test
+    void backup_ShouldWriteZipAndKeepNewest() throws Exception {
+        try (ConfigurableApplicationContext context = start("--store.backup.keep=2")) {
+            DatabaseBackupService backupService = context.getBean(DatabaseBackupService.class);
+
+            // When
+            DatabaseBackupService.BackupResult first = backupService.backup();
+            backupService.backup();
+            DatabaseBackupService.BackupResult third = backupService.backup();
+
+            // Then
+            assertEquals(dataDir.resolve("backups").toAbsolutePath(), backupService.directory());
+            assertEquals(2, backupService.list().size());
+            assertEquals(third.backup(), backupService.list().get(0));
+            assertEquals(List.of(first.backup().file()), third.deleted());
+            try (ZipFile zip = new ZipFile(backupService.directory().resolve(third.backup().file()).toFile())) {
+                assertNotNull(zip.getEntry("electronic-store.mv.db"));
+            }
+        }
+    }
+
+    private ConfigurableApplicationContext start(String... extraArgs) {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.profiles.active=persistent",
+                "--store.data-dir=" + dataDir.toAbsolutePath()));
+        args.addAll(List.of(extraArgs));
+        return new SpringApplicationBuilder(ElectronicStoreApplication.class).run(args.toArray(String[]::new));
+    }
+
+    private static long count(JdbcTemplate jdbcTemplate, String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
@@ -0,0 +1,51 @@
+package com.altech.electronicstore;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fails when time to first request regresses: from starting the application in the
+ * {@code fast-startup} profile, on a random port with its own in-memory database, to the
+ * first successful catalogue response. Other tests may already have loaded and compiled much
+ * of the framework in this JVM, so this is faster than a cold start; the target is a
+ * regression tripwire, not a cold-start figure. Override it with
+ * {@code -Pstartup.target-ms=...} on slow machines.
+ *
+ * <p>Wall-clock bound, so excluded from {@code test}; run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+class StartupTimeTest {
+
+    private static final Duration TARGET = Duration.ofMillis(Long.getLong("startup.target-ms", 10_000));
+
+    @Test
+    void timeToFirstRequest_ShouldStayWithinTarget() throws Exception {
+        long start = System.nanoTime();
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ElectronicStoreApplication.class).run(
+                "--server.port=0",
+                "--spring.profiles.active=fast-startup",
+                "--spring.datasource.url=jdbc:h2:mem:startup")) {
+            String port = context.getEnvironment().getProperty("local.server.port");
+            HttpResponse<String> response = HttpClient.newHttpClient().send(
+                    HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/products")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+            assertEquals(200, response.statusCode(), response.body());
+            assertTrue(elapsed.compareTo(TARGET) <= 0,
+                    "Time to first request was " + elapsed.toMillis() + "ms, target is " + TARGET.toMillis() + "ms");
+            // Admin beans are left for the first admin request
+            assertFalse(context.getBeanFactory().containsSingleton("adminProductController"));
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.altech.electronicstore;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares throughput and latency of the platform-thread and virtual-thread request modes
+ * ({@code spring.threads.virtual.enabled}) at 1k and 10k concurrent connections. Each
+ * connection alternates between a catalogue page and the customer's basket, both of which
+ * block on JDBC. The application is started once per mode on a random port, with its own
+ * in-memory database.
+ *
+ * <p>10k connections need about 20k file descriptors in this JVM (client and server
+ * side); raise {@code ulimit -n} first. Excluded from {@code test}; run with
+ * {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+class ThreadModeBenchmark {
+
+    private static final int[] CONNECTIONS = {1_000, 10_000};
+    private static final Duration WARMUP = Duration.ofSeconds(10);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(30);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void benchmarkThreadModes() throws Exception {
+        List<String> results = new ArrayList<>();
+        for (boolean virtual : new boolean[] {false, true}) {
+            try (ConfigurableApplicationContext context = start(virtual)) {
+                String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+                for (int connections : CONNECTIONS) {
+                    results.add(run(virtual ? "virtual" : "platform", baseUrl, connections));
+                }
+            }
+        }
+
+        System.out.printf("%-9s %11s %11s %9s %9s %8s%n", "mode", "connections", "requests/s", "p50 ms", "p99 ms", "errors");
+        results.forEach(System.out::println);
+    }
+
+    private ConfigurableApplicationContext start(boolean virtual) {
+        String mode = virtual ? "virtual" : "platform";
+        // Command-line arguments, so they win over application.properties
+        return new SpringApplicationBuilder(ElectronicStoreApplication.class).run(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtual,
+                "--spring.datasource.url=jdbc:h2:mem:benchmark-" + mode,
+                "--spring.jpa.show-sql=false",
+                "--server.tomcat.max-connections=20000",
+                "--server.tomcat.accept-count=10000");
+    }
+
+    private String run(String mode, String baseUrl, int connections) throws Exception {
+        try (ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(30))
+                    .executor(clientThreads)
+                    .build();
+            String token = login(client, baseUrl);
+            HttpRequest catalogue = HttpRequest.newBuilder(URI.create(baseUrl + "/api/products?category=Laptops&size=20")).build();
+            HttpRequest basket = HttpRequest.newBuilder(URI.create(baseUrl + "/api/customer/basket"))
+                    .header("Authorization", "Bearer " + token)
+                    .build();
+
+            long start = System.nanoTime();
+            long measureFrom = start + WARMUP.toNanos();
+            long measureUntil = measureFrom + MEASUREMENT.toNanos();
+            AtomicLong errors = new AtomicLong();
+
+            List<Future<long[]>> workers = new ArrayList<>(connections);
+            for (int i = 0; i < connections; i++) {
+                boolean startWithBasket = i % 2 == 0;
+                workers.add(clientThreads.submit(() -> {
+                    LatencyRecorder latencies = new LatencyRecorder();
+                    boolean useBasket = startWithBasket;
+                    long now;
+                    while ((now = System.nanoTime()) < measureUntil) {
+                        HttpResponse<Void> response;
+                        try {
+                            response = client.send(useBasket ? basket : catalogue, HttpResponse.BodyHandlers.discarding());
+                        } catch (IOException e) {
+                            response = null;
+                        }
+                        long end = System.nanoTime();
+                        if (now >= measureFrom && end <= measureUntil) {
+                            if (response == null || response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                            } else {
+                                latencies.add(end - now);
+                            }
+                        }
+                        useBasket = !useBasket;
+                    }
+                    return latencies.toArray();
+                }));
+            }
+
+            List<long[]> perWorker = new ArrayList<>(connections);
+            for (Future<long[]> worker : workers) {
+                perWorker.add(worker.get());
+            }
+            long[] all = perWorker.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+            assertTrue(all.length > 0, "No successful request in " + mode + " mode at " + connections + " connections");
+
+            double throughput = all.length / (MEASUREMENT.toNanos() / 1e9);
+            return String.format("%-9s %,11d %,11.0f %9.1f %9.1f %,8d",
+                    mode, connections, throughput, percentile(all, 0.50), percentile(all, 0.99), errors.get());
+        }
+    }
+
+    private String login(HttpClient client, String baseUrl) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"customer1\",\"password\":\"password\"}"))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode(), response.body());
+        return objectMapper.readTree(response.body()).get("token").asText();
+    }
+
+    private static double percentile(long[] sortedNanos, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    /** Growable primitive buffer, so recording a latency does not box. */
+    private static final class LatencyRecorder {
+
+        private long[] values = new long[256];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
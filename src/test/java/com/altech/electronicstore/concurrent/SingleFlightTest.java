@@ -0,0 +1,128 @@
+package com.altech.electronicstore.concurrent;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 16;
+
+    private MeterRegistry meterRegistry;
+    private SingleFlight<Long, String> singleFlight;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight<>("test", meterRegistry);
+        executor = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void load_WhenCallersMissConcurrently_ShouldRunLoaderOnce() throws Exception {
+        // Given
+        AtomicInteger loaderCalls = new AtomicInteger();
+        List<Future<String>> results = startCallers(key -> {
+            loaderCalls.incrementAndGet();
+            awaitCoalesced(CALLERS - 1);
+            return "product-" + key;
+        });
+
+        // When & Then
+        for (Future<String> result : results) {
+            assertEquals("product-1", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loaderCalls.get());
+        assertEquals(1.0, count("leader"));
+        assertEquals(CALLERS - 1.0, count("coalesced"));
+        assertEquals(0.0, meterRegistry.get("singleflight.in_flight").tag("name", "test").gauge().value());
+    }
+
+    @Test
+    void load_WhenLoaderFails_ShouldPropagateSameExceptionToEveryCaller() throws Exception {
+        // Given
+        IllegalStateException failure = new IllegalStateException("Database error");
+        List<Future<String>> results = startCallers(key -> {
+            awaitCoalesced(CALLERS - 1);
+            throw failure;
+        });
+
+        // When & Then
+        for (Future<String> result : results) {
+            Exception exception = assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertSame(failure, exception.getCause());
+        }
+    }
+
+    @Test
+    void load_AfterFlightCompletes_ShouldLoadAgain() {
+        // Given
+        AtomicInteger loaderCalls = new AtomicInteger();
+
+        // When
+        singleFlight.load(1L, key -> "v" + loaderCalls.incrementAndGet());
+        String second = singleFlight.load(1L, key -> "v" + loaderCalls.incrementAndGet());
+
+        // Then
+        assertEquals("v2", second);
+        assertEquals(0.0, count("coalesced"));
+    }
+
+    @Test
+    void load_ShouldNotCoalesceDifferentKeys() {
+        // When
+        String outer = singleFlight.load(1L, key -> singleFlight.load(2L, inner -> "inner") + "-outer");
+
+        // Then
+        assertEquals("inner-outer", outer);
+        assertEquals(2.0, count("leader"));
+    }
+
+    private List<Future<String>> startCallers(Function<Long, String> loader) {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return singleFlight.load(1L, loader);
+            }));
+        }
+        start.countDown();
+        return results;
+    }
+
+    /** Holds the leader until every other caller has joined its flight. */
+    private void awaitCoalesced(int callers) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (count("coalesced") < callers) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Only " + count("coalesced") + " callers coalesced");
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    private double count(String role) {
+        return meterRegistry.get("singleflight.loads").tag("name", "test").tag("role", role).counter().count();
+    }
+}
@@ -12,7 +12,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
 import java.util.Optional;
 
@@ -33,9 +33,6 @@ class DataInitializerTest {
     @Mock
     private BasketRepository basketRepository;
 
-    @Mock
-    private PasswordEncoder passwordEncoder;
-
     @InjectMocks
     private DataInitializer dataInitializer;
 
@@ -74,7 +71,6 @@ class DataInitializerTest {
         when(userRepository.count()).thenReturn(0L);
         when(roleRepository.findByName("ADMIN")).thenReturn(Optional.of(adminRole));
         when(roleRepository.findByName("CUSTOMER")).thenReturn(Optional.of(customerRole));
-        when(passwordEncoder.encode("password")).thenReturn("encodedPassword");
         when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
         when(basketRepository.save(any(Basket.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
@@ -85,7 +81,6 @@ class DataInitializerTest {
         verify(userRepository).count();
         verify(roleRepository).findByName("ADMIN");
         verify(roleRepository).findByName("CUSTOMER");
-        verify(passwordEncoder, times(3)).encode("password");
         verify(userRepository, times(3)).save(any(User.class));
         verify(basketRepository, times(2)).save(any(Basket.class)); // Only customers get baskets
     }
@@ -128,7 +123,6 @@ class DataInitializerTest {
         when(userRepository.count()).thenReturn(0L);
         when(roleRepository.findByName("ADMIN")).thenReturn(Optional.of(adminRole));
         when(roleRepository.findByName("CUSTOMER")).thenReturn(Optional.of(customerRole));
-        when(passwordEncoder.encode("password")).thenReturn("encodedPassword");
         when(basketRepository.save(any(Basket.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Capture user saves
@@ -144,7 +138,7 @@ class DataInitializerTest {
         // Then
         verify(userRepository, times(3)).save(argThat(user -> {
             assertNotNull(user.getUsername());
-            assertEquals("encodedPassword", user.getPassword());
+            assertEquals(DataInitializer.SEED_PASSWORD_HASH, user.getPassword());
             assertNotNull(user.getEmail());
             assertNotNull(user.getCreatedAt());
             assertNotNull(user.getRoles());
@@ -159,7 +153,6 @@ class DataInitializerTest {
         when(userRepository.count()).thenReturn(0L);
         when(roleRepository.findByName("ADMIN")).thenReturn(Optional.of(adminRole));
         when(roleRepository.findByName("CUSTOMER")).thenReturn(Optional.of(customerRole));
-        when(passwordEncoder.encode("password")).thenReturn("encodedPassword");
         when(basketRepository.save(any(Basket.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Capture the admin user save
@@ -185,7 +178,6 @@ class DataInitializerTest {
         when(userRepository.count()).thenReturn(0L);
         when(roleRepository.findByName("ADMIN")).thenReturn(Optional.of(adminRole));
         when(roleRepository.findByName("CUSTOMER")).thenReturn(Optional.of(customerRole));
-        when(passwordEncoder.encode("password")).thenReturn("encodedPassword");
         when(basketRepository.save(any(Basket.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Capture customer user saves
@@ -211,19 +203,13 @@ class DataInitializerTest {
     }
 
     @Test
-    void run_WhenPasswordEncoderFails_ShouldPropagateException() throws Exception {
+    void seedPasswordHash_ShouldMatchSeedPassword() {
         // Given
-        when(userRepository.count()).thenReturn(0L);
-        when(roleRepository.findByName("ADMIN")).thenReturn(Optional.of(adminRole));
-        when(roleRepository.findByName("CUSTOMER")).thenReturn(Optional.of(customerRole));
-        when(passwordEncoder.encode("password")).thenThrow(new RuntimeException("Encoding failed"));
+        BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
 
         // When & Then
-        assertThrows(RuntimeException.class, () -> dataInitializer.run());
-        
-        verify(userRepository).count();
-        verify(passwordEncoder).encode("password");
-        verify(userRepository, never()).save(any(User.class));
+        assertTrue(passwordEncoder.matches(DataInitializer.SEED_PASSWORD, DataInitializer.SEED_PASSWORD_HASH));
+        assertFalse(passwordEncoder.matches("wrong", DataInitializer.SEED_PASSWORD_HASH));
     }
 
     @Test
@@ -232,7 +218,6 @@ class DataInitializerTest {
         when(userRepository.count()).thenReturn(0L);
         when(roleRepository.findByName("ADMIN")).thenReturn(Optional.of(adminRole));
         when(roleRepository.findByName("CUSTOMER")).thenReturn(Optional.of(customerRole));
-        when(passwordEncoder.encode("password")).thenReturn("encodedPassword");
         when(userRepository.save(any(User.class))).thenThrow(new RuntimeException("Database error"));
 
         // When & Then
@@ -248,7 +233,6 @@ class DataInitializerTest {
         when(userRepository.count()).thenReturn(0L);
         when(roleRepository.findByName("ADMIN")).thenReturn(Optional.of(adminRole));
         when(roleRepository.findByName("CUSTOMER")).thenReturn(Optional.of(customerRole));
-        when(passwordEncoder.encode("password")).thenReturn("encodedPassword");
         when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
             User user = invocation.getArgument(0);
             user.setId(1L);
@@ -0,0 +1,111 @@
+package com.altech.electronicstore.config;
+
+import com.altech.electronicstore.entity.Product;
+import com.altech.electronicstore.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Generates a small data set into its own in-memory database at startup and checks its
+ * shape, that JPA inserts still get fresh ids afterwards and that a second run does nothing.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:datagen",
+        "datagen.products=500",
+        "datagen.deals=60",
+        "datagen.users=40",
+        "datagen.orders-per-user=2",
+        "datagen.batch-size=64"
+})
+@ActiveProfiles("datagen")
+class SyntheticDataGeneratorTest {
+
+    private static final String SYNTHETIC_PRODUCT = "p.description LIKE '%, generation %'";
+    private static final String SYNTHETIC_USER = "u.username LIKE 'user%'";
+
+    @Autowired
+    private SyntheticDataGenerator syntheticDataGenerator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void run_ShouldGenerateConfiguredCatalogAndCustomers() {
+        assertEquals(500, count("SELECT COUNT(*) FROM product p WHERE " + SYNTHETIC_PRODUCT));
+        assertEquals(60, count("SELECT COUNT(*) FROM deal d JOIN product p ON p.id = d.product_id WHERE " + SYNTHETIC_PRODUCT));
+        assertTrue(count("SELECT COUNT(*) FROM deal d JOIN product p ON p.id = d.product_id WHERE "
+                + SYNTHETIC_PRODUCT + " AND d.expiration_date < CURRENT_TIMESTAMP") > 0, "No expired deal");
+        assertTrue(count("SELECT COUNT(*) FROM deal d JOIN product p ON p.id = d.product_id WHERE "
+                + SYNTHETIC_PRODUCT + " AND d.expiration_date > CURRENT_TIMESTAMP") > 0, "No active deal");
+
+        assertEquals(40, count("SELECT COUNT(*) FROM \"user\" u WHERE " + SYNTHETIC_USER));
+        assertEquals(40, count("""
+                SELECT COUNT(*) FROM "user" u
+                JOIN user_roles ur ON ur.user_id = u.id
+                JOIN role r ON r.id = ur.role_id
+                WHERE r.name = 'CUSTOMER' AND\s""" + SYNTHETIC_USER));
+    }
+
+    @Test
+    void run_ShouldGenerateConsistentOrderHistory() {
+        long orders = count("SELECT COUNT(*) FROM order_table o JOIN \"user\" u ON u.id = o.user_id WHERE " + SYNTHETIC_USER);
+        assertTrue(orders > 0, "No orders generated");
+        assertEquals(orders, count("""
+                SELECT COUNT(*) FROM basket b JOIN "user" u ON u.id = b.user_id
+                WHERE b.status = 'CHECKED_OUT' AND\s""" + SYNTHETIC_USER));
+        assertEquals(0, count("""
+                SELECT COUNT(*) FROM order_table o JOIN "user" u ON u.id = o.user_id
+                WHERE (o.final_amount <> o.total_amount - o.total_discount
+                   OR o.total_amount <> (SELECT SUM(i.total_price) FROM order_item i WHERE i.order_id = o.id))
+                  AND\s""" + SYNTHETIC_USER));
+        assertTrue(count("""
+                SELECT COUNT(*) FROM basket b JOIN "user" u ON u.id = b.user_id
+                WHERE b.status = 'ACTIVE' AND\s""" + SYNTHETIC_USER) <= 40);
+    }
+
+    @Test
+    void run_ShouldLeaveIdentityColumnsPastGeneratedIds() {
+        // Given
+        long maxId = count("SELECT MAX(id) FROM product");
+        Product product = new Product();
+        product.setName("Inserted after generation");
+        product.setPrice(BigDecimal.TEN);
+        product.setStock(1);
+        product.setCategory("Accessories");
+
+        // When
+        Product saved = productRepository.save(product);
+
+        // Then
+        assertTrue(saved.getId() > maxId);
+        productRepository.delete(saved);
+    }
+
+    @Test
+    void run_WhenAlreadyGenerated_ShouldSkip() {
+        // Given
+        long products = count("SELECT COUNT(*) FROM product");
+        long orders = count("SELECT COUNT(*) FROM order_table");
+
+        // When
+        syntheticDataGenerator.run();
+
+        // Then
+        assertEquals(products, count("SELECT COUNT(*) FROM product"));
+        assertEquals(orders, count("SELECT COUNT(*) FROM order_table"));
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
@@ -0,0 +1,82 @@
+package com.altech.electronicstore.controller;
+
+import com.altech.electronicstore.service.OrderExportService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AdminOrderControllerTest {
+
+    @Mock
+    private OrderExportService orderExportService;
+
+    @InjectMocks
+    private AdminOrderController adminOrderController;
+
+    private final LocalDateTime from = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private final LocalDateTime to = LocalDateTime.of(2025, 2, 1, 0, 0);
+
+    @Test
+    void exportOrders_WithNdjsonFormat_ShouldStreamNdjson() throws Exception {
+        // When
+        ResponseEntity<StreamingResponseBody> response = adminOrderController.exportOrders(from, to, "ndjson");
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("application/x-ndjson;charset=UTF-8", response.getHeaders().getContentType().toString());
+        assertNotNull(response.getBody());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        verify(orderExportService).exportNdjson(eq(from), eq(to), any());
+        verify(orderExportService, never()).exportCsv(any(), any(), any());
+    }
+
+    @Test
+    void exportOrders_WithCsvFormat_ShouldStreamCsv() throws Exception {
+        // When
+        ResponseEntity<StreamingResponseBody> response = adminOrderController.exportOrders(from, to, "CSV");
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("text/csv;charset=UTF-8", response.getHeaders().getContentType().toString());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        verify(orderExportService).exportCsv(eq(from), eq(to), any());
+    }
+
+    @Test
+    void exportOrders_WithUnknownFormat_ShouldReturnBadRequest() {
+        // When
+        ResponseEntity<StreamingResponseBody> response = adminOrderController.exportOrders(from, to, "xml");
+
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verifyNoInteractions(orderExportService);
+    }
+
+    @Test
+    void exportOrders_WithInvertedRange_ShouldReturnBadRequest() {
+        // When
+        ResponseEntity<StreamingResponseBody> response = adminOrderController.exportOrders(to, from, "ndjson");
+
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verifyNoInteractions(orderExportService);
+    }
+}
@@ -1,9 +1,15 @@
 package com.altech.electronicstore.controller;
 
 import com.altech.electronicstore.dto.product.ProductDto;
+import com.altech.electronicstore.dto.product.ProductBulkUpdateRequest;
+import com.altech.electronicstore.dto.product.ProductBulkUpdateResultDto;
+import com.altech.electronicstore.dto.product.ProductDeltaDto;
+import com.altech.electronicstore.dto.product.ProductImportResultDto;
 import com.altech.electronicstore.dto.product.ProductResponseDto;
 import com.altech.electronicstore.entity.Product;
 import com.altech.electronicstore.mapper.ProductMapper;
+import com.altech.electronicstore.service.ProductBulkUpdateService;
+import com.altech.electronicstore.service.ProductImportService;
 import com.altech.electronicstore.service.ProductService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,6 +21,7 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -26,6 +33,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,6 +45,12 @@ class AdminProductControllerTest {
     @Mock
     private ProductMapper productMapper;
 
+    @Mock
+    private ProductImportService productImportService;
+
+    @Mock
+    private ProductBulkUpdateService productBulkUpdateService;
+
     @InjectMocks
     private AdminProductController adminProductController;
 
@@ -217,6 +231,62 @@ class AdminProductControllerTest {
         verify(productService).deleteProduct(productId);
     }
 
+    @Test
+    void importProducts_WithCsvBody_ShouldDelegateToCsvImport() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContentType("text/csv; charset=UTF-8");
+        request.setContent("name,price,stock,category\n".getBytes());
+        ProductImportResultDto result = new ProductImportResultDto();
+        when(productImportService.importCsv(any(), eq(250))).thenReturn(result);
+
+        // When
+        ResponseEntity<ProductImportResultDto> response = adminProductController.importProducts(250, request);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(result, response.getBody());
+        verify(productImportService, never()).importNdjson(any(), any());
+    }
+
+    @Test
+    void importProducts_WithNdjsonBody_ShouldDelegateToNdjsonImport() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContentType("application/x-ndjson");
+        request.setContent("{}\n".getBytes());
+        ProductImportResultDto result = new ProductImportResultDto();
+        when(productImportService.importNdjson(any(), isNull())).thenReturn(result);
+
+        // When
+        ResponseEntity<ProductImportResultDto> response = adminProductController.importProducts(null, request);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(result, response.getBody());
+        verify(productImportService, never()).importCsv(any(), any());
+    }
+
+    @Test
+    void bulkUpdateProducts_ShouldReturnChangeCounts() {
+        // Given
+        List<ProductDeltaDto> updates = List.of(
+                new ProductDeltaDto(1L, new BigDecimal("949.99"), null, null),
+                new ProductDeltaDto(2L, null, 0, false));
+        ProductBulkUpdateRequest request = new ProductBulkUpdateRequest();
+        request.setUpdates(updates);
+        ProductBulkUpdateResultDto result = new ProductBulkUpdateResultDto(2, 1, 1, 3L);
+        when(productBulkUpdateService.applyDeltas(updates)).thenReturn(result);
+
+        // When
+        ResponseEntity<ProductBulkUpdateResultDto> response = adminProductController.bulkUpdateProducts(request);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().getChanged());
+        assertEquals(1, response.getBody().getSkipped());
+    }
+
     // Helper methods
     private Product createProduct(Long id, String name, String category, BigDecimal price) {
         Product product = new Product();
@@ -0,0 +1,111 @@
+package com.altech.electronicstore.controller;
+
+import com.altech.electronicstore.dto.sales.CategorySalesDto;
+import com.altech.electronicstore.dto.sales.ProductSalesDto;
+import com.altech.electronicstore.dto.sales.SalesPointDto;
+import com.altech.electronicstore.service.SalesRollupService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AdminSalesControllerTest {
+
+    @Mock
+    private SalesRollupService salesRollupService;
+
+    @InjectMocks
+    private AdminSalesController adminSalesController;
+
+    private final LocalDateTime from = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private final LocalDateTime to = LocalDateTime.of(2025, 2, 1, 0, 0);
+
+    @Test
+    void getTopProducts_ByUnits_ShouldReturnRanking() {
+        // Given
+        List<ProductSalesDto> ranking = List.of(
+                new ProductSalesDto(1L, "Laptops", 12L, new BigDecimal("1200.00"), BigDecimal.ZERO));
+        when(salesRollupService.getTopProducts(from, to, 5, true)).thenReturn(ranking);
+
+        // When
+        ResponseEntity<List<ProductSalesDto>> response = adminSalesController.getTopProducts(from, to, 5, "units");
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(ranking, response.getBody());
+    }
+
+    @Test
+    void getTopProducts_WithUnknownMetric_ShouldReturnBadRequest() {
+        // When
+        ResponseEntity<List<ProductSalesDto>> response = adminSalesController.getTopProducts(from, to, 5, "margin");
+
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verifyNoInteractions(salesRollupService);
+    }
+
+    @Test
+    void getCategoryTotals_ShouldReturnTotals() {
+        // Given
+        List<CategorySalesDto> totals = List.of(
+                new CategorySalesDto("Audio", 3L, new BigDecimal("300.00"), new BigDecimal("30.00")));
+        when(salesRollupService.getCategoryTotals(from, to)).thenReturn(totals);
+
+        // When
+        ResponseEntity<List<CategorySalesDto>> response = adminSalesController.getCategoryTotals(from, to);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(totals, response.getBody());
+    }
+
+    @Test
+    void getRevenueSeries_WithDailyGranularity_ShouldAskForDailyBuckets() {
+        // Given
+        List<SalesPointDto> series = List.of(new SalesPointDto(from, 1L, BigDecimal.TEN, BigDecimal.ZERO));
+        when(salesRollupService.getRevenueSeries(from, to, "Audio", true)).thenReturn(series);
+
+        // When
+        ResponseEntity<List<SalesPointDto>> response = adminSalesController.getRevenueSeries(from, to, "day", "Audio");
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(series, response.getBody());
+    }
+
+    @Test
+    void getRevenueSeries_WithUnknownGranularity_ShouldReturnBadRequest() {
+        // When
+        ResponseEntity<List<SalesPointDto>> response = adminSalesController.getRevenueSeries(from, to, "week", null);
+
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verifyNoInteractions(salesRollupService);
+    }
+
+    @Test
+    void backfill_ShouldReturnRowCount() {
+        // Given
+        when(salesRollupService.backfill(from, to)).thenReturn(42);
+
+        // When
+        ResponseEntity<Map<String, Integer>> response = adminSalesController.backfill(from, to);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(42, response.getBody().get("rollupRows"));
+    }
+}
@@ -1,14 +1,31 @@
 package com.altech.electronicstore.controller;
 
+import com.altech.electronicstore.config.JacksonConfig;
+import com.altech.electronicstore.dto.product.ProductCursorPageDto;
+import com.altech.electronicstore.dto.product.ProductFacetsDto;
 import com.altech.electronicstore.dto.product.ProductResponseDto;
+import com.altech.electronicstore.dto.product.ProductSearchResultDto;
+import com.altech.electronicstore.dto.product.ProductSnapshot;
 import com.altech.electronicstore.entity.Product;
+import com.altech.electronicstore.event.ProductsChangedEvent;
 import com.altech.electronicstore.exception.ProductNotFoundException;
 import com.altech.electronicstore.mapper.ProductMapper;
+import com.altech.electronicstore.repository.DealRepository;
+import com.altech.electronicstore.repository.ProductSortKey;
+import com.altech.electronicstore.service.CatalogVersion;
+import com.altech.electronicstore.service.ProductJsonCache;
+import com.altech.electronicstore.service.ProductListingService;
+import com.altech.electronicstore.service.ProductSearchService;
 import com.altech.electronicstore.service.ProductService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -16,14 +33,20 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
@@ -36,6 +59,20 @@ class ProductControllerTest {
     @Mock
     private ProductMapper productMapper;
 
+    @Mock
+    private ProductListingService productListingService;
+
+    @Mock
+    private ProductSearchService productSearchService;
+
+    @Spy
+    private CatalogVersion catalogVersion = new CatalogVersion(mock(DealRepository.class), event -> { });
+
+    private final ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+
+    @Spy
+    private ProductJsonCache productJsonCache = new ProductJsonCache(objectMapper, new SimpleMeterRegistry(), 100, 60);
+
     @InjectMocks
     private ProductController productController;
 
@@ -52,23 +89,19 @@ class ProductControllerTest {
         Boolean availability = true;
 
         // Prepare mock data
-        Product product1 = new Product();
-        Product product2 = new Product();
-
-        List<Product> products = List.of(product1, product2);
-        Page<Product> productPage = new PageImpl<>(products);
         ProductResponseDto dto1 = new ProductResponseDto();
+        dto1.setId(1L);
         ProductResponseDto dto2 = new ProductResponseDto();
+        dto2.setId(2L);
+        Page<ProductResponseDto> productPage = new PageImpl<>(List.of(dto1, dto2));
 
         // Mocking
-        when(productService.getFilteredProducts(eq(category), eq(minPrice), eq(maxPrice), eq(availability), any()))
+        when(productListingService.getProductListing(eq(category), eq(minPrice), eq(maxPrice), eq(availability), any()))
             .thenReturn(productPage);
-        when(productMapper.toProductResponseDto(product1)).thenReturn(dto1);
-        when(productMapper.toProductResponseDto(product2)).thenReturn(dto2);
 
         // Call controller method
-        ResponseEntity<Page<ProductResponseDto>> response = productController.getAllProducts(
-            page, size, sortBy, sortDir, category, minPrice, maxPrice, availability
+        ResponseEntity<Page<RawValue>> response = productController.getAllProducts(
+            page, size, sortBy, sortDir, category, minPrice, maxPrice, availability, null
         );
 
         // Assertions
@@ -80,70 +113,66 @@ class ProductControllerTest {
     @Test
     void getAllProducts_WithDefaultParameters_ShouldReturnPagedProducts() {
         // Given
-        Product product = createProduct(1L, "Test Product", "Electronics", BigDecimal.valueOf(100.00));
-        Page<Product> productPage = new PageImpl<>(Collections.singletonList(product));
         ProductResponseDto productDto = createProductResponseDto(1L, "Test Product", "Electronics", BigDecimal.valueOf(100.00));
+        Page<ProductResponseDto> productPage = new PageImpl<>(Collections.singletonList(productDto));
         
-        when(productService.getFilteredProducts(any(), any(), any(), any(), any(Pageable.class)))
+        when(productListingService.getProductListing(any(), any(), any(), any(), any(Pageable.class)))
                 .thenReturn(productPage);
-        when(productMapper.toProductResponseDto(any(Product.class))).thenReturn(productDto);
 
         // When
-        ResponseEntity<Page<ProductResponseDto>> response = productController.getAllProducts(
-                0, 10, "name", "asc", null, null, null, null);
+        ResponseEntity<Page<RawValue>> response = productController.getAllProducts(
+                0, 10, "name", "asc", null, null, null, null, null);
 
         // Then
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         assertEquals(1, response.getBody().getContent().size());
-        assertEquals("Test Product", response.getBody().getContent().get(0).getName());
-        assertEquals("Electronics", response.getBody().getContent().get(0).getCategory());
-        assertEquals(BigDecimal.valueOf(100.00), response.getBody().getContent().get(0).getPrice());
+        assertEquals("Test Product", content(response).get(0).getName());
+        assertEquals("Electronics", content(response).get(0).getCategory());
+        assertEquals(BigDecimal.valueOf(100.00), content(response).get(0).getPrice());
 
-        verify(productService).getFilteredProducts(any(), any(), any(), any(), any(Pageable.class));
-        verify(productMapper).toProductResponseDto(any(Product.class));
+        verify(productListingService).getProductListing(any(), any(), any(), any(), any(Pageable.class));
+        verify(productMapper, never()).toProductResponseDto(any(Product.class));
     }
 
     @Test
     void getAllProducts_WithCustomParameters_ShouldReturnFilteredProducts() {
         // Given
-        Product product = createProduct(1L, "Laptop", "Electronics", BigDecimal.valueOf(1200.00));
         ProductResponseDto productDto = createProductResponseDto(1L, "Laptop", "Electronics", BigDecimal.valueOf(1200.00));
         
-        Page<Product> productPage = new PageImpl<>(Collections.singletonList(product));
+        Page<ProductResponseDto> productPage = new PageImpl<>(Collections.singletonList(productDto));
         
-        when(productService.getFilteredProducts(any(), any(), any(), any(), any(Pageable.class)))
+        when(productListingService.getProductListing(any(), any(), any(), any(), any(Pageable.class)))
                 .thenReturn(productPage);
-        when(productMapper.toProductResponseDto(any(Product.class))).thenReturn(productDto);
 
         // When
-        ResponseEntity<Page<ProductResponseDto>> response = productController.getAllProducts(
+        ResponseEntity<Page<RawValue>> response = productController.getAllProducts(
                 0, 5, "price", "desc", "Electronics", 
-                BigDecimal.valueOf(1000), BigDecimal.valueOf(2000), true);
+                BigDecimal.valueOf(1000), BigDecimal.valueOf(2000), true, null);
 
         // Then
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         assertEquals(1, response.getBody().getContent().size());
-        assertEquals("Laptop", response.getBody().getContent().get(0).getName());
-        assertEquals("Electronics", response.getBody().getContent().get(0).getCategory());
-        assertEquals(BigDecimal.valueOf(1200.00), response.getBody().getContent().get(0).getPrice());
+        assertEquals("Laptop", content(response).get(0).getName());
+        assertEquals("Electronics", content(response).get(0).getCategory());
+        assertEquals(BigDecimal.valueOf(1200.00), content(response).get(0).getPrice());
 
-        verify(productService).getFilteredProducts(any(), any(), any(), any(), any(Pageable.class));
-        verify(productMapper).toProductResponseDto(any(Product.class));
+        verify(productListingService).getProductListing(eq("Electronics"), eq(BigDecimal.valueOf(1000)),
+                eq(BigDecimal.valueOf(2000)), eq(true), any(Pageable.class));
     }
 
     @Test
     void getAllProducts_WithEmptyResult_ShouldReturnEmptyPage() {
         // Given
-        Page<Product> emptyPage = new PageImpl<>(Collections.emptyList());
+        Page<ProductResponseDto> emptyPage = new PageImpl<>(Collections.emptyList());
         
-        when(productService.getFilteredProducts(any(), any(), any(), any(), any(Pageable.class)))
+        when(productListingService.getProductListing(any(), any(), any(), any(), any(Pageable.class)))
                 .thenReturn(emptyPage);
 
         // When
-        ResponseEntity<Page<ProductResponseDto>> response = productController.getAllProducts(
-                0, 10, "name", "asc", null, null, null, null);
+        ResponseEntity<Page<RawValue>> response = productController.getAllProducts(
+                0, 10, "name", "asc", null, null, null, null, null);
 
         // Then
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -151,41 +180,34 @@ class ProductControllerTest {
         assertEquals(0, response.getBody().getContent().size());
         assertEquals(0, response.getBody().getTotalElements());
 
-        verify(productService).getFilteredProducts(any(), any(), any(), any(), any(Pageable.class));
+        verify(productListingService).getProductListing(any(), any(), any(), any(), any(Pageable.class));
         verify(productMapper, never()).toProductResponseDto(any());
     }
 
     @Test
     void getAllProducts_WithMultipleProducts_ShouldReturnAllProducts() {
         // Given
-        Product product1 = createProduct(1L, "Laptop", "Electronics", BigDecimal.valueOf(1200.00));
-        Product product2 = createProduct(2L, "Mouse", "Electronics", BigDecimal.valueOf(50.00));
-        
         ProductResponseDto productDto1 = createProductResponseDto(1L, "Laptop", "Electronics", BigDecimal.valueOf(1200.00));
         ProductResponseDto productDto2 = createProductResponseDto(2L, "Mouse", "Electronics", BigDecimal.valueOf(50.00));
         
-        Page<Product> productPage = new PageImpl<>(Arrays.asList(product1, product2));
+        Page<ProductResponseDto> productPage = new PageImpl<>(Arrays.asList(productDto1, productDto2));
         
-        when(productService.getFilteredProducts(any(), any(), any(), any(), any(Pageable.class)))
+        when(productListingService.getProductListing(any(), any(), any(), any(), any(Pageable.class)))
                 .thenReturn(productPage);
-        when(productMapper.toProductResponseDto(product1)).thenReturn(productDto1);
-        when(productMapper.toProductResponseDto(product2)).thenReturn(productDto2);
 
         // When
-        ResponseEntity<Page<ProductResponseDto>> response = productController.getAllProducts(
-                0, 10, "name", "asc", null, null, null, null);
+        ResponseEntity<Page<RawValue>> response = productController.getAllProducts(
+                0, 10, "name", "asc", null, null, null, null, null);
 
         // Then
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         assertEquals(2, response.getBody().getContent().size());
-        assertEquals("Laptop", response.getBody().getContent().get(0).getName());
-        assertEquals("Mouse", response.getBody().getContent().get(1).getName());
+        assertEquals("Laptop", content(response).get(0).getName());
+        assertEquals("Mouse", content(response).get(1).getName());
         assertEquals(2, response.getBody().getTotalElements());
 
-        verify(productService).getFilteredProducts(any(), any(), any(), any(), any(Pageable.class));
-        verify(productMapper).toProductResponseDto(product1);
-        verify(productMapper).toProductResponseDto(product2);
+        verify(productListingService).getProductListing(any(), any(), any(), any(), any(Pageable.class));
     }
 
     @Test
@@ -195,20 +217,23 @@ class ProductControllerTest {
         Product product = createProduct(productId, "Test Product", "Electronics", BigDecimal.valueOf(100.00));
         ProductResponseDto productDto = createProductResponseDto(productId, "Test Product", "Electronics", BigDecimal.valueOf(100.00));
         
+        when(productService.findSnapshot(productId)).thenReturn(Optional.of(ProductSnapshot.from(product)));
         when(productService.getProductById(productId)).thenReturn(product);
         when(productMapper.toProductResponseDto(product)).thenReturn(productDto);
 
         // When
-        ResponseEntity<ProductResponseDto> response = productController.getProductById(productId);
+        ResponseEntity<byte[]> response = productController.getProductById(productId, null);
 
         // Then
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        assertEquals(1L, response.getBody().getId());
-        assertEquals("Test Product", response.getBody().getName());
-        assertEquals("Electronics", response.getBody().getCategory());
-        assertEquals(BigDecimal.valueOf(100.00), response.getBody().getPrice());
-        assertEquals(true, response.getBody().getAvailability());
+        ProductResponseDto body = read(response.getBody(), ProductResponseDto.class);
+        assertEquals(1L, body.getId());
+        assertEquals("Test Product", body.getName());
+        assertEquals("Electronics", body.getCategory());
+        assertEquals(BigDecimal.valueOf(100.00), body.getPrice());
+        assertEquals(true, body.getAvailability());
+        assertEquals(catalogVersion.productETag(productId, product.getUpdatedAt()), response.getHeaders().getETag());
 
         verify(productService).getProductById(productId);
         verify(productMapper).toProductResponseDto(product);
@@ -219,22 +244,61 @@ class ProductControllerTest {
         // Given
         Long productId = 999L;
         
-        when(productService.getProductById(productId))
-                .thenThrow(new ProductNotFoundException("Product not found with id: " + productId));
+        when(productService.findSnapshot(productId)).thenReturn(Optional.empty());
 
         // When & Then
         try {
-            productController.getProductById(productId);
+            productController.getProductById(productId, null);
             // Should not reach here
             assertEquals(true, false, "Expected ProductNotFoundException to be thrown");
         } catch (ProductNotFoundException e) {
             assertEquals("Product not found with id: " + productId, e.getMessage());
         }
 
-        verify(productService).getProductById(productId);
+        verify(productService, never()).getProductById(productId);
         verify(productMapper, never()).toProductResponseDto(any());
     }
 
+    @Test
+    void getProductById_WithMatchingETag_ShouldReturnNotModifiedWithoutLoadingProduct() {
+        // Given
+        Product product = createProduct(1L, "Test Product", "Electronics", BigDecimal.TEN);
+        when(productService.findSnapshot(1L)).thenReturn(Optional.of(ProductSnapshot.from(product)));
+        String etag = catalogVersion.productETag(1L, product.getUpdatedAt());
+
+        // When
+        ResponseEntity<byte[]> response = productController.getProductById(1L, "\"other\", W/" + etag);
+
+        // Then
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals(etag, response.getHeaders().getETag());
+        verify(productService, never()).getProductById(any());
+        verifyNoInteractions(productMapper);
+    }
+
+    @Test
+    void getAllProducts_WithStaleETag_ShouldReturnFreshPageWithValidators() {
+        // Given
+        String staleETag = catalogVersion.etag("products");
+        catalogVersion.onProductsChanged(new ProductsChangedEvent(Set.of(1L)));
+        when(productListingService.getProductListing(any(), any(), any(), any(), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(Collections.emptyList()));
+
+        // When
+        ResponseEntity<Page<RawValue>> response = productController.getAllProducts(
+                0, 10, "name", "asc", null, null, null, null, staleETag);
+        ResponseEntity<List<String>> categories = productController.getCategories(catalogVersion.etag("categories"));
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(catalogVersion.etag("products"), response.getHeaders().getETag());
+        assertEquals(catalogVersion.lastModified().toEpochMilli(), response.getHeaders().getLastModified());
+        assertTrue(response.getHeaders().getCacheControl().contains("public"));
+        assertEquals(HttpStatus.NOT_MODIFIED, categories.getStatusCode());
+        verify(productService, never()).getCategories();
+    }
+
     @Test
     void getCategories_ShouldReturnAllCategories() {
         // Given
@@ -243,7 +307,7 @@ class ProductControllerTest {
         when(productService.getCategories()).thenReturn(categories);
 
         // When
-        ResponseEntity<List<String>> response = productController.getCategories();
+        ResponseEntity<List<String>> response = productController.getCategories(null);
 
         // Then
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -263,7 +327,7 @@ class ProductControllerTest {
         when(productService.getCategories()).thenReturn(Collections.emptyList());
 
         // When
-        ResponseEntity<List<String>> response = productController.getCategories();
+        ResponseEntity<List<String>> response = productController.getCategories(null);
 
         // Then
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -273,7 +337,90 @@ class ProductControllerTest {
         verify(productService).getCategories();
     }
 
+    @Test
+    void getFacets_ShouldReturnFacetsForCategory() {
+        // Given
+        ProductFacetsDto facets = new ProductFacetsDto(
+                List.of(new ProductFacetsDto.CategoryFacet("Laptops", 2)),
+                List.of(new ProductFacetsDto.PriceRangeFacet(BigDecimal.ZERO, null, 2)));
+        when(productService.getFacets("Laptops")).thenReturn(facets);
+
+        // When
+        ResponseEntity<ProductFacetsDto> response = productController.getFacets("Laptops");
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(facets, response.getBody());
+    }
+
+    @Test
+    void getProductsByCursor_ShouldResolveWhitelistedSortKey() {
+        // Given
+        ProductCursorPageDto slice = new ProductCursorPageDto(List.of(
+                createProductResponseDto(1L, "Laptop", "Electronics", BigDecimal.TEN)), 1, true, "next");
+        when(productListingService.getProductSlice("Electronics", ProductSortKey.PRICE, true, "abc", 1)).thenReturn(slice);
+
+        // When
+        ResponseEntity<ProductCursorPageDto> response = productController.getProductsByCursor("abc", 1, "price", "desc", "Electronics");
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(slice, response.getBody());
+    }
+
+    @Test
+    void getProductsByCursor_WithUnsupportedSortField_ShouldReturnBadRequest() {
+        // When
+        ResponseEntity<ProductCursorPageDto> response = productController.getProductsByCursor(null, 10, "description", "asc", null);
+
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verifyNoInteractions(productListingService);
+    }
+
+    @Test
+    void searchProducts_ShouldReturnSearchResult() {
+        // Given
+        ProductSearchResultDto result = new ProductSearchResultDto("laptop", 1, 0, 10, List.of(
+                new ProductSearchResultDto.Hit(1.5, createProductResponseDto(1L, "Laptop", "Electronics", BigDecimal.TEN))));
+        when(productSearchService.search("laptop", 0, 10)).thenReturn(result);
+
+        // When
+        ResponseEntity<ProductSearchResultDto> response = productController.searchProducts("laptop", 0, 10);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(result, response.getBody());
+    }
+
+    @Test
+    void searchProducts_WithBlankQuery_ShouldReturnBadRequest() {
+        // When
+        ResponseEntity<ProductSearchResultDto> response = productController.searchProducts("  ", 0, 10);
+
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verifyNoInteractions(productSearchService);
+    }
+
     // Helper methods
+    private List<ProductResponseDto> content(ResponseEntity<Page<RawValue>> response) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(response.getBody().getContent());
+            return objectMapper.readValue(json, new TypeReference<List<ProductResponseDto>>() { });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private <T> T read(byte[] json, Class<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     private Product createProduct(Long id, String name, String category, BigDecimal price) {
         Product product = new Product();
         product.setId(id);
@@ -300,4 +447,4 @@ class ProductControllerTest {
                 .deals(Collections.emptyList())
                 .build();
     }
-}
\ No newline at end of file
+}
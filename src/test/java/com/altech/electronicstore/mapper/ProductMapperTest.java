@@ -15,10 +15,12 @@ import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -153,6 +155,23 @@ class ProductMapperTest {
         assertEquals(2, result.getDeals().size());
     }
 
+    @Test
+    void toProductResponseDto_ShouldOrderDealsById() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        Product product = createProduct(1L, "Test Product", "Electronics",
+                                      BigDecimal.valueOf(200.00), 15, true, now, now);
+        product.setDeals(new LinkedHashSet<>(List.of(createDeal(30L, "Deal 30"), createDeal(4L, "Deal 4"), createDeal(17L, "Deal 17"))));
+        when(dealMapper.toDealResponseDto(any(Deal.class)))
+                .thenAnswer(invocation -> createDealResponseDto(invocation.<Deal>getArgument(0).getId(), "Deal"));
+
+        // When
+        ProductResponseDto result = productMapper.toProductResponseDto(product);
+
+        // Then
+        assertEquals(List.of(4L, 17L, 30L), result.getDeals().stream().map(DealResponseDto::getId).toList());
+    }
+
     // Helper methods
     private Product createProduct(Long id, String name, String category, 
                                 BigDecimal price, Integer stock, Boolean availability,
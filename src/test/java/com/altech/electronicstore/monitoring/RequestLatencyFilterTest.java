@@ -0,0 +1,86 @@
+package com.altech.electronicstore.monitoring;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestLatencyFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void doFilter_ShouldRecordLatencyByRouteAndAuthAndSampleSlowRequest() throws Exception {
+        // Given
+        SlowRequestLog slowRequestLog = new SlowRequestLog(0, 10);
+        RequestLatencyFilter filter = new RequestLatencyFilter(meterRegistry, slowRequestLog);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products/42");
+        FilterChain chain = (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/products/{id}");
+            RequestProfile.markAuthenticated();
+            RequestProfile.recordJwt(2_000_000);
+            RequestProfile.recordPermissionCheck(1_000_000);
+            RequestProfile.recordSqlStatement();
+            RequestProfile.recordSqlStatement();
+        };
+
+        // When
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // Then
+        assertEquals(1, meterRegistry.get(RequestLatencyFilter.METRIC)
+                .tag("method", "GET").tag("route", "/api/products/{id}").tag("auth", "authenticated")
+                .timer().count());
+
+        List<SlowRequestSample> samples = slowRequestLog.snapshot();
+        assertEquals(1, samples.size());
+        SlowRequestSample sample = samples.get(0);
+        assertEquals("/api/products/{id}", sample.route());
+        assertEquals("/api/products/42", sample.uri());
+        assertEquals(200, sample.status());
+        assertTrue(sample.authenticated());
+        assertEquals(2, sample.sqlStatements());
+        assertEquals(2.0, sample.jwtMs());
+        assertEquals(1.0, sample.permissionCheckMs());
+    }
+
+    @Test
+    void doFilter_WhenFastAndUnmatched_ShouldGroupRouteAndNotSample() throws Exception {
+        // Given
+        SlowRequestLog slowRequestLog = new SlowRequestLog(60_000, 10);
+        RequestLatencyFilter filter = new RequestLatencyFilter(meterRegistry, slowRequestLog);
+        FilterChain chain = (req, res) -> ((HttpServletResponse) res).setStatus(404);
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("GET", "/no/such/path"), new MockHttpServletResponse(), chain);
+
+        // Then
+        assertEquals(1, meterRegistry.get(RequestLatencyFilter.METRIC)
+                .tag("route", "NOT_FOUND").tag("auth", "anonymous")
+                .timer().count());
+        assertTrue(slowRequestLog.snapshot().isEmpty());
+    }
+
+    @Test
+    void recordOutsideRequest_ShouldBeIgnored() {
+        // When & Then
+        assertDoesNotThrow(() -> {
+            RequestProfile.recordSqlStatement();
+            RequestProfile.recordJwt(1);
+            RequestProfile.markAuthenticated();
+        });
+    }
+}
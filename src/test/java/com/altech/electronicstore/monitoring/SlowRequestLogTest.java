@@ -0,0 +1,43 @@
+package com.altech.electronicstore.monitoring;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlowRequestLogTest {
+
+    @Test
+    void record_WhenFull_ShouldOverwriteOldestAndReturnNewestFirst() {
+        // Given
+        SlowRequestLog slowRequestLog = new SlowRequestLog(100, 3);
+        Instant now = Instant.now();
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            slowRequestLog.record(sample("/r" + i, now.plusMillis(i)));
+        }
+
+        // Then
+        List<SlowRequestSample> samples = slowRequestLog.snapshot();
+        assertEquals(List.of("/r4", "/r3", "/r2"), samples.stream().map(SlowRequestSample::uri).toList());
+        assertEquals(5, slowRequestLog.recorded());
+        assertEquals(3, slowRequestLog.capacity());
+    }
+
+    @Test
+    void isSlow_ShouldCompareAgainstThreshold() {
+        // Given
+        SlowRequestLog slowRequestLog = new SlowRequestLog(100, 3);
+
+        // When & Then
+        assertFalse(slowRequestLog.isSlow(99_999_999));
+        assertTrue(slowRequestLog.isSlow(100_000_000));
+    }
+
+    private SlowRequestSample sample(String uri, Instant startedAt) {
+        return new SlowRequestSample(startedAt, "GET", "/r{n}", uri, 200, false, 150, 1, 0, 0);
+    }
+}
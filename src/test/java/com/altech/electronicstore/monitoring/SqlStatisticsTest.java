@@ -0,0 +1,59 @@
+package com.altech.electronicstore.monitoring;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlStatisticsTest {
+
+    @Test
+    void template_ShouldReplaceLiteralsAndFoldParameterLists() {
+        assertEquals("select p1_0.id from product p1_0 where p1_0.id = ? and p1_0.name = ? limit ?",
+                SqlStatistics.template("select p1_0.id from product p1_0\n  where p1_0.id = 42 and p1_0.name = 'O''Brien' limit 10"));
+        assertEquals("SELECT id FROM item WHERE id IN (?, ...)",
+                SqlStatistics.template("SELECT id FROM item WHERE id IN (?,?, ?)"));
+    }
+
+    @Test
+    void top_ShouldAggregatePerTemplateAndSortDescending() {
+        // Given
+        SqlStatistics statistics = new SqlStatistics(new ObjectMapper(), 60_000, 100);
+        statistics.record("SELECT * FROM product WHERE id = 1", "query", 1_000_000, 1, false);
+        statistics.record("SELECT * FROM product WHERE id = 2", "query", 3_000_000, 1, false);
+        statistics.record("UPDATE product SET stock = ? WHERE id = ?", "update", 10_000_000, 0, true);
+
+        // When
+        List<SqlStatistics.SqlStatementStats> byTotal = statistics.top(10, SqlStatistics.SortKey.TOTAL);
+        List<SqlStatistics.SqlStatementStats> byCalls = statistics.top(1, SqlStatistics.SortKey.CALLS);
+
+        // Then
+        assertEquals(2, byTotal.size());
+        assertEquals("UPDATE product SET stock = ? WHERE id = ?", byTotal.get(0).sql());
+        assertEquals(1, byTotal.get(0).errors());
+        SqlStatistics.SqlStatementStats select = byCalls.get(0);
+        assertEquals("SELECT * FROM product WHERE id = ?", select.sql());
+        assertEquals(2, select.calls());
+        assertEquals(2, select.rows());
+        assertEquals(4.0, select.totalMs());
+        assertEquals(2.0, select.meanMs());
+        assertEquals(3.0, select.maxMs());
+    }
+
+    @Test
+    void record_WhenTemplateLimitReached_ShouldFoldIntoOther() {
+        // Given
+        SqlStatistics statistics = new SqlStatistics(new ObjectMapper(), 60_000, 1);
+        statistics.record("SELECT a FROM t", "query", 1, 0, false);
+
+        // When
+        statistics.record("SELECT b FROM t", "query", 1, 0, false);
+        statistics.record("SELECT c FROM t", "query", 1, 0, false);
+
+        // Then
+        assertEquals(2, statistics.templateCount());
+        assertEquals(SqlStatistics.OTHER, statistics.top(1, SqlStatistics.SortKey.CALLS).get(0).sql());
+    }
+}
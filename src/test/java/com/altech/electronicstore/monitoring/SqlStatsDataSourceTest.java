@@ -0,0 +1,88 @@
+package com.altech.electronicstore.monitoring;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlStatsDataSourceTest {
+
+    private SqlStatistics statistics;
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        statistics = new SqlStatistics(new ObjectMapper(), 60_000, 100);
+        dataSource = new SqlStatsDataSource(
+                new DriverManagerDataSource("jdbc:h2:mem:sqlstats;DB_CLOSE_DELAY=-1", "sa", ""), statistics);
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS item");
+            statement.execute("CREATE TABLE item (id INT PRIMARY KEY, name VARCHAR(20))");
+        }
+        statistics.reset();
+    }
+
+    @Test
+    void statements_ShouldBeRecordedPerTemplateWithRowCounts() throws SQLException {
+        // Given
+        try (Connection connection = dataSource.getConnection()) {
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO item (id, name) VALUES (?, ?)")) {
+                for (int id = 1; id <= 3; id++) {
+                    insert.setInt(1, id);
+                    insert.setString(2, "item" + id);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+            try (PreparedStatement select = connection.prepareStatement("SELECT id FROM item WHERE id IN (?, ?)")) {
+                select.setInt(1, 1);
+                select.setInt(2, 2);
+                try (ResultSet resultSet = select.executeQuery()) {
+                    while (resultSet.next()) {
+                        resultSet.getInt(1);
+                    }
+                }
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate("UPDATE item SET name = 'renamed' WHERE id = 3");
+            }
+        }
+
+        // When
+        Map<String, SqlStatistics.SqlStatementStats> byTemplate = statistics.top(10, SqlStatistics.SortKey.CALLS).stream()
+                .collect(Collectors.toMap(SqlStatistics.SqlStatementStats::sql, Function.identity()));
+
+        // Then
+        assertEquals(3, byTemplate.size());
+        assertEquals(3, byTemplate.get("INSERT INTO item (id, name) VALUES (?, ...)").rows());
+        assertEquals(2, byTemplate.get("SELECT id FROM item WHERE id IN (?, ...)").rows());
+        assertEquals(1, byTemplate.get("UPDATE item SET name = ? WHERE id = ?").rows());
+    }
+
+    @Test
+    void failedStatement_ShouldBeRecordedAsError() throws SQLException {
+        // Given
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+
+            // When
+            assertThrows(SQLException.class, () -> statement.executeQuery("SELECT missing FROM item"));
+        }
+
+        // Then
+        SqlStatistics.SqlStatementStats stats = statistics.top(1, SqlStatistics.SortKey.CALLS).get(0);
+        assertEquals("SELECT missing FROM item", stats.sql());
+        assertEquals(1, stats.errors());
+    }
+}
@@ -0,0 +1,64 @@
+package com.altech.electronicstore.monitoring.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BusinessEventsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void register_ShouldRecordEventsWithTheBundledSettings() throws Exception {
+        // Given
+        BusinessEvents.register();
+        Path file = tempDir.resolve("store.jfr");
+
+        // When
+        try (Recording recording = new Recording(settings())) {
+            recording.start();
+            CheckoutEvent checkout = new CheckoutEvent();
+            checkout.begin();
+            checkout.userId = 42;
+            checkout.itemCount = 3;
+            checkout.dealCount = 1;
+            checkout.outcome = "success";
+            checkout.commit();
+            recording.stop();
+            recording.dump(file);
+        }
+
+        // Then
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals("com.altech.electronicstore.Checkout"))
+                .toList();
+        assertEquals(1, events.size());
+        assertEquals(42, events.get(0).getLong("userId"));
+        assertEquals(3, events.get(0).getInt("itemCount"));
+        assertEquals("success", events.get(0).getString("outcome"));
+    }
+
+    @Test
+    void outcome_ShouldBeTheExceptionSimpleName() {
+        assertEquals("IllegalStateException", BusinessEvents.outcome(new IllegalStateException("boom")));
+    }
+
+    private Configuration settings() throws Exception {
+        try (InputStream in = getClass().getResourceAsStream("/jfr/electronic-store.jfc")) {
+            assertNotNull(in, "jfr/electronic-store.jfc missing from the classpath");
+            return Configuration.create(new InputStreamReader(in, StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.altech.electronicstore.repository;
+
+import com.altech.electronicstore.entity.BasketStatus;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs {@code EXPLAIN} on the SQL that Hibernate generates for the hot repository
+ * queries and fails if H2 plans any of them as a table scan. The SQL is recorded from the
+ * real calls rather than written out here, so the check follows the queries as they change.
+ *
+ * <p>Queries that read a whole table by design are deliberately not listed:
+ * {@code findAll}, {@code findAllFacetRows} (category index rebuild), {@code streamSearchRows}
+ * (search index rebuild) and the admin catch-all {@code findFilteredProducts}.
+ */
+@SpringBootTest
+class QueryPlanTest {
+
+    private static final PageRequest PAGE = PageRequest.of(0, 10);
+    /** The index comment in an H2 plan, e.g. {@code PUBLIC.IDX_PRODUCT_...: AVAILABILITY = TRUE AND PRICE >= ?1}. */
+    private static final Pattern INDEX_CONDITION = Pattern.compile("/\\*\\s*PUBLIC\\.[^:*]+:([^*]*)\\*/");
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private DealRepository dealRepository;
+
+    @Autowired
+    private BasketRepository basketRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SqlRecorder sqlRecorder;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void productListingQueries_ShouldUseIndexes() {
+        assertIndexed(() -> productRepository.findAvailableRows(PageRequest.of(0, 10, Sort.by("price", "id"))));
+        assertIndexed(() -> productRepository.findAvailableRowsByCategory("Laptops", PageRequest.of(0, 10, Sort.by("price", "id"))));
+        assertIndexed(() -> productRepository.findAvailableRowsByPriceRange(new BigDecimal("100"), new BigDecimal("1000"), PAGE));
+        assertIndexed(() -> productRepository.findAvailableRowsByCategoryAndPriceRange(
+                "Laptops", new BigDecimal("100"), new BigDecimal("1000"), PAGE));
+        assertIndexed(() -> productRepository.findByAvailabilityTrue(PAGE));
+        assertIndexed(() -> productRepository.findByCategoryAndAvailabilityTrue("Laptops", PAGE));
+        assertIndexed(() -> productRepository.findDistinctCategories());
+    }
+
+    @Test
+    void productKeysetQueries_ShouldUseIndexes() {
+        for (ProductSortKey sortKey : ProductSortKey.values()) {
+            assertIndexed(() -> productRepository.findAvailableRowsAfter(null, sortKey, false, null, null, 10));
+            assertIndexed(() -> productRepository.findAvailableRowsAfter("Laptops", sortKey, true, null, null, 10));
+        }
+        assertIndexed(() -> productRepository.findAvailableRowsAfter(
+                "Laptops", ProductSortKey.PRICE, false, new BigDecimal("500"), 3L, 10));
+    }
+
+    @Test
+    void productKeysetQueries_ShouldReadMatchingIndexInOrder() {
+        assertSortedByIndex("IDX_PRODUCT_AVAILABILITY_ID",
+                () -> productRepository.findAvailableRowsAfter(null, ProductSortKey.ID, false, null, null, 10));
+        assertSortedByIndex("IDX_PRODUCT_AVAILABILITY_CATEGORY_ID",
+                () -> productRepository.findAvailableRowsAfter("Laptops", ProductSortKey.ID, true, null, null, 10));
+        assertSortedByIndex("IDX_PRODUCT_AVAILABILITY_CATEGORY_ID",
+                () -> productRepository.findAvailableRowsAfter(null, ProductSortKey.CATEGORY, false, null, null, 10));
+        assertSortedByIndex("IDX_PRODUCT_AVAILABILITY_NAME",
+                () -> productRepository.findAvailableRowsAfter(null, ProductSortKey.NAME, false, null, null, 10));
+        assertSortedByIndex("IDX_PRODUCT_AVAILABILITY_CATEGORY_NAME",
+                () -> productRepository.findAvailableRowsAfter("Laptops", ProductSortKey.NAME, false, null, null, 10));
+        assertSortedByIndex("IDX_PRODUCT_AVAILABILITY_PRICE",
+                () -> productRepository.findAvailableRowsAfter(null, ProductSortKey.PRICE, true, null, null, 10));
+        assertSortedByIndex("IDX_PRODUCT_AVAILABILITY_CATEGORY_PRICE",
+                () -> productRepository.findAvailableRowsAfter("Laptops", ProductSortKey.PRICE, false, null, null, 10));
+    }
+
+    @Test
+    void productKeysetQueries_AfterCursor_ShouldSeekOnSortKey() {
+        assertIndexCondition("PRICE >=", () -> productRepository.findAvailableRowsAfter(
+                "Laptops", ProductSortKey.PRICE, false, new BigDecimal("500"), 3L, 10));
+        assertIndexCondition("PRICE <=", () -> productRepository.findAvailableRowsAfter(
+                null, ProductSortKey.PRICE, true, new BigDecimal("500"), 3L, 10));
+    }
+
+    @Test
+    void productLookupsById_ShouldUseIndexes() {
+        assertIndexed(() -> productRepository.findListingRowsByIds(List.of(1L, 2L, 3L)));
+        assertIndexed(() -> productRepository.findSearchRowsByIds(List.of(1L, 2L, 3L)));
+        assertIndexed(() -> productRepository.findFacetRowsByIds(List.of(1L, 2L, 3L)));
+    }
+
+    @Test
+    void dealQueries_ShouldUseIndexes() {
+        LocalDateTime now = LocalDateTime.now();
+        assertIndexed(() -> dealRepository.findActiveDealsForProduct(1L, now));
+        assertIndexed(() -> dealRepository.findActiveDealsForProducts(Set.of(1L, 2L), now));
+        assertIndexed(() -> dealRepository.findDealRowsForProducts(List.of(1L, 2L)));
+        assertIndexed(() -> dealRepository.findAllActiveDeals(now));
+        assertIndexed(() -> dealRepository.existsByProductIdAndDealTypeIdAndNotExpired(1L, 1L, now, null));
+    }
+
+    @Test
+    void basketQueries_ShouldUseIndexes() {
+        assertIndexed(() -> basketRepository.findByUserIdAndStatus(2L, BasketStatus.ACTIVE));
+        assertIndexed(() -> basketRepository.findByUserIdAndStatusWithItems(2L, BasketStatus.ACTIVE));
+        assertIndexed(() -> basketRepository.findByUserIdWithItemsOrderByCreatedAtDesc(2L));
+    }
+
+    @Test
+    void orderAndUserQueries_ShouldUseIndexes() {
+        assertIndexed(() -> orderRepository.findByUserIdOrderByOrderDateDesc(2L, PAGE));
+        assertIndexed(() -> userRepository.findByUsername("admin"));
+    }
+
+    /**
+     * Runs {@code call}, then explains every SELECT it issued. Parameters are bound to
+     * {@code NULL}: H2 plans a statement when it is prepared, before any value is known.
+     */
+    private void assertIndexed(Runnable call) {
+        sqlRecorder.clear();
+        call.run();
+        List<String> selects = sqlRecorder.selects();
+        assertFalse(selects.isEmpty(), "No SELECT was recorded");
+
+        List<String> scans = new ArrayList<>();
+        for (String sql : selects) {
+            String plan = explain(sql);
+            if (plan.contains(".tableScan")) {
+                scans.add(plan);
+            }
+        }
+        assertTrue(scans.isEmpty(), () -> "Table scan in query plan:\n" + String.join("\n\n", scans));
+    }
+
+    /**
+     * Runs {@code call} and checks that the condition H2 seeks its chosen index with, which the
+     * plan prints in a comment after the table, contains {@code condition}.
+     */
+    private void assertIndexCondition(String condition, Runnable call) {
+        sqlRecorder.clear();
+        call.run();
+        String plan = explain(sqlRecorder.selects().get(0)).replace("\"", "").toUpperCase(Locale.ROOT);
+        Matcher indexComment = INDEX_CONDITION.matcher(plan);
+        assertTrue(indexComment.find(), () -> "No index in query plan:\n" + plan);
+        assertTrue(indexComment.group(1).contains(condition),
+                () -> "Index condition does not contain '" + condition + "':\n" + plan);
+    }
+
+    /**
+     * Runs {@code call} and checks that H2 reads {@code index} and takes the row order from it
+     * ({@code index sorted}) instead of sorting the matching rows on the fly.
+     */
+    private void assertSortedByIndex(String index, Runnable call) {
+        sqlRecorder.clear();
+        call.run();
+        String plan = explain(sqlRecorder.selects().get(0)).replace("\"", "").toUpperCase(Locale.ROOT);
+        assertTrue(plan.contains("PUBLIC." + index + ":"), () -> "Expected index " + index + " in query plan:\n" + plan);
+        assertTrue(plan.contains("/* INDEX SORTED */"), () -> "Rows are sorted on the fly:\n" + plan);
+    }
+
+    private String explain(String sql) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            int parameters = statement.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameters; i++) {
+                statement.setObject(i, null);
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                StringBuilder plan = new StringBuilder();
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(1));
+                }
+                return plan.toString();
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Cannot explain: " + sql, e);
+        }
+    }
+
+    static class SqlRecorder implements StatementInspector {
+
+        private final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+
+        List<String> selects() {
+            return statements.stream()
+                    .filter(sql -> sql.stripLeading().toLowerCase(Locale.ROOT).startsWith("select"))
+                    .toList();
+        }
+
+        void clear() {
+            statements.clear();
+        }
+    }
+
+    @TestConfiguration
+    static class SqlRecorderConfig {
+
+        @Bean
+        SqlRecorder sqlRecorder() {
+            return new SqlRecorder();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer sqlRecorderCustomizer(SqlRecorder sqlRecorder) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, sqlRecorder);
+        }
+    }
+}
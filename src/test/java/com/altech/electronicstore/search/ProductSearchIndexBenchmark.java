@@ -0,0 +1,87 @@
+package com.altech.electronicstore.search;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Builds the index over 1M synthetic products and measures query latency.
+ * Excluded from {@code test}; run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+class ProductSearchIndexBenchmark {
+
+    private static final int PRODUCTS = 1_000_000;
+    private static final int WARMUP_ROUNDS = 200;
+    private static final int MEASURED_ROUNDS = 1_000;
+
+    private static final String[] BRANDS = {"sony", "samsung", "apple", "dell", "lenovo", "asus", "bose", "logitech", "lg", "hp"};
+    private static final String[] NOUNS = {"laptop", "phone", "tablet", "headphones", "earbuds", "monitor", "keyboard",
+            "mouse", "speaker", "camera", "charger", "watch", "router", "console", "headset", "tv"};
+    private static final String[] ADJECTIVES = {"wireless", "portable", "gaming", "ultra", "slim", "pro", "compact",
+            "smart", "noise", "canceling", "fast", "premium", "budget", "ergonomic", "4k", "bluetooth"};
+    private static final String[] CATEGORIES = {"Laptops", "Smartphones", "Tablets", "Audio", "Displays", "Accessories",
+            "Wearables", "Gaming", "Networking", "TVs"};
+
+    private static final String[] QUERIES = {
+            "laptop",
+            "wireless headphones",
+            "gaming OR console",
+            "head*",
+            "sony noise canceling",
+            "slim laptop OR ultra tablet",
+            "ergo* keyboard"
+    };
+
+    @Test
+    void benchmarkBuildAndQuery() {
+        Random random = new Random(42);
+        ProductSearchIndex index = new ProductSearchIndex();
+
+        long buildStart = System.nanoTime();
+        for (int i = 1; i <= PRODUCTS; i++) {
+            String name = pick(random, BRANDS) + " " + pick(random, ADJECTIVES) + " " + pick(random, NOUNS) + " " + random.nextInt(1000);
+            String description = pick(random, ADJECTIVES) + " " + pick(random, ADJECTIVES) + " " + pick(random, NOUNS)
+                    + " with " + pick(random, ADJECTIVES) + " " + pick(random, NOUNS);
+            index.add(i, name, description, pick(random, CATEGORIES));
+        }
+        long buildMs = (System.nanoTime() - buildStart) / 1_000_000;
+        System.out.printf("Indexed %,d products (%,d terms) in %,d ms (%,.0f products/s)%n",
+                index.size(), index.termCount(), buildMs, PRODUCTS * 1000.0 / Math.max(1, buildMs));
+
+        for (String query : QUERIES) {
+            for (int i = 0; i < WARMUP_ROUNDS; i++) {
+                index.search(query, 0, 10);
+            }
+            long[] latencies = new long[MEASURED_ROUNDS];
+            SearchHits hits = null;
+            for (int i = 0; i < MEASURED_ROUNDS; i++) {
+                long start = System.nanoTime();
+                hits = index.search(query, 0, 10);
+                latencies[i] = System.nanoTime() - start;
+            }
+            Arrays.sort(latencies);
+            System.out.printf("%-30s hits=%,9d  p50=%7.2f ms  p99=%7.2f ms%n", "\"" + query + "\"", hits.totalHits(),
+                    latencies[MEASURED_ROUNDS / 2] / 1e6, latencies[MEASURED_ROUNDS * 99 / 100] / 1e6);
+            assertTrue(hits.totalHits() > 0);
+        }
+
+        long updateStart = System.nanoTime();
+        for (int i = 1; i <= 100_000; i++) {
+            index.add(i, "refurbished " + pick(random, NOUNS), null, pick(random, CATEGORIES));
+            if (index.needsCompaction()) {
+                index.compact();
+            }
+        }
+        System.out.printf("Re-indexed 100,000 products in %,d ms%n", (System.nanoTime() - updateStart) / 1_000_000);
+        assertEquals(PRODUCTS, index.size());
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
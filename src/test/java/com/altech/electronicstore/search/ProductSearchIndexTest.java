@@ -0,0 +1,121 @@
+package com.altech.electronicstore.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSearchIndex();
+        index.add(1L, "Sony WH-1000XM5", "Noise-canceling wireless headphones", "Audio");
+        index.add(2L, "AirPods Pro", "Wireless earbuds with noise cancellation", "Audio");
+        index.add(3L, "MacBook Pro 16", "Powerful laptop for professionals", "Laptops");
+        index.add(4L, "USB-C Headset", "Wired headset for calls", "Accessories");
+    }
+
+    @Test
+    void tokenize_ShouldLowercaseAndSplitOnPunctuation() {
+        assertEquals(List.of("usb", "c", "charger", "65w"), SearchTokenizer.tokenize("USB-C Charger, 65W"));
+        assertTrue(SearchTokenizer.tokenize("  --  ").isEmpty());
+    }
+
+    @Test
+    void search_ShouldAndTermsByDefault() {
+        // When
+        SearchHits hits = index.search("wireless noise", 0, 10);
+
+        // Then
+        assertEquals(2, hits.totalHits());
+        assertArrayEquals(new long[] {1L, 2L}, sorted(hits.productIds()));
+    }
+
+    @Test
+    void search_ShouldUnionOrGroups() {
+        // When
+        SearchHits hits = index.search("laptop OR earbuds", 0, 10);
+
+        // Then
+        assertArrayEquals(new long[] {2L, 3L}, sorted(hits.productIds()));
+    }
+
+    @Test
+    void search_ShouldExpandPrefixTerms() {
+        // When
+        SearchHits hits = index.search("head*", 0, 10);
+
+        // Then (headphones, headset)
+        assertArrayEquals(new long[] {1L, 4L}, sorted(hits.productIds()));
+    }
+
+    @Test
+    void search_ShouldRankRarerAndMoreFrequentTermsHigher() {
+        // Given
+        index.add(5L, "Headset stand", "Stand", "Accessories");
+
+        // When (product 4 mentions "headset" twice)
+        SearchHits hits = index.search("headset", 0, 10);
+
+        // Then
+        assertEquals(4L, hits.productIds()[0]);
+        assertTrue(hits.scores()[0] > hits.scores()[1]);
+    }
+
+    @Test
+    void search_ShouldPageThroughRankedHits() {
+        // When
+        SearchHits all = index.search("pro OR audio OR laptops", 0, 10);
+        SearchHits second = index.search("pro OR audio OR laptops", 1, 1);
+
+        // Then
+        assertEquals(3, all.totalHits());
+        assertEquals(3, second.totalHits());
+        assertArrayEquals(new long[] {all.productIds()[1]}, second.productIds());
+        assertEquals(0, index.search("pro", 5, 10).productIds().length);
+    }
+
+    @Test
+    void add_WhenProductReindexed_ShouldReplaceOldText() {
+        // When
+        index.add(3L, "MacBook Air", "Light laptop", "Laptops");
+
+        // Then
+        assertEquals(0, index.search("powerful", 0, 10).totalHits());
+        assertEquals(1, index.search("air", 0, 10).totalHits());
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void remove_ShouldHideProductAndCompactShouldKeepResults() {
+        // When
+        assertTrue(index.remove(2L));
+        assertFalse(index.remove(2L));
+
+        // Then
+        assertArrayEquals(new long[] {1L}, index.search("wireless", 0, 10).productIds());
+        index.compact();
+        assertArrayEquals(new long[] {1L}, index.search("wireless", 0, 10).productIds());
+        assertEquals(0, index.search("earbuds", 0, 10).totalHits());
+        index.add(6L, "Wireless mouse", null, "Accessories");
+        assertArrayEquals(new long[] {1L, 6L}, sorted(index.search("wireless", 0, 10).productIds()));
+    }
+
+    @Test
+    void search_WithBlankOrUnknownQuery_ShouldReturnNoHits() {
+        assertEquals(0, index.search("   ", 0, 10).totalHits());
+        assertEquals(0, index.search("wireless toaster", 0, 10).totalHits());
+    }
+
+    private long[] sorted(long[] values) {
+        long[] copy = values.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+}
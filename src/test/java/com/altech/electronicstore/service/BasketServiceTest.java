@@ -2,17 +2,21 @@ package com.altech.electronicstore.service;
 
 import com.altech.electronicstore.entity.*;
 import com.altech.electronicstore.exception.BasketNotFoundException;
+import com.altech.electronicstore.exception.BasketStockException;
 import com.altech.electronicstore.exception.InsufficientStockException;
 import com.altech.electronicstore.repository.BasketItemRepository;
 import com.altech.electronicstore.repository.BasketRepository;
 import com.altech.electronicstore.repository.ProductRepository;
 import com.altech.electronicstore.repository.UserRepository;
+import com.altech.electronicstore.dto.basket.StockShortfallDto;
 import com.altech.electronicstore.dto.product.StockValidationResult;
+import io.micrometer.observation.ObservationRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
@@ -45,6 +49,9 @@ class BasketServiceTest {
     @Mock
     private ProductService productService;
 
+    @Spy
+    private CheckoutObservations checkoutObservations = new CheckoutObservations(ObservationRegistry.NOOP);
+
     @InjectMocks
     private BasketService basketService;
 
@@ -383,8 +390,7 @@ class BasketServiceTest {
 
         when(basketRepository.findByUserIdAndStatusWithItems(userId, BasketStatus.ACTIVE))
                 .thenReturn(Optional.of(testBasket));
-        when(productService.hasStock(testProduct.getId(), testBasketItem.getQuantity()))
-                .thenReturn(true);
+        when(productService.findStockShortfalls(anyList())).thenReturn(List.of());
         when(basketRepository.save(any(Basket.class))).thenReturn(testBasket);
 
         // When
@@ -394,6 +400,7 @@ class BasketServiceTest {
         assertNotNull(result);
         assertEquals(BasketStatus.CHECKED_OUT, result.getStatus());
         verify(productService).commitStockReduction(anyList());
+        verify(productRepository).flush();
         verify(basketRepository).save(testBasket);
     }
 
@@ -405,11 +412,12 @@ class BasketServiceTest {
 
         when(basketRepository.findByUserIdAndStatusWithItems(userId, BasketStatus.ACTIVE))
                 .thenReturn(Optional.of(testBasket));
-        when(productService.hasStock(testProduct.getId(), testBasketItem.getQuantity()))
-                .thenReturn(false);
+        StockShortfallDto shortfall = new StockShortfallDto(testProduct.getId(), testProduct.getName(), 20, 10, 10);
+        when(productService.findStockShortfalls(anyList())).thenReturn(List.of(shortfall));
 
         // When & Then
-        assertThrows(RuntimeException.class, () -> basketService.checkoutBasket(userId));
+        BasketStockException exception = assertThrows(BasketStockException.class, () -> basketService.checkoutBasket(userId));
+        assertEquals(List.of(shortfall), exception.getShortfalls());
         verify(productService, never()).commitStockReduction(anyList());
         verify(basketRepository, never()).save(any(Basket.class));
     }
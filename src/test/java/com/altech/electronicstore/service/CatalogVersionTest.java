@@ -0,0 +1,97 @@
+package com.altech.electronicstore.service;
+
+import com.altech.electronicstore.event.DealsChangedEvent;
+import com.altech.electronicstore.repository.DealRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogVersionTest {
+
+    @Mock
+    private DealRepository dealRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private CatalogVersion catalogVersion;
+
+    @BeforeEach
+    void setUp() {
+        catalogVersion = new CatalogVersion(dealRepository, eventPublisher);
+    }
+
+    @Test
+    void current_WhenDealHasExpired_ShouldAdvanceAndPublishDealsChanged() {
+        // Given (the next expiry is already in the past by the second read)
+        when(dealRepository.findNextExpiration(any())).thenReturn(LocalDateTime.now().minusSeconds(1), (LocalDateTime) null);
+        when(dealRepository.findProductIdsWithDealsExpiringBetween(any(), any())).thenReturn(List.of(), List.of(7L));
+        long before = catalogVersion.current();
+
+        // When
+        long after = catalogVersion.current();
+
+        // Then
+        assertTrue(after > before);
+        verify(eventPublisher).publishEvent(new DealsChangedEvent(Set.of(7L)));
+        assertEquals(after, catalogVersion.current());
+        verify(dealRepository, times(2)).findNextExpiration(any());
+    }
+
+    @Test
+    void current_WhenNoDealIsPending_ShouldNotQueryAgain() {
+        // Given
+        when(dealRepository.findProductIdsWithDealsExpiringBetween(any(), any())).thenReturn(List.of());
+        long before = catalogVersion.current();
+
+        // When
+        long after = catalogVersion.current();
+
+        // Then
+        assertEquals(before, after);
+        verify(dealRepository, times(1)).findNextExpiration(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void maxAge_ShouldNotRunPastNextDealExpiry() {
+        // Given
+        when(dealRepository.findNextExpiration(any())).thenReturn(LocalDateTime.now().plusSeconds(20));
+        catalogVersion.current();
+
+        // When
+        Duration capped = catalogVersion.maxAge(Duration.ofSeconds(60));
+        Duration uncapped = catalogVersion.maxAge(Duration.ofSeconds(5));
+
+        // Then
+        assertTrue(capped.compareTo(Duration.ofSeconds(20)) <= 0);
+        assertTrue(capped.compareTo(Duration.ofSeconds(15)) > 0);
+        assertEquals(Duration.ofSeconds(5), uncapped);
+    }
+
+    @Test
+    void onDealsChanged_ShouldLookUpNextExpiryAgain() {
+        // Given
+        catalogVersion.current();
+
+        // When
+        catalogVersion.onDealsChanged(new DealsChangedEvent(Set.of(1L)));
+        catalogVersion.current();
+
+        // Then
+        verify(dealRepository, times(2)).findNextExpiration(any());
+    }
+}
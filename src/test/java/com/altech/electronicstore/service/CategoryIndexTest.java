@@ -0,0 +1,184 @@
+package com.altech.electronicstore.service;
+
+import com.altech.electronicstore.dto.product.ProductFacetRow;
+import com.altech.electronicstore.dto.product.ProductFacetsDto;
+import com.altech.electronicstore.event.ProductsChangedEvent;
+import com.altech.electronicstore.event.ProductsImportedEvent;
+import com.altech.electronicstore.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CategoryIndexTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private CategoryIndex categoryIndex;
+
+    @BeforeEach
+    void setUp() {
+        categoryIndex = new CategoryIndex(productRepository, new SimpleMeterRegistry(), new BigDecimal[] {new BigDecimal("500"), new BigDecimal("100")});
+        lenient().when(productRepository.findAllFacetRows()).thenReturn(List.of(
+                row(1L, "Laptops", "1299.99", true),
+                row(2L, "Laptops", "499.99", true),
+                row(3L, "Audio", "99.99", true),
+                row(4L, "Audio", "49.99", false)));
+    }
+
+    @Test
+    void getFacets_ShouldCountAvailableProductsPerCategoryAndPriceRange() {
+        // When
+        ProductFacetsDto facets = categoryIndex.getFacets(null);
+        ProductFacetsDto laptops = categoryIndex.getFacets("Laptops");
+
+        // Then
+        assertEquals(List.of(
+                new ProductFacetsDto.CategoryFacet("Audio", 1),
+                new ProductFacetsDto.CategoryFacet("Laptops", 2)), facets.getCategories());
+        assertEquals(List.of(
+                new ProductFacetsDto.PriceRangeFacet(BigDecimal.ZERO, new BigDecimal("100"), 1),
+                new ProductFacetsDto.PriceRangeFacet(new BigDecimal("100"), new BigDecimal("500"), 1),
+                new ProductFacetsDto.PriceRangeFacet(new BigDecimal("500"), null, 1)), facets.getPriceRanges());
+        assertEquals(0, laptops.getPriceRanges().get(0).getCount());
+        assertEquals(1, laptops.getPriceRanges().get(2).getCount());
+        verify(productRepository, times(1)).findAllFacetRows();
+    }
+
+    @Test
+    void onProductsChanged_ShouldMoveOnlyChangedProducts() {
+        // Given
+        categoryIndex.getCategories();
+        when(productRepository.findFacetRowsByIds(Set.of(3L, 4L, 2L))).thenReturn(List.of(
+                row(3L, "Audio", "99.99", false),
+                row(4L, "Audio", "49.99", true)));
+
+        // When (3 becomes unavailable, 4 becomes available, 2 was deleted)
+        categoryIndex.onProductsChanged(new ProductsChangedEvent(Set.of(3L, 4L, 2L)));
+        ProductFacetsDto facets = categoryIndex.getFacets(null);
+
+        // Then
+        assertEquals(List.of(
+                new ProductFacetsDto.CategoryFacet("Audio", 1),
+                new ProductFacetsDto.CategoryFacet("Laptops", 1)), facets.getCategories());
+        assertEquals(1, facets.getPriceRanges().get(0).getCount());
+        assertEquals(0, facets.getPriceRanges().get(1).getCount());
+        verify(productRepository, times(1)).findAllFacetRows();
+    }
+
+    @Test
+    void onProductsChanged_WhenCategoryEmptied_ShouldDropCategory() {
+        // Given
+        categoryIndex.getCategories();
+        when(productRepository.findFacetRowsByIds(Set.of(3L))).thenReturn(List.of(row(3L, "Laptops", "99.99", true)));
+
+        // When
+        categoryIndex.onProductsChanged(new ProductsChangedEvent(Set.of(3L)));
+
+        // Then
+        assertEquals(List.of("Laptops"), categoryIndex.getCategories());
+    }
+
+    @Test
+    void onProductsChanged_BeforeFirstRead_ShouldNotQuery() {
+        // When
+        categoryIndex.onProductsChanged(new ProductsChangedEvent(Set.of(1L)));
+
+        // Then
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void onProductsChanged_WhenOnlyStockChanged_ShouldNotQuery() {
+        // Given
+        categoryIndex.getCategories();
+
+        // When
+        categoryIndex.onProductsChanged(ProductsChangedEvent.ofStock(Set.of(1L)));
+
+        // Then
+        verify(productRepository, never()).findFacetRowsByIds(any());
+    }
+
+    @Test
+    void onProductsChanged_WhenOlderReadFinishesLast_ShouldKeepNewerRow() {
+        // Given (a second change of product 3 is read and applied while the first read is in flight)
+        categoryIndex.getCategories();
+        when(productRepository.findFacetRowsByIds(Set.of(3L)))
+                .thenAnswer(invocation -> {
+                    categoryIndex.onProductsChanged(new ProductsChangedEvent(Set.of(3L)));
+                    return List.of(row(3L, "Audio", "99.99", true));
+                })
+                .thenReturn(List.of(row(3L, "Audio", "99.99", false)));
+
+        // When
+        categoryIndex.onProductsChanged(new ProductsChangedEvent(Set.of(3L)));
+
+        // Then
+        assertEquals(List.of("Laptops"), categoryIndex.getCategories());
+    }
+
+    @Test
+    void onProductsImported_ShouldRebuildOnNextRead() {
+        // Given
+        categoryIndex.getCategories();
+
+        // When
+        categoryIndex.onProductsImported(new ProductsImportedEvent(10));
+        categoryIndex.getCategories();
+
+        // Then
+        verify(productRepository, times(2)).findAllFacetRows();
+    }
+
+    @Test
+    void onProductsChanged_DuringRebuild_ShouldBeReplayedAfterSwap() {
+        // Given (product 3 becomes unavailable after the rebuild has read it)
+        when(productRepository.findAllFacetRows()).thenAnswer(invocation -> {
+            categoryIndex.onProductsChanged(new ProductsChangedEvent(Set.of(3L)));
+            return List.of(row(1L, "Laptops", "1299.99", true), row(3L, "Audio", "99.99", true));
+        });
+        when(productRepository.findFacetRowsByIds(Set.of(3L))).thenReturn(List.of(row(3L, "Audio", "99.99", false)));
+
+        // When
+        List<String> categories = categoryIndex.getCategories();
+
+        // Then
+        assertEquals(List.of("Laptops"), categories);
+    }
+
+    @Test
+    void onProductsImported_DuringRebuild_ShouldLeaveIndexStale() {
+        // Given
+        when(productRepository.findAllFacetRows())
+                .thenAnswer(invocation -> {
+                    categoryIndex.onProductsImported(new ProductsImportedEvent(10));
+                    return List.of(row(1L, "Laptops", "1299.99", true));
+                })
+                .thenReturn(List.of(row(1L, "Laptops", "1299.99", true), row(5L, "Cameras", "599.00", true)));
+
+        // When
+        categoryIndex.getCategories();
+        List<String> categories = categoryIndex.getCategories();
+
+        // Then
+        assertEquals(List.of("Cameras", "Laptops"), categories);
+        verify(productRepository, times(2)).findAllFacetRows();
+    }
+
+    private ProductFacetRow row(Long id, String category, String price, boolean availability) {
+        return new ProductFacetRow(id, category, new BigDecimal(price), availability);
+    }
+}
@@ -0,0 +1,129 @@
+package com.altech.electronicstore.service;
+
+import com.altech.electronicstore.exception.BasketStockException;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CheckoutObservationsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private CheckoutObservations checkoutObservations;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ObservationRegistry observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+        checkoutObservations = new CheckoutObservations(observationRegistry);
+    }
+
+    @Test
+    void checkout_ShouldTimeCheckoutAndPhasesTaggedByBasketSizeAndOutcome() {
+        // When
+        String result = checkoutObservations.checkout(() -> {
+            checkoutObservations.runPhase("basket.load", () -> { });
+            checkoutObservations.basketLoaded(3);
+            return checkoutObservations.phase("stock.validate", () -> "ok");
+        });
+
+        // Then
+        assertEquals("ok", result);
+        assertEquals(1, meterRegistry.get("checkout")
+                .tag("basket.size", "2-5").tag("outcome", "success").timer().count());
+        assertEquals(1, meterRegistry.get("checkout.phase")
+                .tag("phase", "basket.load").tag("basket.size", "unknown").tag("outcome", "success").timer().count());
+        assertEquals(1, meterRegistry.get("checkout.phase")
+                .tag("phase", "stock.validate").tag("basket.size", "2-5").tag("outcome", "success").timer().count());
+    }
+
+    @Test
+    void checkout_WhenPhaseFails_ShouldTagOutcomeAndRethrow() {
+        // Given
+        BasketStockException failure = new BasketStockException(List.of());
+
+        // When
+        BasketStockException thrown = assertThrows(BasketStockException.class, () -> checkoutObservations.checkout(() -> {
+            checkoutObservations.basketLoaded(1);
+            return checkoutObservations.phase("stock.validate", () -> {
+                throw failure;
+            });
+        }));
+
+        // Then
+        assertSame(failure, thrown);
+        assertEquals(1, meterRegistry.get("checkout")
+                .tag("basket.size", "1").tag("outcome", "insufficient_stock").timer().count());
+        assertEquals(1, meterRegistry.get("checkout.phase")
+                .tag("phase", "stock.validate").tag("outcome", "insufficient_stock")
+                .tag("error", "BasketStockException").timer().count());
+    }
+
+    @Test
+    void checkout_InsideTransaction_ShouldRecordOutcomeWhenTransactionCompletes() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            checkoutObservations.checkout(() -> "ok");
+            assertNull(meterRegistry.find("checkout").timer());
+
+            // When
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Then
+        assertEquals(1, meterRegistry.get("checkout").tag("outcome", "success").timer().count());
+    }
+
+    @Test
+    void checkout_WhenCommitFails_ShouldRecordError() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            checkoutObservations.checkout(() -> "ok");
+
+            // When
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Then
+        assertEquals(1, meterRegistry.get("checkout").tag("outcome", "error").timer().count());
+        assertNull(meterRegistry.find("checkout").tag("outcome", "success").timer());
+    }
+
+    @Test
+    void phase_OutsideCheckout_ShouldHaveUnknownBasketSize() {
+        // When
+        checkoutObservations.basketLoaded(4);
+        checkoutObservations.runPhase("stock.commit", () -> { });
+
+        // Then
+        assertEquals(1, meterRegistry.get("checkout.phase")
+                .tag("phase", "stock.commit").tag("basket.size", "unknown").timer().count());
+        assertNull(meterRegistry.find("checkout").timer());
+    }
+
+    @Test
+    void sizeBucket_ShouldGroupItemCounts() {
+        assertEquals("0", CheckoutObservations.sizeBucket(0));
+        assertEquals("1", CheckoutObservations.sizeBucket(1));
+        assertEquals("2-5", CheckoutObservations.sizeBucket(5));
+        assertEquals("6-10", CheckoutObservations.sizeBucket(6));
+        assertEquals("11-25", CheckoutObservations.sizeBucket(25));
+        assertEquals("26+", CheckoutObservations.sizeBucket(26));
+    }
+}
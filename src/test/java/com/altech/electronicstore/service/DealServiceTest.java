@@ -4,6 +4,7 @@ import com.altech.electronicstore.dto.deal.DealDto;
 import com.altech.electronicstore.entity.Deal;
 import com.altech.electronicstore.entity.DealType;
 import com.altech.electronicstore.entity.Product;
+import com.altech.electronicstore.event.DealsChangedEvent;
 import com.altech.electronicstore.exception.DuplicateDealException;
 import com.altech.electronicstore.exception.ProductNotFoundException;
 import com.altech.electronicstore.repository.DealRepository;
@@ -15,6 +16,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -37,6 +39,9 @@ class DealServiceTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private DealService dealService;
 
@@ -184,6 +189,7 @@ class DealServiceTest {
                 eq(null)
         );
         verify(dealRepository).save(any(Deal.class));
+        verify(eventPublisher).publishEvent(new DealsChangedEvent(Set.of(1L)));
     }
 
     @Test
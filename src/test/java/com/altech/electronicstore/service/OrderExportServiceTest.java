@@ -0,0 +1,151 @@
+package com.altech.electronicstore.service;
+
+import com.altech.electronicstore.entity.Order;
+import com.altech.electronicstore.entity.OrderItem;
+import com.altech.electronicstore.entity.Product;
+import com.altech.electronicstore.entity.User;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderExportServiceTest {
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private TypedQuery<OrderItem> query;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private OrderExportService orderExportService;
+
+    private final LocalDateTime from = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private final LocalDateTime to = LocalDateTime.of(2025, 2, 1, 0, 0);
+
+    @BeforeEach
+    void setUp() {
+        orderExportService = new OrderExportService(entityManager, objectMapper);
+        ReflectionTestUtils.setField(orderExportService, "fetchSize", 100);
+        ReflectionTestUtils.setField(orderExportService, "clearInterval", 2);
+
+        when(entityManager.createQuery(anyString(), eq(OrderItem.class))).thenReturn(query);
+        when(query.setParameter(anyString(), any())).thenReturn(query);
+        when(query.setHint(anyString(), any())).thenReturn(query);
+    }
+
+    @Test
+    void exportNdjson_ShouldWriteOneLinePerOrderWithNestedItems() throws Exception {
+        // Given
+        Order order1 = createOrder(1L);
+        Order order2 = createOrder(2L);
+        when(query.getResultStream()).thenReturn(Stream.of(
+                createItem(order1, 10L, "Laptop", 1),
+                createItem(order1, 11L, "Mouse", 2),
+                createItem(order2, 12L, "Monitor", 1)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long rows = orderExportService.exportNdjson(from, to, out);
+
+        // Then
+        assertEquals(3, rows);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals(1L, first.get("id").asLong());
+        assertEquals(2, first.get("items").size());
+        assertEquals("Mouse", first.get("items").get(1).get("productName").asText());
+
+        JsonNode second = objectMapper.readTree(lines[1]);
+        assertEquals(2L, second.get("id").asLong());
+        assertEquals(1, second.get("items").size());
+
+        verify(query).setHint("org.hibernate.fetchSize", 100);
+        verify(entityManager, times(1)).clear();
+    }
+
+    @Test
+    void exportNdjson_WhenNoOrders_ShouldWriteNothing() throws Exception {
+        // Given
+        when(query.getResultStream()).thenReturn(Stream.empty());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long rows = orderExportService.exportNdjson(from, to, out);
+
+        // Then
+        assertEquals(0, rows);
+        assertEquals(0, out.size());
+        verify(entityManager, never()).clear();
+    }
+
+    @Test
+    void exportCsv_ShouldWriteHeaderAndOneRowPerItemWithEscaping() throws Exception {
+        // Given
+        Order order = createOrder(1L);
+        when(query.getResultStream()).thenReturn(Stream.of(
+                createItem(order, 10L, "Samsung 4K TV 55\", black", 1)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long rows = orderExportService.exportCsv(from, to, out);
+
+        // Then
+        assertEquals(1, rows);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("order_id,user_id,order_date"));
+        assertTrue(lines[1].startsWith("1,7,2025-01-15T10:30,"));
+        assertTrue(lines[1].contains(",\"Samsung 4K TV 55\"\", black\","));
+        verify(entityManager, never()).clear();
+    }
+
+    private Order createOrder(Long id) {
+        User user = new User();
+        user.setId(7L);
+
+        Order order = new Order();
+        order.setId(id);
+        order.setUser(user);
+        order.setOrderDate(LocalDateTime.of(2025, 1, 15, 10, 30));
+        order.setTotalAmount(new BigDecimal("100.00"));
+        order.setTotalDiscount(BigDecimal.ZERO);
+        order.setFinalAmount(new BigDecimal("100.00"));
+        return order;
+    }
+
+    private OrderItem createItem(Order order, Long productId, String productName, int quantity) {
+        Product product = new Product();
+        product.setId(productId);
+        product.setName(productName);
+
+        OrderItem item = new OrderItem();
+        item.setOrder(order);
+        item.setProduct(product);
+        item.setQuantity(quantity);
+        item.setUnitPrice(new BigDecimal("50.00"));
+        item.setTotalPrice(new BigDecimal("50.00").multiply(BigDecimal.valueOf(quantity)));
+        item.setDiscountApplied(BigDecimal.ZERO);
+        return item;
+    }
+}
@@ -1,16 +1,20 @@
 package com.altech.electronicstore.service;
 
 import com.altech.electronicstore.entity.*;
+import com.altech.electronicstore.event.OrderPlacedEvent;
 import com.altech.electronicstore.exception.BasketNotFoundException;
 import com.altech.electronicstore.repository.OrderRepository;
 import com.altech.electronicstore.repository.UserRepository;
 import com.altech.electronicstore.util.discount.DiscountEngine;
+import io.micrometer.observation.ObservationRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -38,6 +42,12 @@ class OrderServiceTest {
     @Mock
     private DiscountEngine discountEngine;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private CheckoutObservations checkoutObservations = new CheckoutObservations(ObservationRegistry.NOOP);
+
     @InjectMocks
     private OrderService orderService;
 
@@ -112,7 +122,7 @@ class OrderServiceTest {
                 .thenReturn(Map.of(1L, Arrays.asList(testDeal)));
         when(discountEngine.calculateDiscountsForBasketItems(anyList(), anyMap()))
                 .thenReturn(Map.of(1L, BigDecimal.TEN));
-        when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
+        when(orderRepository.saveAndFlush(any(Order.class))).thenReturn(testOrder);
 
         // When
         Order result = orderService.checkout(userId);
@@ -124,7 +134,8 @@ class OrderServiceTest {
         verify(userRepository).findById(userId);
         verify(discountEngine).getDealsForProducts(anyList());
         verify(discountEngine).calculateDiscountsForBasketItems(anyList(), anyMap());
-        verify(orderRepository).save(any(Order.class));
+        verify(orderRepository).saveAndFlush(any(Order.class));
+        verify(eventPublisher).publishEvent(any(OrderPlacedEvent.class));
     }
 
     @Test
@@ -137,7 +148,7 @@ class OrderServiceTest {
         // When & Then
         assertThrows(BasketNotFoundException.class, () -> orderService.checkout(userId));
         verify(basketService).checkoutBasket(userId);
-        verify(orderRepository, never()).save(any(Order.class));
+        verify(orderRepository, never()).saveAndFlush(any(Order.class));
     }
 
     @Test
@@ -150,7 +161,7 @@ class OrderServiceTest {
         // When & Then
         assertThrows(RuntimeException.class, () -> orderService.checkout(userId));
         verify(basketService).checkoutBasket(userId);
-        verify(orderRepository, never()).save(any(Order.class));
+        verify(orderRepository, never()).saveAndFlush(any(Order.class));
     }
 
     @Test
@@ -168,7 +179,7 @@ class OrderServiceTest {
         RuntimeException exception = assertThrows(RuntimeException.class, () -> orderService.checkout(userId));
         assertEquals("Cannot create order from empty basket", exception.getMessage());
         verify(basketService).checkoutBasket(userId);
-        verify(orderRepository, never()).save(any(Order.class));
+        verify(orderRepository, never()).saveAndFlush(any(Order.class));
     }
 
     @Test
@@ -196,7 +207,7 @@ class OrderServiceTest {
                 .thenReturn(Map.of(1L, Arrays.asList(testDeal), 2L, Collections.emptyList()));
         when(discountEngine.calculateDiscountsForBasketItems(anyList(), anyMap()))
                 .thenReturn(Map.of(1L, BigDecimal.TEN, 2L, BigDecimal.ZERO));
-        when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
+        when(orderRepository.saveAndFlush(any(Order.class))).thenReturn(testOrder);
 
         // When
         Order result = orderService.checkout(userId);
@@ -207,7 +218,7 @@ class OrderServiceTest {
         verify(userRepository).findById(userId);
         verify(discountEngine).getDealsForProducts(anyList());
         verify(discountEngine).calculateDiscountsForBasketItems(anyList(), anyMap());
-        verify(orderRepository).save(any(Order.class));
+        verify(orderRepository).saveAndFlush(any(Order.class));
     }
 
     @Test
@@ -222,7 +233,7 @@ class OrderServiceTest {
                 .thenReturn(Map.of(1L, Arrays.asList(testDeal)));
         when(discountEngine.calculateDiscountsForBasketItems(anyList(), anyMap()))
                 .thenReturn(Map.of(1L, BigDecimal.TEN));
-        when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
+        when(orderRepository.saveAndFlush(any(Order.class))).thenReturn(testOrder);
 
         // When
         Order result = orderService.checkout(userId);
@@ -233,7 +244,7 @@ class OrderServiceTest {
         verify(userRepository).findById(userId);
         verify(discountEngine).getDealsForProducts(anyList());
         verify(discountEngine).calculateDiscountsForBasketItems(anyList(), anyMap());
-        verify(orderRepository).save(any(Order.class));
+        verify(orderRepository).saveAndFlush(any(Order.class));
     }
 
     @Test
@@ -251,7 +262,7 @@ class OrderServiceTest {
         verify(basketService).checkoutBasket(userId);
         verify(userRepository).findById(userId);
         verify(discountEngine).getDealsForProducts(anyList());
-        verify(orderRepository, never()).save(any(Order.class));
+        verify(orderRepository, never()).saveAndFlush(any(Order.class));
     }
 
     @Test
@@ -265,7 +276,7 @@ class OrderServiceTest {
                 .thenReturn(Map.of(1L, Arrays.asList(testDeal)));
         when(discountEngine.calculateDiscountsForBasketItems(anyList(), anyMap()))
                 .thenReturn(Map.of(1L, BigDecimal.TEN));
-        when(orderRepository.save(any(Order.class)))
+        when(orderRepository.saveAndFlush(any(Order.class)))
                 .thenThrow(new RuntimeException("Database error"));
 
         // When & Then
@@ -274,7 +285,8 @@ class OrderServiceTest {
         verify(userRepository).findById(userId);
         verify(discountEngine).getDealsForProducts(anyList());
         verify(discountEngine).calculateDiscountsForBasketItems(anyList(), anyMap());
-        verify(orderRepository).save(any(Order.class));
+        verify(orderRepository).saveAndFlush(any(Order.class));
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
@@ -287,7 +299,7 @@ class OrderServiceTest {
         // When & Then
         assertThrows(IllegalArgumentException.class, () -> orderService.checkout(nullUserId));
         verify(basketService).checkoutBasket(nullUserId);
-        verify(orderRepository, never()).save(any(Order.class));
+        verify(orderRepository, never()).saveAndFlush(any(Order.class));
     }
 
     @Test
@@ -305,7 +317,7 @@ class OrderServiceTest {
                 .thenReturn(Collections.emptyMap());
         when(discountEngine.calculateDiscountsForBasketItems(anyList(), anyMap()))
                 .thenReturn(Collections.emptyMap());
-        when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
+        when(orderRepository.saveAndFlush(any(Order.class))).thenReturn(testOrder);
 
         // When
         Order result = orderService.checkout(zeroUserId);
@@ -316,7 +328,7 @@ class OrderServiceTest {
         verify(userRepository).findById(zeroUserId);
         verify(discountEngine).getDealsForProducts(anyList());
         verify(discountEngine).calculateDiscountsForBasketItems(anyList(), anyMap());
-        verify(orderRepository).save(any(Order.class));
+        verify(orderRepository).saveAndFlush(any(Order.class));
     }
 
     @Test
@@ -334,7 +346,7 @@ class OrderServiceTest {
                 .thenReturn(Collections.emptyMap());
         when(discountEngine.calculateDiscountsForBasketItems(anyList(), anyMap()))
                 .thenReturn(Collections.emptyMap());
-        when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
+        when(orderRepository.saveAndFlush(any(Order.class))).thenReturn(testOrder);
 
         // When
         Order result = orderService.checkout(negativeUserId);
@@ -345,6 +357,6 @@ class OrderServiceTest {
         verify(userRepository).findById(negativeUserId);
         verify(discountEngine).getDealsForProducts(anyList());
         verify(discountEngine).calculateDiscountsForBasketItems(anyList(), anyMap());
-        verify(orderRepository).save(any(Order.class));
+        verify(orderRepository).saveAndFlush(any(Order.class));
     }
 }
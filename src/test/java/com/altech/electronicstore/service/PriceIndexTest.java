@@ -0,0 +1,201 @@
+package com.altech.electronicstore.service;
+
+import com.altech.electronicstore.dto.product.ProductFacetRow;
+import com.altech.electronicstore.event.ProductsChangedEvent;
+import com.altech.electronicstore.event.ProductsImportedEvent;
+import com.altech.electronicstore.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PriceIndexTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private PriceIndex priceIndex;
+
+    @BeforeEach
+    void setUp() {
+        priceIndex = new PriceIndex(productRepository);
+        lenient().when(productRepository.findAllFacetRows()).thenReturn(List.of(
+                row(1L, "Laptops", "1299.99", true),
+                row(2L, "Laptops", "499.99", true),
+                row(3L, "Laptops", "499.99", true),
+                row(4L, "Audio", "99.99", true),
+                row(5L, "Audio", "49.99", false)));
+    }
+
+    @Test
+    void findPage_ShouldSliceInclusivePriceRangeInPriceThenIdOrder() {
+        // When
+        PriceIndex.PricePage ascending = priceIndex.findPage(null, new BigDecimal("99.99"), new BigDecimal("499.99"), false, 0, 10);
+        PriceIndex.PricePage descending = priceIndex.findPage("Laptops", null, null, true, 1, 1);
+
+        // Then
+        assertEquals(3, ascending.total());
+        assertEquals(List.of(4L, 2L, 3L), ascending.productIds());
+        assertEquals(3, descending.total());
+        assertEquals(List.of(3L), descending.productIds());
+        verify(productRepository, times(1)).findAllFacetRows();
+    }
+
+    @Test
+    void findPage_WhenBoundsHaveFractionsOfCents_ShouldRoundInward() {
+        // When
+        PriceIndex.PricePage page = priceIndex.findPage(null, new BigDecimal("99.985"), new BigDecimal("499.989"), false, 0, 10);
+
+        // Then
+        assertEquals(List.of(4L), page.productIds());
+    }
+
+    @Test
+    void findPage_ForUnknownCategoryOrOffsetPastEnd_ShouldReturnEmptyPage() {
+        // When
+        PriceIndex.PricePage unknown = priceIndex.findPage("Cameras", null, null, false, 0, 10);
+        PriceIndex.PricePage pastEnd = priceIndex.findPage("Audio", null, null, false, 5, 10);
+
+        // Then
+        assertEquals(0, unknown.total());
+        assertTrue(unknown.productIds().isEmpty());
+        assertEquals(1, pastEnd.total());
+        assertTrue(pastEnd.productIds().isEmpty());
+    }
+
+    @Test
+    void onProductsChanged_ShouldMergeChangedProductsIntoSegments() {
+        // Given
+        priceIndex.findPage(null, null, null, false, 0, 1);
+        when(productRepository.findFacetRowsByIds(Set.of(1L, 4L, 5L, 2L))).thenReturn(List.of(
+                row(1L, "Audio", "299.00", true),
+                row(4L, "Audio", "99.99", false),
+                row(5L, "Audio", "49.99", true)));
+
+        // When (1 moves category and price, 4 becomes unavailable, 5 becomes available, 2 was deleted)
+        priceIndex.onProductsChanged(new ProductsChangedEvent(Set.of(1L, 4L, 5L, 2L)));
+
+        // Then
+        assertEquals(List.of(5L, 1L), priceIndex.findPage("Audio", null, null, false, 0, 10).productIds());
+        assertEquals(List.of(3L), priceIndex.findPage("Laptops", null, null, false, 0, 10).productIds());
+        assertEquals(List.of(5L, 1L, 3L), priceIndex.findPage(null, null, null, false, 0, 10).productIds());
+        verify(productRepository, times(1)).findAllFacetRows();
+    }
+
+    @Test
+    void onProductsChanged_WhenPriceTiesWithNeighbours_ShouldKeepIdOrder() {
+        // Given
+        priceIndex.findPage(null, null, null, false, 0, 1);
+        when(productRepository.findFacetRowsByIds(Set.of(1L, 6L))).thenReturn(List.of(
+                row(1L, "Laptops", "499.99", true),
+                row(6L, "Laptops", "499.99", true)));
+
+        // When (1 drops to the price of 2 and 3, 6 is new at the same price)
+        priceIndex.onProductsChanged(new ProductsChangedEvent(Set.of(1L, 6L)));
+
+        // Then
+        assertEquals(List.of(1L, 2L, 3L, 6L), priceIndex.findPage("Laptops", null, null, false, 0, 10).productIds());
+        assertEquals(List.of(4L, 1L, 2L, 3L, 6L), priceIndex.findPage(null, null, null, false, 0, 10).productIds());
+    }
+
+    @Test
+    void onProductsChanged_WhenOnlyStockChanged_ShouldNotQueryDatabase() {
+        // Given
+        priceIndex.findPage(null, null, null, false, 0, 1);
+
+        // When
+        priceIndex.onProductsChanged(ProductsChangedEvent.ofStock(Set.of(1L)));
+
+        // Then
+        verify(productRepository, never()).findFacetRowsByIds(any());
+    }
+
+    @Test
+    void onProductsChanged_WhenOlderReadFinishesLast_ShouldKeepNewerRow() {
+        // Given (a second repricing of product 4 is read and applied while the first read is in flight)
+        priceIndex.findPage(null, null, null, false, 0, 1);
+        when(productRepository.findFacetRowsByIds(Set.of(4L)))
+                .thenAnswer(invocation -> {
+                    priceIndex.onProductsChanged(new ProductsChangedEvent(Set.of(4L)));
+                    return List.of(row(4L, "Audio", "19.99", true));
+                })
+                .thenReturn(List.of(row(4L, "Audio", "1999.99", true)));
+
+        // When
+        priceIndex.onProductsChanged(new ProductsChangedEvent(Set.of(4L)));
+
+        // Then
+        assertEquals(List.of(2L, 3L, 1L, 4L), priceIndex.findPage(null, null, null, false, 0, 10).productIds());
+    }
+
+    @Test
+    void onProductsChanged_BeforeFirstRead_ShouldNotQueryDatabase() {
+        // When
+        priceIndex.onProductsChanged(new ProductsChangedEvent(Set.of(1L)));
+
+        // Then
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void onProductsImported_ShouldRebuildOnNextRead() {
+        // Given
+        priceIndex.findPage(null, null, null, false, 0, 1);
+
+        // When
+        priceIndex.onProductsImported(new ProductsImportedEvent(10));
+        priceIndex.findPage(null, null, null, false, 0, 1);
+
+        // Then
+        verify(productRepository, times(2)).findAllFacetRows();
+    }
+
+    @Test
+    void onProductsChanged_DuringRebuild_ShouldBeReplayedAfterIt() {
+        // Given (product 4 is repriced after the rebuild has read it)
+        when(productRepository.findAllFacetRows()).thenAnswer(invocation -> {
+            priceIndex.onProductsChanged(new ProductsChangedEvent(Set.of(4L)));
+            return List.of(row(1L, "Laptops", "1299.99", true), row(4L, "Audio", "99.99", true));
+        });
+        when(productRepository.findFacetRowsByIds(Set.of(4L))).thenReturn(List.of(row(4L, "Audio", "1999.99", true)));
+
+        // When
+        PriceIndex.PricePage page = priceIndex.findPage(null, null, null, false, 0, 10);
+
+        // Then
+        assertEquals(List.of(1L, 4L), page.productIds());
+    }
+
+    @Test
+    void onProductsImported_DuringRebuild_ShouldLeaveIndexStale() {
+        // Given
+        when(productRepository.findAllFacetRows())
+                .thenAnswer(invocation -> {
+                    priceIndex.onProductsImported(new ProductsImportedEvent(10));
+                    return List.of(row(1L, "Laptops", "1299.99", true));
+                })
+                .thenReturn(List.of(row(1L, "Laptops", "1299.99", true), row(6L, "Cameras", "599.00", true)));
+
+        // When
+        priceIndex.findPage(null, null, null, false, 0, 10);
+        PriceIndex.PricePage page = priceIndex.findPage(null, null, null, false, 0, 10);
+
+        // Then
+        assertEquals(List.of(6L, 1L), page.productIds());
+        verify(productRepository, times(2)).findAllFacetRows();
+    }
+
+    private ProductFacetRow row(Long id, String category, String price, boolean available) {
+        return new ProductFacetRow(id, category, new BigDecimal(price), available);
+    }
+}
@@ -0,0 +1,131 @@
+package com.altech.electronicstore.service;
+
+import com.altech.electronicstore.dto.product.ProductBulkUpdateResultDto;
+import com.altech.electronicstore.dto.product.ProductDeltaDto;
+import com.altech.electronicstore.event.ProductsChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductBulkUpdateServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ProductBulkUpdateService productBulkUpdateService;
+
+    @BeforeEach
+    void setUp() {
+        productBulkUpdateService = new ProductBulkUpdateService(jdbcTemplate, transactionTemplate, eventPublisher);
+        ReflectionTestUtils.setField(productBulkUpdateService, "chunkSize", 2);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            TransactionCallback<?> callback = invocation.getArgument(0);
+            return callback.doInTransaction(null);
+        });
+    }
+
+    @Test
+    void applyDeltas_ShouldBatchInChunksAndCountOnlyChangedRows() {
+        // Given
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenReturn(new int[] {1, 0})
+                .thenReturn(new int[] {1});
+        List<ProductDeltaDto> deltas = List.of(
+                new ProductDeltaDto(1L, new BigDecimal("949.99"), null, null),
+                new ProductDeltaDto(2L, null, 5, null),
+                new ProductDeltaDto(3L, null, 0, false));
+
+        // When
+        ProductBulkUpdateResultDto result = productBulkUpdateService.applyDeltas(deltas);
+
+        // Then
+        assertEquals(3, result.getRequested());
+        assertEquals(2, result.getChanged());
+        assertEquals(1, result.getSkipped());
+        verify(transactionTemplate, times(2)).execute(any());
+
+        ArgumentCaptor<ProductsChangedEvent> captor = ArgumentCaptor.forClass(ProductsChangedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(captor.capture());
+        assertEquals(Set.of(1L), captor.getAllValues().get(0).productIds());
+        assertEquals(Set.of(3L), captor.getAllValues().get(1).productIds());
+        assertFalse(captor.getAllValues().get(1).stockOnly());
+    }
+
+    @Test
+    void applyDeltas_WhenOnlyStockChanged_ShouldPublishStockOnlyEvent() {
+        // Given
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[] {1, 1});
+
+        // When
+        productBulkUpdateService.applyDeltas(List.of(
+                new ProductDeltaDto(1L, new BigDecimal("949.99"), 4, null),
+                new ProductDeltaDto(2L, null, 5, null)));
+
+        // Then
+        ArgumentCaptor<ProductsChangedEvent> captor = ArgumentCaptor.forClass(ProductsChangedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(captor.capture());
+        assertEquals(new ProductsChangedEvent(Set.of(1L)), captor.getAllValues().get(0));
+        assertEquals(ProductsChangedEvent.ofStock(Set.of(2L)), captor.getAllValues().get(1));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void applyDeltas_ShouldPassOmittedFieldsAsTypedNulls() {
+        // Given
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[] {Statement.SUCCESS_NO_INFO});
+
+        // When
+        ProductBulkUpdateResultDto result = productBulkUpdateService.applyDeltas(
+                List.of(new ProductDeltaDto(7L, null, 3, null)));
+
+        // Then
+        assertEquals(1, result.getChanged());
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), captor.capture());
+        Object[] args = captor.getValue().get(0);
+        assertNull(((SqlParameterValue) args[0]).getValue());
+        assertEquals(3, ((SqlParameterValue) args[1]).getValue());
+        assertEquals(7L, args[4]);
+    }
+
+    @Test
+    void applyDeltas_WhenNothingChanged_ShouldNotPublishEvent() {
+        // Given
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[] {0, 0});
+
+        // When
+        ProductBulkUpdateResultDto result = productBulkUpdateService.applyDeltas(List.of(
+                new ProductDeltaDto(1L, BigDecimal.TEN, null, null),
+                new ProductDeltaDto(999L, null, 1, null)));
+
+        // Then
+        assertEquals(0, result.getChanged());
+        assertEquals(2, result.getSkipped());
+        verifyNoInteractions(eventPublisher);
+    }
+}
@@ -0,0 +1,134 @@
+package com.altech.electronicstore.service;
+
+import com.altech.electronicstore.dto.product.ProductSnapshot;
+import com.altech.electronicstore.entity.Product;
+import com.altech.electronicstore.event.ProductsChangedEvent;
+import com.altech.electronicstore.repository.ProductRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductCacheTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private MeterRegistry meterRegistry;
+    private ProductCache productCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        productCache = new ProductCache(productRepository, meterRegistry, 2, 60);
+    }
+
+    @Test
+    void get_ShouldLoadOnceAndRecordHitsAndMisses() {
+        // Given
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product(1L, 5)));
+
+        // When
+        Optional<ProductSnapshot> first = productCache.get(1L);
+        Optional<ProductSnapshot> second = productCache.get(1L);
+
+        // Then
+        assertEquals(5, first.orElseThrow().stock());
+        assertEquals(first, second);
+        verify(productRepository, times(1)).findById(1L);
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "products").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "products").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void get_WhenProductMissing_ShouldNotCacheAbsence() {
+        // Given
+        when(productRepository.findById(9L)).thenReturn(Optional.empty());
+
+        // When
+        productCache.get(9L);
+        productCache.get(9L);
+
+        // Then
+        verify(productRepository, times(2)).findById(9L);
+    }
+
+    @Test
+    void onProductsChanged_ShouldInvalidateOnlyChangedIds() {
+        // Given
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product(1L, 5)), Optional.of(product(1L, 3)));
+        when(productRepository.findById(2L)).thenReturn(Optional.of(product(2L, 7)));
+        productCache.get(1L);
+        productCache.get(2L);
+
+        // When
+        productCache.onProductsChanged(new ProductsChangedEvent(Set.of(1L)));
+
+        // Then
+        assertEquals(3, productCache.get(1L).orElseThrow().stock());
+        assertEquals(7, productCache.get(2L).orElseThrow().stock());
+        verify(productRepository, times(2)).findById(1L);
+        verify(productRepository, times(1)).findById(2L);
+    }
+
+    @Test
+    void get_WhenInvalidatedDuringLoad_ShouldNotCacheLoadedSnapshot() {
+        // Given
+        when(productRepository.findById(1L))
+                .thenAnswer(invocation -> {
+                    productCache.onProductsChanged(new ProductsChangedEvent(Set.of(1L)));
+                    return Optional.of(product(1L, 5));
+                })
+                .thenReturn(Optional.of(product(1L, 3)));
+
+        // When
+        Optional<ProductSnapshot> first = productCache.get(1L);
+        Optional<ProductSnapshot> second = productCache.get(1L);
+
+        // Then
+        assertEquals(5, first.orElseThrow().stock());
+        assertEquals(3, second.orElseThrow().stock());
+        verify(productRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void get_InsideReadWriteTransaction_ShouldNotCacheLoadedSnapshot() {
+        // Given
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product(1L, 4)), Optional.of(product(1L, 5)));
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            // When
+            Optional<ProductSnapshot> uncommitted = productCache.get(1L);
+
+            // Then
+            assertEquals(4, uncommitted.orElseThrow().stock());
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+        assertEquals(5, productCache.get(1L).orElseThrow().stock());
+        verify(productRepository, times(2)).findById(1L);
+    }
+
+    private Product product(Long id, int stock) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName("Product " + id);
+        product.setPrice(BigDecimal.TEN);
+        product.setStock(stock);
+        product.setCategory("Electronics");
+        product.setAvailability(true);
+        return product;
+    }
+}
@@ -0,0 +1,186 @@
+package com.altech.electronicstore.service;
+
+import com.altech.electronicstore.dto.product.ProductImportResultDto;
+import com.altech.electronicstore.event.ProductsImportedEvent;
+import com.altech.electronicstore.exception.InvalidImportFileException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductImportServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ProductImportService productImportService;
+
+    @BeforeEach
+    void setUp() {
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+        productImportService = new ProductImportService(jdbcTemplate, transactionTemplate, new ObjectMapper(), validator, eventPublisher);
+        ReflectionTestUtils.setField(productImportService, "defaultBatchSize", 2);
+    }
+
+    @Test
+    void importCsv_ShouldInsertValidRowsInBatchesAndReportBadRows() throws Exception {
+        // Given
+        runTransactionsInline();
+        String csv = """
+                name,price,stock,category,description
+                Laptop,999.99,5,Laptops,"Thin, light"
+                Mouse,-1,5,Accessories,
+                Keyboard,49.99,10,Accessories,
+                Monitor,abc,2,Displays,
+
+                Webcam,29.99,7,Accessories,
+                """;
+
+        // When
+        ProductImportResultDto result = productImportService.importCsv(stream(csv), null);
+
+        // Then
+        assertEquals(5, result.getTotalRows());
+        assertEquals(3, result.getImported());
+        assertEquals(2, result.getFailed());
+        assertEquals(3, result.getErrors().get(0).getRow());
+        assertTrue(result.getErrors().get(0).getMessage().startsWith("price:"));
+        assertEquals(5, result.getErrors().get(1).getRow());
+        assertTrue(result.getErrors().get(1).getMessage().startsWith("Unreadable row"));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), captor.capture());
+        assertEquals("Thin, light", captor.getAllValues().get(0).get(0)[1]);
+    }
+
+    @Test
+    void importCsv_WhenRequiredColumnMissing_ShouldRejectFile() {
+        // Given
+        String csv = "name,price,category\nLaptop,999.99,Laptops\n";
+
+        // When & Then
+        InvalidImportFileException exception = assertThrows(InvalidImportFileException.class,
+                () -> productImportService.importCsv(stream(csv), null));
+        assertTrue(exception.getMessage().contains("stock"));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void importNdjson_ShouldReportMalformedAndInvalidLines() throws Exception {
+        // Given
+        runTransactionsInline();
+        String ndjson = """
+                {"name":"Laptop","price":999.99,"stock":5,"category":"Laptops"}
+                {"name":"Broken",
+                {"name":"","price":10,"stock":1,"category":"Audio"}
+                """;
+
+        // When
+        ProductImportResultDto result = productImportService.importNdjson(stream(ndjson), 100);
+
+        // Then
+        assertEquals(3, result.getTotalRows());
+        assertEquals(1, result.getImported());
+        assertEquals(2, result.getFailed());
+        assertEquals(2, result.getErrors().get(0).getRow());
+        assertEquals(3, result.getErrors().get(1).getRow());
+        assertTrue(result.getErrors().get(1).getMessage().contains("name"));
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyList());
+        verify(eventPublisher).publishEvent(new ProductsImportedEvent(1));
+    }
+
+    @Test
+    void importNdjson_WhenLineIsJsonNull_ShouldReportRowError() throws Exception {
+        // Given
+        runTransactionsInline();
+        String ndjson = """
+                null
+                {"name":"Laptop","price":999.99,"stock":5,"category":"Laptops"}
+                """;
+
+        // When
+        ProductImportResultDto result = productImportService.importNdjson(stream(ndjson), 100);
+
+        // Then
+        assertEquals(2, result.getTotalRows());
+        assertEquals(1, result.getImported());
+        assertEquals(1, result.getFailed());
+        assertEquals(1, result.getErrors().get(0).getRow());
+        assertEquals("Row is not a product object", result.getErrors().get(0).getMessage());
+    }
+
+    @Test
+    void importNdjson_WhenBatchRejected_ShouldRetryRowByRow() throws Exception {
+        // Given
+        runTransactionsInline();
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataIntegrityViolationException("value too long"));
+        when(jdbcTemplate.update(anyString(), any(Object[].class)))
+                .thenReturn(1)
+                .thenThrow(new DataIntegrityViolationException("value too long"));
+        String ndjson = """
+                {"name":"Laptop","price":999.99,"stock":5,"category":"Laptops"}
+                {"name":"Mouse","price":9.99,"stock":5,"category":"Accessories"}
+                """;
+
+        // When
+        ProductImportResultDto result = productImportService.importNdjson(stream(ndjson), 10);
+
+        // Then
+        assertEquals(1, result.getImported());
+        assertEquals(1, result.getFailed());
+        assertEquals(2, result.getErrors().get(0).getRow());
+        assertTrue(result.getErrors().get(0).getMessage().startsWith("Rejected by database"));
+    }
+
+    @Test
+    void parseCsvLine_ShouldHandleQuotesAndEscapes() {
+        // When
+        List<String> values = ProductImportService.parseCsvLine("a,\"b, c\",\"say \"\"hi\"\"\",");
+
+        // Then
+        assertEquals(List.of("a", "b, c", "say \"hi\"", ""), values);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runTransactionsInline() {
+        doAnswer(invocation -> {
+            Consumer<TransactionStatus> action = invocation.getArgument(0);
+            action.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any(Consumer.class));
+    }
+
+    private InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
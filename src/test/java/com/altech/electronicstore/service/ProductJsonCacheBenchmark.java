@@ -0,0 +1,98 @@
+package com.altech.electronicstore.service;
+
+import com.altech.electronicstore.config.JacksonConfig;
+import com.altech.electronicstore.dto.deal.DealResponseDto;
+import com.altech.electronicstore.dto.product.ProductResponseDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares CPU time and allocation per listing response when the page is serialized
+ * from DTOs versus spliced together from cached fragments.
+ * Excluded from {@code test}; run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+class ProductJsonCacheBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int WARMUP_ROUNDS = 20_000;
+    private static final int MEASURED_ROUNDS = 50_000;
+
+    @Test
+    void benchmarkListingSerialization() throws Exception {
+        ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+        ProductJsonCache productJsonCache = new ProductJsonCache(objectMapper, new SimpleMeterRegistry(), 10_000, 300);
+        List<ProductResponseDto> products = new ArrayList<>();
+        for (long id = 1; id <= PAGE_SIZE; id++) {
+            products.add(product(id));
+        }
+        PageImpl<ProductResponseDto> page = new PageImpl<>(products, PageRequest.of(0, PAGE_SIZE), 1_000);
+
+        Callable<byte[]> direct = () -> objectMapper.writeValueAsBytes(page);
+        Callable<byte[]> spliced = () -> objectMapper.writeValueAsBytes(
+                page.map(product -> new RawValue(productJsonCache.fragment(product, productJsonCache.generation()))));
+        assertArrayEquals(direct.call(), spliced.call());
+
+        measure("direct ", direct);
+        measure("spliced", spliced);
+    }
+
+    private void measure(String label, Callable<byte[]> request) throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            request.call();
+        }
+
+        long cpuStart = threads.getCurrentThreadCpuTime();
+        long allocatedStart = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            request.call();
+        }
+        long cpuNanos = threads.getCurrentThreadCpuTime() - cpuStart;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedStart;
+
+        System.out.printf("%s: %,.1f us CPU/request, %,d bytes allocated/request%n",
+                label, cpuNanos / 1_000.0 / MEASURED_ROUNDS, allocated / MEASURED_ROUNDS);
+    }
+
+    private ProductResponseDto product(long id) {
+        DealResponseDto deal = DealResponseDto.builder()
+                .id(id)
+                .dealTypeName("PERCENTAGE_DISCOUNT")
+                .dealTypeDescription("Percentage off the unit price")
+                .expirationDate(LocalDateTime.now().plusDays(7))
+                .createdAt(LocalDateTime.now())
+                .discountPercent(new BigDecimal("10.00"))
+                .minimumQuantity(1)
+                .productId(id)
+                .productName("Product " + id)
+                .build();
+        return ProductResponseDto.builder()
+                .id(id)
+                .name("Product " + id)
+                .description("Detailed description of product " + id + " with specifications and warranty terms")
+                .price(new BigDecimal("999.99"))
+                .stock(25)
+                .category("Laptops")
+                .availability(true)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .deals(List.of(deal))
+                .build();
+    }
+}
@@ -0,0 +1,136 @@
+package com.altech.electronicstore.service;
+
+import com.altech.electronicstore.config.JacksonConfig;
+import com.altech.electronicstore.dto.deal.DealResponseDto;
+import com.altech.electronicstore.dto.product.ProductResponseDto;
+import com.altech.electronicstore.event.DealsChangedEvent;
+import com.altech.electronicstore.event.ProductsChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductJsonCacheTest {
+
+    private final ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+
+    private ProductJsonCache productJsonCache;
+
+    @BeforeEach
+    void setUp() {
+        productJsonCache = new ProductJsonCache(objectMapper, new SimpleMeterRegistry(), 100, 60);
+    }
+
+    @Test
+    void fragment_WhenSplicedIntoPage_ShouldMatchDirectSerialization() throws Exception {
+        // Given
+        List<ProductResponseDto> products = List.of(product(1L, LocalDateTime.now()), product(2L, LocalDateTime.now()));
+
+        // When
+        String direct = objectMapper.writeValueAsString(Map.of("content", products));
+        String spliced = objectMapper.writeValueAsString(Map.of("content",
+                products.stream().map(product -> new RawValue(productJsonCache.fragment(product, productJsonCache.generation()))).toList()));
+
+        // Then
+        assertEquals(direct, spliced);
+    }
+
+    @Test
+    void bytes_ShouldOnlyRenderAgainForNewVersion() {
+        // Given
+        LocalDateTime v1 = LocalDateTime.of(2025, 1, 1, 10, 0);
+        LocalDateTime v2 = v1.plusMinutes(5);
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        byte[] first = productJsonCache.bytes(1L, v1, () -> counted(loads, product(1L, v1)));
+        byte[] second = productJsonCache.bytes(1L, v1, () -> counted(loads, product(1L, v1)));
+        byte[] third = productJsonCache.bytes(1L, v2, () -> counted(loads, product(1L, v2)));
+
+        // Then
+        assertSame(first, second);
+        assertNotSame(first, third);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void onChanges_ShouldDropAffectedFragments() {
+        // Given
+        LocalDateTime version = LocalDateTime.now();
+        AtomicInteger loads = new AtomicInteger();
+        productJsonCache.bytes(1L, version, () -> counted(loads, product(1L, version)));
+        productJsonCache.bytes(2L, version, () -> counted(loads, product(2L, version)));
+
+        // When
+        productJsonCache.onDealsChanged(new DealsChangedEvent(Set.of(1L)));
+        productJsonCache.onProductsChanged(new ProductsChangedEvent(Set.of(2L)));
+
+        // Then
+        assertEquals(0, productJsonCache.estimatedSize());
+    }
+
+    @Test
+    void fragment_WhenDealAlreadyPastExpiry_ShouldNotBeKept() {
+        // Given
+        ProductResponseDto product = product(1L, LocalDateTime.now());
+        product.getDeals().get(0).setExpirationDate(LocalDateTime.now().minusSeconds(1));
+
+        // When
+        productJsonCache.fragment(product, productJsonCache.generation());
+
+        // Then
+        assertEquals(0, productJsonCache.estimatedSize());
+    }
+
+    @Test
+    void fragment_WhenDealsChangedSinceProductWasRead_ShouldNotBeKept() {
+        // Given
+        long generation = productJsonCache.generation();
+        ProductResponseDto product = product(1L, LocalDateTime.now());
+
+        // When (the deal change commits between the listing read and the render)
+        productJsonCache.onDealsChanged(new DealsChangedEvent(Set.of(1L)));
+        productJsonCache.fragment(product, generation);
+
+        // Then
+        assertEquals(0, productJsonCache.estimatedSize());
+    }
+
+    private ProductResponseDto counted(AtomicInteger loads, ProductResponseDto product) {
+        loads.incrementAndGet();
+        return product;
+    }
+
+    private ProductResponseDto product(Long id, LocalDateTime updatedAt) {
+        DealResponseDto deal = DealResponseDto.builder()
+                .id(10L)
+                .dealTypeName("PERCENTAGE_DISCOUNT")
+                .expirationDate(LocalDateTime.now().plusDays(1))
+                .discountPercent(new BigDecimal("10.00"))
+                .productId(id)
+                .build();
+        return ProductResponseDto.builder()
+                .id(id)
+                .name("Product " + id)
+                .description("Café \"quoted\" description")
+                .price(new BigDecimal("999.99"))
+                .stock(5)
+                .category("Laptops")
+                .availability(true)
+                .createdAt(updatedAt)
+                .updatedAt(updatedAt)
+                .deals(new ArrayList<>(List.of(deal)))
+                .build();
+    }
+}
@@ -0,0 +1,106 @@
+package com.altech.electronicstore.service;
+
+import com.altech.electronicstore.dto.product.ProductCursorPageDto;
+import com.altech.electronicstore.dto.product.ProductResponseDto;
+import com.altech.electronicstore.entity.Product;
+import com.altech.electronicstore.repository.ProductRepository;
+import com.altech.electronicstore.repository.ProductSortKey;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Guards the public listing against N+1 regressions: a page must cost the same
+ * number of statements (rows, count, deals) whatever its size, and a keyset slice
+ * must not issue a count at all.
+ */
+@SpringBootTest
+class ProductListingQueryCountTest {
+
+    private static final long STATEMENTS_PER_PAGE = 3;
+    private static final long STATEMENTS_PER_SLICE = 2;
+
+    @Autowired
+    private ProductListingService productListingService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        // Enabled at runtime rather than through a property so the cached application context is reused
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    void getProductListing_ShouldUseConstantQueryCountPerPage() {
+        // When
+        long smallPage = statementsFor(2);
+        long largePage = statementsFor(5);
+
+        // Then
+        assertEquals(STATEMENTS_PER_PAGE, smallPage);
+        assertEquals(STATEMENTS_PER_PAGE, largePage);
+    }
+
+    @Test
+    void getProductListing_ShouldStillReturnDeals() {
+        // When
+        Page<ProductResponseDto> page = productListingService.getProductListing(
+                null, null, null, null, PageRequest.of(0, 5, Sort.by("id")));
+
+        // Then
+        assertEquals(5, page.getContent().size());
+        assertTrue(page.getContent().stream().allMatch(product -> !product.getDeals().isEmpty()));
+    }
+
+    @Test
+    void getProductSlice_ShouldWalkWholeCatalogueWithoutCountQueries() {
+        // Given
+        List<Long> expected = productRepository.findAll().stream()
+                .filter(product -> Boolean.TRUE.equals(product.getAvailability()))
+                .sorted(Comparator.comparing(Product::getPrice).thenComparing(Product::getId).reversed())
+                .map(Product::getId)
+                .toList();
+
+        // When
+        List<Long> walked = new ArrayList<>();
+        String cursor = null;
+        do {
+            statistics.clear();
+            ProductCursorPageDto slice = productListingService.getProductSlice(null, ProductSortKey.PRICE, true, cursor, 3);
+            assertEquals(STATEMENTS_PER_SLICE, statistics.getPrepareStatementCount());
+            slice.getContent().forEach(product -> walked.add(product.getId()));
+            cursor = slice.getNextCursor();
+        } while (cursor != null);
+
+        // Then
+        assertEquals(expected, walked);
+        assertTrue(walked.size() > 3);
+    }
+
+    private long statementsFor(int pageSize) {
+        statistics.clear();
+        productListingService.getProductListing(null, null, null, null, PageRequest.of(0, pageSize, Sort.by("id")));
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,196 @@
+package com.altech.electronicstore.service;
+
+import com.altech.electronicstore.dto.deal.DealListingRow;
+import com.altech.electronicstore.dto.product.ProductCursorPageDto;
+import com.altech.electronicstore.dto.product.ProductFacetRow;
+import com.altech.electronicstore.dto.product.ProductListingRow;
+import com.altech.electronicstore.dto.product.ProductResponseDto;
+import com.altech.electronicstore.exception.InvalidCursorException;
+import com.altech.electronicstore.mapper.DealMapper;
+import com.altech.electronicstore.mapper.ProductMapper;
+import com.altech.electronicstore.repository.DealRepository;
+import com.altech.electronicstore.repository.ProductRepository;
+import com.altech.electronicstore.repository.ProductSortKey;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductListingServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private DealRepository dealRepository;
+
+    private ProductListingService productListingService;
+
+    private final Pageable pageable = PageRequest.of(0, 10);
+
+    @BeforeEach
+    void setUp() {
+        DealMapper dealMapper = new DealMapper();
+        productListingService = new ProductListingService(productRepository, dealRepository, new ProductMapper(dealMapper),
+                dealMapper, new PriceIndex(productRepository));
+        ReflectionTestUtils.setField(productListingService, "priceIndexEnabled", true);
+    }
+
+    @Test
+    void getProductListing_ShouldAttachDealsFromOneBatchedQuery() {
+        // Given
+        when(productRepository.findAvailableRows(pageable)).thenReturn(
+                new PageImpl<>(List.of(row(1L, "Laptop"), row(2L, "Mouse")), pageable, 2));
+        when(dealRepository.findDealRowsForProducts(List.of(1L, 2L))).thenReturn(List.of(
+                new DealListingRow(10L, 1L, "Laptop", "PERCENTAGE_DISCOUNT", "Percent off",
+                        LocalDateTime.now().plusDays(1), LocalDateTime.now(), new BigDecimal("10.00"), null, 1)));
+
+        // When
+        Page<ProductResponseDto> page = productListingService.getProductListing(null, null, null, null, pageable);
+
+        // Then
+        assertEquals(2, page.getContent().size());
+        ProductResponseDto laptop = page.getContent().get(0);
+        assertEquals(1, laptop.getDeals().size());
+        assertEquals("PERCENTAGE_DISCOUNT", laptop.getDeals().get(0).getDealTypeName());
+        assertEquals("Laptop", laptop.getDeals().get(0).getProductName());
+        assertFalse(laptop.getDeals().get(0).isExpired());
+        assertTrue(page.getContent().get(1).getDeals().isEmpty());
+        verify(dealRepository, times(1)).findDealRowsForProducts(anyCollection());
+    }
+
+    @Test
+    void getProductListing_WhenPageEmpty_ShouldNotQueryDeals() {
+        // Given
+        when(productRepository.findAvailableRowsByCategory("Audio", pageable))
+                .thenReturn(new PageImpl<>(Collections.emptyList(), pageable, 0));
+
+        // When
+        Page<ProductResponseDto> page = productListingService.getProductListing("Audio", null, null, null, pageable);
+
+        // Then
+        assertTrue(page.isEmpty());
+        verifyNoInteractions(dealRepository);
+    }
+
+    @Test
+    void getProductListing_ShouldPickQueryForFilterCombination() {
+        // Given
+        Page<ProductListingRow> empty = new PageImpl<>(Collections.emptyList(), pageable, 0);
+        when(productRepository.findAvailableRowsByPriceRange(any(), any(), eq(pageable))).thenReturn(empty);
+        when(productRepository.findAvailableRowsByCategoryAndPriceRange(any(), any(), any(), eq(pageable))).thenReturn(empty);
+
+        // When
+        productListingService.getProductListing(null, new BigDecimal("100"), null, null, pageable);
+        productListingService.getProductListing("Audio", null, new BigDecimal("50"), null, pageable);
+
+        // Then
+        verify(productRepository).findAvailableRowsByPriceRange(new BigDecimal("100"), new BigDecimal("99999999.99"), pageable);
+        verify(productRepository).findAvailableRowsByCategoryAndPriceRange("Audio", BigDecimal.ZERO, new BigDecimal("50"), pageable);
+        verify(productRepository, never()).findAvailableRows(any());
+    }
+
+    @Test
+    void getProductListing_WhenUnavailableRequested_ShouldReturnEmptyWithoutQuerying() {
+        // When
+        Page<ProductResponseDto> page = productListingService.getProductListing(null, null, null, false, pageable);
+
+        // Then
+        assertTrue(page.isEmpty());
+        verifyNoInteractions(productRepository, dealRepository);
+    }
+
+    @Test
+    void getProductListing_WhenSortedByPrice_ShouldServePageFromPriceIndex() {
+        // Given
+        Pageable byPriceDesc = PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "price"));
+        when(productRepository.findAllFacetRows()).thenReturn(List.of(
+                new ProductFacetRow(1L, "Laptops", new BigDecimal("999.99"), true),
+                new ProductFacetRow(2L, "Laptops", new BigDecimal("1299.00"), true),
+                new ProductFacetRow(3L, "Laptops", new BigDecimal("1499.00"), false),
+                new ProductFacetRow(4L, "Laptops", new BigDecimal("649.00"), true),
+                new ProductFacetRow(5L, "Audio", new BigDecimal("199.00"), true)));
+        when(productRepository.findListingRowsByIds(List.of(2L, 1L))).thenReturn(List.of(row(1L, "Laptop"), row(2L, "Workstation")));
+        when(dealRepository.findDealRowsForProducts(anyCollection())).thenReturn(List.of());
+
+        // When
+        Page<ProductResponseDto> page = productListingService.getProductListing("Laptops", new BigDecimal("500"), null, null, byPriceDesc);
+
+        // Then
+        assertEquals(3, page.getTotalElements());
+        assertEquals(List.of("Workstation", "Laptop"), page.getContent().stream().map(ProductResponseDto::getName).toList());
+        verify(productRepository, never()).findAvailableRowsByCategoryAndPriceRange(any(), any(), any(), any());
+    }
+
+    @Test
+    void getProductSlice_ShouldReadOneExtraRowAndSeekPastLastRowWithCursor() {
+        // Given
+        ProductListingRow first = row(1L, "Laptop");
+        ProductListingRow second = row(2L, "Mouse");
+        when(productRepository.findAvailableRowsAfter(null, ProductSortKey.NAME, false, null, null, 2))
+                .thenReturn(List.of(first, second));
+        when(productRepository.findAvailableRowsAfter(null, ProductSortKey.NAME, false, "Laptop", 1L, 2))
+                .thenReturn(List.of(second));
+        when(dealRepository.findDealRowsForProducts(anyCollection())).thenReturn(List.of());
+
+        // When
+        ProductCursorPageDto firstSlice = productListingService.getProductSlice(null, ProductSortKey.NAME, false, null, 1);
+        ProductCursorPageDto lastSlice = productListingService.getProductSlice(
+                null, ProductSortKey.NAME, false, firstSlice.getNextCursor(), 1);
+
+        // Then
+        assertTrue(firstSlice.isHasNext());
+        assertEquals(List.of("Laptop"), firstSlice.getContent().stream().map(ProductResponseDto::getName).toList());
+        assertFalse(lastSlice.isHasNext());
+        assertNull(lastSlice.getNextCursor());
+        assertEquals(List.of("Mouse"), lastSlice.getContent().stream().map(ProductResponseDto::getName).toList());
+    }
+
+    @Test
+    void getProductSlice_WithCursorFromAnotherSort_ShouldReject() {
+        // Given
+        String priceCursor = ProductCursor.after(row(1L, "Laptop"), ProductSortKey.PRICE, false).encode();
+
+        // When & Then
+        assertThrows(InvalidCursorException.class,
+                () -> productListingService.getProductSlice(null, ProductSortKey.PRICE, true, priceCursor, 10));
+        assertThrows(InvalidCursorException.class,
+                () -> productListingService.getProductSlice(null, ProductSortKey.NAME, false, "not a cursor!", 10));
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void getProductsByIds_ShouldKeepRequestedOrderAndSkipMissingIds() {
+        // Given
+        when(productRepository.findListingRowsByIds(List.of(2L, 9L, 1L))).thenReturn(List.of(row(1L, "Laptop"), row(2L, "Mouse")));
+        when(dealRepository.findDealRowsForProducts(anyCollection())).thenReturn(List.of());
+
+        // When
+        List<ProductResponseDto> products = productListingService.getProductsByIds(List.of(2L, 9L, 1L));
+
+        // Then
+        assertEquals(List.of("Mouse", "Laptop"), products.stream().map(ProductResponseDto::getName).toList());
+    }
+
+    private ProductListingRow row(Long id, String name) {
+        return new ProductListingRow(id, name, "desc", BigDecimal.TEN, 5, "Electronics", true,
+                LocalDateTime.now(), LocalDateTime.now());
+    }
+}
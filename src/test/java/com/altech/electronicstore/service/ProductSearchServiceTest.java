@@ -0,0 +1,96 @@
+package com.altech.electronicstore.service;
+
+import com.altech.electronicstore.dto.product.ProductResponseDto;
+import com.altech.electronicstore.dto.product.ProductSearchResultDto;
+import com.altech.electronicstore.dto.product.ProductSearchRow;
+import com.altech.electronicstore.event.ProductsChangedEvent;
+import com.altech.electronicstore.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductSearchServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductListingService productListingService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private ProductSearchService productSearchService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        doAnswer(invocation -> {
+            Consumer<TransactionStatus> action = invocation.getArgument(0);
+            action.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any(Consumer.class));
+        when(productRepository.streamSearchRows()).thenReturn(Stream.of(
+                new ProductSearchRow(1L, "Sony WH-1000XM5", "Wireless headphones", "Audio", true),
+                new ProductSearchRow(2L, "Dell XPS 13", "Ultrabook laptop", "Laptops", true)));
+        productSearchService.rebuild();
+    }
+
+    @Test
+    void search_ShouldReturnRankedProductsWithScores() {
+        // Given
+        ProductResponseDto sony = ProductResponseDto.builder().id(1L).name("Sony WH-1000XM5").build();
+        when(productListingService.getProductsByIds(List.of(1L))).thenReturn(List.of(sony));
+
+        // When
+        ProductSearchResultDto result = productSearchService.search("wireless head*", 0, 500);
+
+        // Then
+        assertEquals(1, result.getTotalHits());
+        assertEquals(100, result.getSize());
+        assertEquals(sony, result.getHits().get(0).getProduct());
+        assertTrue(result.getHits().get(0).getScore() > 0);
+    }
+
+    @Test
+    void onProductsChanged_ShouldReindexOnlyChangedProducts() {
+        // Given
+        when(productRepository.findSearchRowsByIds(Set.of(1L, 2L))).thenReturn(List.of(
+                new ProductSearchRow(1L, "Sony WH-1000XM5", "Wireless headphones", "Audio", false),
+                new ProductSearchRow(2L, "Dell XPS 13", "Ultrabook laptop with wireless charging", "Laptops", true)));
+        when(productListingService.getProductsByIds(anyList())).thenReturn(List.of());
+
+        // When
+        productSearchService.onProductsChanged(new ProductsChangedEvent(Set.of(1L, 2L)));
+        productSearchService.search("wireless", 0, 10);
+
+        // Then (product 1 became unavailable, product 2 gained the term)
+        verify(productListingService).getProductsByIds(List.of(2L));
+        verify(productRepository, times(1)).streamSearchRows();
+    }
+
+    @Test
+    void onProductsChanged_WhenOnlyStockChanged_ShouldNotReindex() {
+        // When
+        productSearchService.onProductsChanged(ProductsChangedEvent.ofStock(Set.of(1L)));
+
+        // Then
+        verify(productRepository, never()).findSearchRowsByIds(any());
+    }
+}
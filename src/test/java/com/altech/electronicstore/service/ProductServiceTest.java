@@ -1,17 +1,23 @@
 package com.altech.electronicstore.service;
 
+import com.altech.electronicstore.dto.basket.StockShortfallDto;
 import com.altech.electronicstore.dto.product.ProductDto;
+import com.altech.electronicstore.dto.product.ProductFacetRow;
+import com.altech.electronicstore.dto.product.ProductStockRow;
 import com.altech.electronicstore.entity.BasketItem;
 import com.altech.electronicstore.entity.Product;
+import com.altech.electronicstore.event.ProductsChangedEvent;
 import com.altech.electronicstore.exception.ProductNotFoundException;
 import com.altech.electronicstore.repository.ProductRepository;
 import com.altech.electronicstore.dto.product.StockValidationResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -22,6 +28,7 @@ import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -33,7 +40,9 @@ class ProductServiceTest {
     @Mock
     private ProductRepository productRepository;
 
-    @InjectMocks
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private ProductService productService;
 
     private Product testProduct;
@@ -41,6 +50,10 @@ class ProductServiceTest {
 
     @BeforeEach
     void setUp() {
+        ProductCache productCache = new ProductCache(productRepository, new SimpleMeterRegistry(), 100, 60);
+        CategoryIndex categoryIndex = new CategoryIndex(productRepository, new SimpleMeterRegistry(), new BigDecimal[] {new BigDecimal("100")});
+        productService = new ProductService(productRepository, productCache, categoryIndex, eventPublisher);
+
         testProduct = new Product();
         testProduct.setId(1L);
         testProduct.setName("Test Product");
@@ -350,33 +363,103 @@ class ProductServiceTest {
     }
 
     @Test
-    void hasStock_WhenProductHasSufficientStock_ShouldReturnTrue() {
+    void updateProduct_ShouldPublishProductsChangedEvent() {
         // Given
-        Long productId = 1L;
-        Integer requiredQuantity = 5;
-        when(productRepository.findById(productId)).thenReturn(Optional.of(testProduct));
+        when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
+        when(productRepository.save(any(Product.class))).thenReturn(testProduct);
 
         // When
-        boolean result = productService.hasStock(productId, requiredQuantity);
+        productService.updateProduct(1L, testProductDto);
 
         // Then
-        assertTrue(result);
-        verify(productRepository).findById(productId);
+        ArgumentCaptor<ProductsChangedEvent> captor = ArgumentCaptor.forClass(ProductsChangedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertEquals(Set.of(1L), captor.getValue().productIds());
+        assertFalse(captor.getValue().stockOnly());
     }
 
     @Test
-    void hasStock_WhenProductHasInsufficientStock_ShouldReturnFalse() {
+    void releaseStock_ShouldPublishStockOnlyEvent() {
         // Given
-        Long productId = 1L;
-        Integer requiredQuantity = 15; // More than available
-        when(productRepository.findById(productId)).thenReturn(Optional.of(testProduct));
+        when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
 
         // When
-        boolean result = productService.hasStock(productId, requiredQuantity);
+        productService.releaseStock(1L, 5);
 
         // Then
-        assertFalse(result);
-        verify(productRepository).findById(productId);
+        ArgumentCaptor<ProductsChangedEvent> captor = ArgumentCaptor.forClass(ProductsChangedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertEquals(Set.of(1L), captor.getValue().productIds());
+        assertTrue(captor.getValue().stockOnly());
+    }
+
+    @Test
+    void validateAndGetStock_ShouldServeRepeatedReadsFromCache() {
+        // Given
+        when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
+
+        // When
+        productService.validateAndGetStock(1L, 1);
+        productService.canReserveStock(1L, 1);
+        Integer stock = productService.getCurrentStock(1L);
+
+        // Then
+        assertEquals(10, stock);
+        verify(productRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void findStockShortfalls_ShouldReadAllProductsInOneQueryBypassingCache() {
+        // Given
+        when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
+        productService.getCurrentStock(1L);
+        when(productRepository.findStockRowsByIds(any())).thenReturn(List.of(
+                new ProductStockRow(1L, "Test Product", 0, true),
+                new ProductStockRow(2L, "Other Product", 5, true)));
+
+        // When
+        List<StockShortfallDto> result = productService.findStockShortfalls(
+                List.of(basketItem(1L, 1), basketItem(2L, 5)));
+
+        // Then
+        assertEquals(1, result.size());
+        assertEquals(1L, result.get(0).getProductId());
+        assertEquals(1, result.get(0).getShortfall());
+        verify(productRepository, times(1)).findStockRowsByIds(List.of(1L, 2L));
+        verify(productRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void findStockShortfalls_WhenProductHasSufficientStock_ShouldReturnEmpty() {
+        // Given
+        when(productRepository.findStockRowsByIds(any()))
+                .thenReturn(List.of(new ProductStockRow(1L, "Test Product", 10, true)));
+
+        // When
+        List<StockShortfallDto> result = productService.findStockShortfalls(List.of(basketItem(1L, 5)));
+
+        // Then
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void findStockShortfalls_ShouldReportEachFailingProductWithShortfall() {
+        // Given
+        when(productRepository.findStockRowsByIds(any())).thenReturn(List.of(
+                new ProductStockRow(1L, "Test Product", 10, true),
+                new ProductStockRow(2L, "Hidden Product", 8, false)));
+
+        // When
+        List<StockShortfallDto> result = productService.findStockShortfalls(List.of(
+                basketItem(1L, 15), basketItem(2L, 1), basketItem(3L, 2)));
+
+        // Then
+        assertEquals(3, result.size());
+        assertEquals(new StockShortfallDto(1L, "Test Product", 15, 10, 5), result.get(0));
+        assertEquals(new StockShortfallDto(2L, "Hidden Product", 1, 0, 1), result.get(1));
+        assertEquals(3L, result.get(2).getProductId());
+        assertEquals(0, result.get(2).getAvailable());
+        assertEquals(2, result.get(2).getShortfall());
     }
 
     @Test
@@ -410,11 +493,15 @@ class ProductServiceTest {
     @Test
     void getCategories_ShouldReturnDistinctCategories() {
         // Given
-        List<String> categories = Arrays.asList("Electronics", "Clothing", "Books");
-        when(productRepository.findDistinctCategories()).thenReturn(categories);
+        when(productRepository.findAllFacetRows()).thenReturn(Arrays.asList(
+                new ProductFacetRow(1L, "Electronics", new BigDecimal("99.99"), true),
+                new ProductFacetRow(2L, "Clothing", new BigDecimal("20.00"), true),
+                new ProductFacetRow(3L, "Books", new BigDecimal("15.00"), true),
+                new ProductFacetRow(4L, "Electronics", new BigDecimal("199.99"), true)));
 
         // When
         List<String> result = productService.getCategories();
+        productService.getCategories();
 
         // Then
         assertNotNull(result);
@@ -422,6 +509,17 @@ class ProductServiceTest {
         assertTrue(result.contains("Electronics"));
         assertTrue(result.contains("Clothing"));
         assertTrue(result.contains("Books"));
-        verify(productRepository).findDistinctCategories();
+        verify(productRepository, times(1)).findAllFacetRows();
+        verify(productRepository, never()).findDistinctCategories();
+    }
+
+    private BasketItem basketItem(Long productId, int quantity) {
+        Product product = new Product();
+        product.setId(productId);
+        product.setName("Product " + productId);
+        BasketItem item = new BasketItem();
+        item.setProduct(product);
+        item.setQuantity(quantity);
+        return item;
     }
 }
@@ -0,0 +1,268 @@
+package com.altech.electronicstore.service;
+
+import com.altech.electronicstore.dto.sales.SalesLine;
+import com.altech.electronicstore.dto.sales.SalesPointDto;
+import com.altech.electronicstore.entity.SalesRollup;
+import com.altech.electronicstore.event.OrderPlacedEvent;
+import com.altech.electronicstore.repository.SalesRollupRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SalesRollupServiceTest {
+
+    @Mock
+    private SalesRollupRepository salesRollupRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private SalesRollupService salesRollupService;
+
+    @Test
+    void flush_ShouldAccumulateOrdersIntoOneUpdatePerBucket() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime bucket = now.truncatedTo(ChronoUnit.HOURS);
+        salesRollupService.onOrderPlaced(event(now, 1L, 2, "200.00", "20.00"));
+        salesRollupService.onOrderPlaced(event(now, 1L, 1, "100.00", "0"));
+        when(salesRollupRepository.addToBucket(any(), any(), any(), any(), any(), any())).thenReturn(1);
+
+        // When
+        int touched = salesRollupService.flush();
+
+        // Then
+        assertEquals(1, touched);
+        verify(salesRollupRepository).addToBucket(bucket, 1L, 3L, 2L, new BigDecimal("300.00"), new BigDecimal("20.00"));
+        verify(salesRollupRepository, never()).save(any());
+    }
+
+    @Test
+    void flush_WhenBucketRowMissing_ShouldInsertRollup() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        salesRollupService.onOrderPlaced(event(now, 5L, 4, "80.00", "8.00"));
+        when(salesRollupRepository.addToBucket(any(), any(), any(), any(), any(), any())).thenReturn(0);
+
+        // When
+        salesRollupService.flush();
+
+        // Then
+        ArgumentCaptor<SalesRollup> captor = ArgumentCaptor.forClass(SalesRollup.class);
+        verify(salesRollupRepository).save(captor.capture());
+        SalesRollup rollup = captor.getValue();
+        assertEquals(5L, rollup.getProductId());
+        assertEquals("Laptops", rollup.getCategory());
+        assertEquals(4L, rollup.getUnitsSold());
+        assertEquals(1L, rollup.getOrderCount());
+        assertEquals(new BigDecimal("80.00"), rollup.getRevenue());
+    }
+
+    @Test
+    void flush_WhenNothingPending_ShouldNotTouchDatabase() {
+        // When
+        int touched = salesRollupService.flush();
+
+        // Then
+        assertEquals(0, touched);
+        verifyNoInteractions(salesRollupRepository);
+    }
+
+    @Test
+    void flush_WhenAlreadyFlushed_ShouldNotWriteSameCountersTwice() {
+        // Given
+        salesRollupService.onOrderPlaced(event(LocalDateTime.now(), 1L, 1, "10.00", "0"));
+        when(salesRollupRepository.addToBucket(any(), any(), any(), any(), any(), any())).thenReturn(1);
+        salesRollupService.flush();
+
+        // When
+        int touched = salesRollupService.flush();
+
+        // Then
+        assertEquals(0, touched);
+        verify(salesRollupRepository, times(1)).addToBucket(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void flush_WhenWriteFails_ShouldRequeueCounters() {
+        // Given
+        salesRollupService.onOrderPlaced(event(LocalDateTime.now(), 1L, 2, "20.00", "0"));
+        when(salesRollupRepository.addToBucket(any(), any(), any(), any(), any(), any()))
+                .thenThrow(new RuntimeException("Database error"))
+                .thenReturn(1);
+
+        // When
+        assertThrows(RuntimeException.class, () -> salesRollupService.flush());
+        int touched = salesRollupService.flush();
+
+        // Then
+        assertEquals(1, touched);
+        verify(salesRollupRepository, times(2)).addToBucket(any(), eq(1L), eq(2L), eq(1L), eq(new BigDecimal("20.00")), any());
+    }
+
+    @Test
+    void flush_WhenTransactionRollsBack_ShouldRequeueCounters() {
+        // Given
+        salesRollupService.onOrderPlaced(event(LocalDateTime.now(), 1L, 2, "20.00", "0"));
+        when(salesRollupRepository.addToBucket(any(), any(), any(), any(), any(), any())).thenReturn(1);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            salesRollupService.flush();
+
+            // When
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        int touched = salesRollupService.flush();
+
+        // Then
+        assertEquals(1, touched);
+        verify(salesRollupRepository, times(2)).addToBucket(any(), eq(1L), eq(2L), eq(1L), eq(new BigDecimal("20.00")), any());
+    }
+
+    @Test
+    void flush_WhenTransactionCommits_ShouldNotRequeueCounters() {
+        // Given
+        salesRollupService.onOrderPlaced(event(LocalDateTime.now(), 1L, 2, "20.00", "0"));
+        when(salesRollupRepository.addToBucket(any(), any(), any(), any(), any(), any())).thenReturn(1);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            salesRollupService.flush();
+
+            // When
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        int touched = salesRollupService.flush();
+
+        // Then
+        assertEquals(0, touched);
+        verify(salesRollupRepository, times(1)).addToBucket(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void flushOnShutdown_ShouldFlushInTransaction() {
+        // Given
+        salesRollupService.onOrderPlaced(event(LocalDateTime.now(), 1L, 2, "20.00", "0"));
+        when(salesRollupRepository.addToBucket(any(), any(), any(), any(), any(), any())).thenReturn(1);
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        // When
+        salesRollupService.flushOnShutdown();
+
+        // Then
+        verify(salesRollupRepository).addToBucket(any(), eq(1L), eq(2L), eq(1L), eq(new BigDecimal("20.00")), any());
+    }
+
+    @Test
+    void flushOnShutdown_WhenFlushFails_ShouldNotPropagate() {
+        // Given
+        salesRollupService.onOrderPlaced(event(LocalDateTime.now(), 1L, 2, "20.00", "0"));
+        doThrow(new RuntimeException("Database closed")).when(transactionTemplate).executeWithoutResult(any());
+
+        // When & Then
+        assertDoesNotThrow(() -> salesRollupService.flushOnShutdown());
+        verifyNoInteractions(salesRollupRepository);
+    }
+
+    @Test
+    void getTopProducts_ShouldClampLimitAndPickMetric() {
+        // Given
+        LocalDateTime from = LocalDateTime.of(2025, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2025, 2, 1, 0, 0);
+
+        // When
+        salesRollupService.getTopProducts(from, to, 1000, true);
+        salesRollupService.getTopProducts(from, to, 5, false);
+
+        // Then
+        ArgumentCaptor<Pageable> captor = ArgumentCaptor.forClass(Pageable.class);
+        verify(salesRollupRepository).findTopProductsByUnits(eq(from), eq(to), captor.capture());
+        assertEquals(100, captor.getValue().getPageSize());
+        verify(salesRollupRepository).findTopProductsByRevenue(eq(from), eq(to), any(Pageable.class));
+    }
+
+    @Test
+    void getRevenueSeries_WithDailyGranularity_ShouldMergeHours() {
+        // Given
+        LocalDateTime from = LocalDateTime.of(2025, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2025, 1, 3, 0, 0);
+        when(salesRollupRepository.findHourlySeries(from, to)).thenReturn(List.of(
+                new SalesPointDto(LocalDateTime.of(2025, 1, 1, 9, 0), 2L, new BigDecimal("20.00"), BigDecimal.ZERO),
+                new SalesPointDto(LocalDateTime.of(2025, 1, 1, 17, 0), 3L, new BigDecimal("30.00"), new BigDecimal("5.00")),
+                new SalesPointDto(LocalDateTime.of(2025, 1, 2, 8, 0), 1L, new BigDecimal("10.00"), BigDecimal.ZERO)));
+
+        // When
+        List<SalesPointDto> series = salesRollupService.getRevenueSeries(from, to, null, true);
+
+        // Then
+        assertEquals(2, series.size());
+        assertEquals(LocalDateTime.of(2025, 1, 1, 0, 0), series.get(0).getBucketStart());
+        assertEquals(5L, series.get(0).getUnitsSold());
+        assertEquals(new BigDecimal("50.00"), series.get(0).getRevenue());
+        assertEquals(new BigDecimal("5.00"), series.get(0).getDiscountGiven());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void backfill_ShouldReplaceRangeWithRollupsFromHistoricalOrders() {
+        // Given
+        LocalDateTime from = LocalDateTime.of(2025, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2025, 1, 2, 0, 0);
+        when(salesRollupRepository.streamSalesLines(from, to)).thenReturn(Stream.of(
+                new SalesLine(LocalDateTime.of(2025, 1, 1, 9, 15), 1L, "Laptops", 1, new BigDecimal("100.00"), BigDecimal.ZERO),
+                new SalesLine(LocalDateTime.of(2025, 1, 1, 9, 45), 1L, "Laptops", 2, new BigDecimal("180.00"), new BigDecimal("20.00")),
+                new SalesLine(LocalDateTime.of(2025, 1, 1, 10, 5), 2L, "Audio", 1, new BigDecimal("50.00"), BigDecimal.ZERO)));
+
+        // When
+        int rows = salesRollupService.backfill(from, to);
+
+        // Then
+        assertEquals(2, rows);
+        verify(salesRollupRepository).deleteByBucketRange(from, to);
+        ArgumentCaptor<Collection<SalesRollup>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(salesRollupRepository).saveAll(captor.capture());
+        SalesRollup laptops = new ArrayList<>(captor.getValue()).stream()
+                .filter(rollup -> rollup.getProductId().equals(1L))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(3L, laptops.getUnitsSold());
+        assertEquals(2L, laptops.getOrderCount());
+        assertEquals(new BigDecimal("280.00"), laptops.getRevenue());
+    }
+
+    private OrderPlacedEvent event(LocalDateTime orderDate, Long productId, int quantity, String revenue, String discount) {
+        return new OrderPlacedEvent(1L, orderDate, List.of(new OrderPlacedEvent.Line(
+                productId, "Laptops", quantity, new BigDecimal(revenue), new BigDecimal(discount))));
+    }
+}
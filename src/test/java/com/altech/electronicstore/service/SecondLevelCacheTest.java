@@ -0,0 +1,184 @@
+package com.altech.electronicstore.service;
+
+import com.altech.electronicstore.dto.product.ProductDeltaDto;
+import com.altech.electronicstore.dto.product.ProductDto;
+import com.altech.electronicstore.entity.DealType;
+import com.altech.electronicstore.entity.Permission;
+import com.altech.electronicstore.entity.Product;
+import com.altech.electronicstore.entity.Role;
+import com.altech.electronicstore.repository.DealTypeRepository;
+import com.altech.electronicstore.repository.ProductRepository;
+import com.altech.electronicstore.repository.RoleRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the second-level cache serves repeat reads of reference data, that admin
+ * writes, through JPA or through the JDBC bulk update, are visible to the very next read,
+ * and that products, which the bulk update writes behind Hibernate's back, stay uncached.
+ */
+@SpringBootTest
+class SecondLevelCacheTest {
+
+    private static final Long PRODUCT_ID = 1L;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private DealTypeRepository dealTypeRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductBulkUpdateService productBulkUpdateService;
+
+    @Autowired
+    private PermissionService permissionService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @Test
+    void findById_ShouldNotCacheProducts() {
+        // When
+        productRepository.findById(PRODUCT_ID);
+
+        // Then
+        assertFalse(entityManagerFactory.getCache().contains(Product.class, PRODUCT_ID));
+        assertEquals(0, statistics.getSecondLevelCachePutCount());
+    }
+
+    @Test
+    void updateProduct_ShouldBeVisibleToNextRead() {
+        // Given
+        Product original = productRepository.findById(PRODUCT_ID).orElseThrow();
+        int stock = original.getStock();
+
+        try {
+            // When
+            productService.updateProduct(PRODUCT_ID, dto(original, stock + 7));
+
+            // Then
+            assertEquals(stock + 7, productRepository.findById(PRODUCT_ID).orElseThrow().getStock());
+        } finally {
+            productService.updateProduct(PRODUCT_ID, dto(original, stock));
+        }
+    }
+
+    @Test
+    void applyDeltas_ShouldBeVisibleToNextRead() {
+        // Given
+        int stock = productRepository.findById(PRODUCT_ID).orElseThrow().getStock();
+
+        try {
+            // When
+            productBulkUpdateService.applyDeltas(List.of(new ProductDeltaDto(PRODUCT_ID, null, stock + 3, null)));
+
+            // Then
+            assertEquals(stock + 3, productRepository.findById(PRODUCT_ID).orElseThrow().getStock());
+        } finally {
+            productBulkUpdateService.applyDeltas(List.of(new ProductDeltaDto(PRODUCT_ID, null, stock, null)));
+        }
+    }
+
+    @Test
+    void applyDeltas_WhileReaderHoldsOldRow_ShouldNotBeOverwrittenByNextStockChange() {
+        // Given
+        Product original = productRepository.findById(PRODUCT_ID).orElseThrow();
+        BigDecimal price = original.getPrice();
+        int stock = original.getStock();
+        BigDecimal syncedPrice = price.add(BigDecimal.ONE);
+
+        try {
+            // When (a reader loads the row, the sync commits on another thread, then the reader finishes)
+            transactionTemplate.executeWithoutResult(status -> {
+                assertEquals(0, price.compareTo(productRepository.findById(PRODUCT_ID).orElseThrow().getPrice()));
+                CompletableFuture.runAsync(() -> productBulkUpdateService.applyDeltas(
+                        List.of(new ProductDeltaDto(PRODUCT_ID, syncedPrice, stock + 5, null)))).join();
+            });
+            productService.decrementStock(PRODUCT_ID, 1);
+
+            // Then
+            Product current = productRepository.findById(PRODUCT_ID).orElseThrow();
+            assertEquals(0, syncedPrice.compareTo(current.getPrice()));
+            assertEquals(stock + 4, current.getStock());
+        } finally {
+            productBulkUpdateService.applyDeltas(List.of(new ProductDeltaDto(PRODUCT_ID, price, stock, null)));
+        }
+    }
+
+    @Test
+    void assignPermissionToRole_ShouldBeVisibleToNextCachedRoleLookup() {
+        // Given
+        assertFalse(permissionNames(roleRepository.findByName("CUSTOMER").orElseThrow()).contains("PRODUCT_CREATE"));
+
+        try {
+            // When
+            permissionService.assignPermissionToRole("CUSTOMER", "PRODUCT_CREATE");
+
+            // Then
+            assertTrue(permissionNames(roleRepository.findByName("CUSTOMER").orElseThrow()).contains("PRODUCT_CREATE"));
+        } finally {
+            permissionService.removePermissionFromRole("CUSTOMER", "PRODUCT_CREATE");
+        }
+        assertFalse(permissionNames(roleRepository.findByName("CUSTOMER").orElseThrow()).contains("PRODUCT_CREATE"));
+    }
+
+    @Test
+    void findAllDealTypes_ShouldBeServedFromQueryCache() {
+        // When
+        List<DealType> first = dealTypeRepository.findAll();
+        List<DealType> second = dealTypeRepository.findAll();
+
+        // Then
+        assertEquals(first, second);
+        assertEquals(1, statistics.getQueryCacheHitCount());
+        assertEquals(first.size(), statistics.getDomainDataRegionStatistics("dealType").getHitCount());
+    }
+
+    private List<String> permissionNames(Role role) {
+        return role.getPermissions().stream().map(Permission::getName).toList();
+    }
+
+    private ProductDto dto(Product product, int stock) {
+        ProductDto dto = new ProductDto();
+        dto.setName(product.getName());
+        dto.setDescription(product.getDescription());
+        dto.setPrice(product.getPrice());
+        dto.setStock(stock);
+        dto.setCategory(product.getCategory());
+        dto.setAvailability(product.getAvailability());
+        return dto;
+    }
+}